@@ -0,0 +1,73 @@
+package com.luxoft.olshevchenko.benchmark;
+
+import com.luxoft.olshevchenko.list.AbstractList;
+
+import java.util.Iterator;
+
+/**
+ * Exposes a java.util.List through the project List interface, used as a baseline in benchmarks.
+ *
+ * @author Oleksandr Shevchenko
+ */
+class JdkListAdapter<E> extends AbstractList<E> {
+    private final java.util.List<E> list;
+
+    JdkListAdapter(java.util.List<E> list) {
+        this.list = list;
+    }
+
+    @Override
+    public void add(E value) {
+        list.add(value);
+    }
+
+    @Override
+    public void add(E value, int index) {
+        list.add(index, value);
+    }
+
+    @Override
+    public E remove(int index) {
+        return list.remove(index);
+    }
+
+    @Override
+    public E get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public E set(E value, int index) {
+        return list.set(index, value);
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    @Override
+    public int indexOf(E value) {
+        return list.indexOf(value);
+    }
+
+    @Override
+    public int lastIndexOf(E value) {
+        return list.lastIndexOf(value);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return list.iterator();
+    }
+}
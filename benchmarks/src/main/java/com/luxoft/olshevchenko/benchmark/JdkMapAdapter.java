@@ -0,0 +1,86 @@
+package com.luxoft.olshevchenko.benchmark;
+
+import com.luxoft.olshevchenko.map.Map;
+
+import java.util.Iterator;
+import java.util.function.BiFunction;
+
+/**
+ * Exposes a java.util.Map through the project Map interface, used as a baseline in benchmarks.
+ *
+ * @author Oleksandr Shevchenko
+ */
+class JdkMapAdapter<K, V> implements Map<K, V> {
+    private final java.util.Map<K, V> map;
+
+    JdkMapAdapter(java.util.Map<K, V> map) {
+        this.map = map;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return map.put(key, value);
+    }
+
+    @Override
+    public V get(K key) {
+        return map.get(key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V remove(K key) {
+        return map.remove(key);
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return map.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        Iterator<java.util.Map.Entry<K, V>> iterator = map.entrySet().iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                java.util.Map.Entry<K, V> entry = iterator.next();
+                return new Map.Entry<>() {
+                    @Override
+                    public K getKey() {
+                        return entry.getKey();
+                    }
+
+                    @Override
+                    public V getValue() {
+                        return entry.getValue();
+                    }
+
+                    @Override
+                    public void setValue(V value) {
+                        entry.setValue(value);
+                    }
+                };
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+            }
+        };
+    }
+}
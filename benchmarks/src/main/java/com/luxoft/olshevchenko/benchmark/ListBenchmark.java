@@ -0,0 +1,133 @@
+package com.luxoft.olshevchenko.benchmark;
+
+import com.luxoft.olshevchenko.list.ArrayList;
+import com.luxoft.olshevchenko.list.CircularArrayList;
+import com.luxoft.olshevchenko.list.GapBufferList;
+import com.luxoft.olshevchenko.list.LinkedList;
+import com.luxoft.olshevchenko.list.List;
+import com.luxoft.olshevchenko.list.UnrolledLinkedList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Head, middle and tail operations, search and iteration for the project lists and their java.util counterparts.
+ * Add benchmarks remove the added element again, so the list size stays fixed between invocations.
+ * Run fill with -prof gc to compare the bytes allocated per value.
+ *
+ * @author Oleksandr Shevchenko
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+    @Param({"ArrayList", "LinkedList", "UnrolledLinkedList", "CircularArrayList",
+            "GapBufferList", "java.util.ArrayList", "java.util.LinkedList"})
+    private String implementation;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Integer> list;
+    private Integer middleValue;
+    private final Integer missingValue = -1;
+
+    @Setup
+    public void setUp() {
+        list = createList(implementation);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        middleValue = size / 2;
+    }
+
+    @Benchmark
+    public Integer addAndRemoveHead() {
+        list.add(missingValue, 0);
+        return list.remove(0);
+    }
+
+    @Benchmark
+    public Integer addAndRemoveMiddle() {
+        list.add(missingValue, size / 2);
+        return list.remove(size / 2);
+    }
+
+    @Benchmark
+    public Integer addAndRemoveTail() {
+        list.add(missingValue);
+        return list.remove(size);
+    }
+
+    @Benchmark
+    public Integer getHead() {
+        return list.get(0);
+    }
+
+    @Benchmark
+    public Integer getMiddle() {
+        return list.get(size / 2);
+    }
+
+    @Benchmark
+    public Integer getTail() {
+        return list.get(size - 1);
+    }
+
+    @Benchmark
+    public Integer setMiddle() {
+        return list.set(middleValue, size / 2);
+    }
+
+    @Benchmark
+    public int indexOfMiddle() {
+        return list.indexOf(middleValue);
+    }
+
+    @Benchmark
+    public int indexOfMissing() {
+        return list.indexOf(missingValue);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer value : list) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Integer> fill() {
+        List<Integer> newList = createList(implementation);
+        for (int i = 0; i < size; i++) {
+            newList.add(middleValue);
+        }
+        return newList;
+    }
+
+    static List<Integer> createList(String implementation) {
+        switch (implementation) {
+            case "ArrayList":
+                return new ArrayList<>();
+            case "LinkedList":
+                return new LinkedList<>();
+            case "UnrolledLinkedList":
+                return new UnrolledLinkedList<>();
+            case "CircularArrayList":
+                return new CircularArrayList<>();
+            case "GapBufferList":
+                return new GapBufferList<>();
+            case "java.util.ArrayList":
+                return new JdkListAdapter<>(new java.util.ArrayList<>());
+            case "java.util.LinkedList":
+                return new JdkListAdapter<>(new java.util.LinkedList<>());
+            default:
+                throw new IllegalArgumentException("Unknown list implementation " + implementation);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.luxoft.olshevchenko.benchmark;
+
+import com.luxoft.olshevchenko.map.HashMap;
+import com.luxoft.olshevchenko.map.Map;
+import com.luxoft.olshevchenko.map.OpenAddressingHashMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups, updates, iteration and resize-heavy inserts for the project maps and java.util.HashMap.
+ * The word count benchmarks compare counting with get and put against a single merge call.
+ *
+ * @author Oleksandr Shevchenko
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+    private static final int WORDS = 1_000_000;
+
+    @Param({"HashMap", "HashMap-incremental", "OpenAddressingHashMap", "java.util.HashMap"})
+    private String implementation;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Map<String, Integer> map;
+    private String[] keys;
+    private String[] missingKeys;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        keys = new String[size];
+        missingKeys = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = "key" + i;
+            missingKeys[i] = "missing" + i;
+        }
+        map = createMap(implementation);
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public Integer getHit() {
+        return map.get(nextKey(keys));
+    }
+
+    @Benchmark
+    public Integer getMiss() {
+        return map.get(nextKey(missingKeys));
+    }
+
+    @Benchmark
+    public boolean containsKeyHit() {
+        return map.containsKey(nextKey(keys));
+    }
+
+    @Benchmark
+    public Integer putExisting() {
+        return map.put(nextKey(keys), index);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Map.Entry<String, Integer> entry : map) {
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+    // fills a map of default capacity from scratch, going through every resize
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, Integer> putWithResizes() {
+        Map<String, Integer> newMap = createMap(implementation);
+        for (int i = 0; i < keys.length; i++) {
+            newMap.put(keys[i], i);
+        }
+        return newMap;
+    }
+
+    // every key is counted words / size times, like words of a text with a vocabulary of size
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, Integer> wordCountGetAndPut() {
+        Map<String, Integer> counts = createMap(implementation);
+        for (int i = 0; i < WORDS; i++) {
+            String word = keys[i % keys.length];
+            Integer count = counts.get(word);
+            counts.put(word, count == null ? 1 : count + 1);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, Integer> wordCountMerge() {
+        Map<String, Integer> counts = createMap(implementation);
+        for (int i = 0; i < WORDS; i++) {
+            counts.merge(keys[i % keys.length], 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private String nextKey(String[] source) {
+        index = index + 1 == source.length ? 0 : index + 1;
+        return source[index];
+    }
+
+    static Map<String, Integer> createMap(String implementation) {
+        switch (implementation) {
+            case "HashMap":
+                return new HashMap<>();
+            case "HashMap-incremental":
+                return new HashMap<>(5, true);
+            case "OpenAddressingHashMap":
+                return new OpenAddressingHashMap<>();
+            case "java.util.HashMap":
+                return new JdkMapAdapter<>(new java.util.HashMap<>());
+            default:
+                throw new IllegalArgumentException("Unknown map implementation " + implementation);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.luxoft.olshevchenko.benchmark;
+
+import com.luxoft.olshevchenko.map.HashMap;
+import com.luxoft.olshevchenko.map.Map;
+import com.luxoft.olshevchenko.set.HashMultiset;
+import com.luxoft.olshevchenko.set.HashSet;
+import com.luxoft.olshevchenko.set.Multiset;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashSet against a HashMap with Boolean values and java.util.HashSet, and HashMultiset against counting with merge.
+ * Run fill with -prof gc to compare the bytes allocated per value.
+ *
+ * @author Oleksandr Shevchenko
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetBenchmark {
+    private static final int WORDS = 1_000_000;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private String[] keys;
+    private HashSet<String> set;
+    private HashMap<String, Boolean> mapAsSet;
+    private java.util.Set<String> jdkSet;
+
+    @Setup
+    public void setUp() {
+        keys = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = "key" + i;
+        }
+        set = fillHashSet();
+        mapAsSet = fillHashMapAsSet();
+        jdkSet = fillJdkHashSet();
+    }
+
+    @Benchmark
+    public HashSet<String> fillHashSet() {
+        HashSet<String> newSet = new HashSet<>();
+        for (String key : keys) {
+            newSet.add(key);
+        }
+        return newSet;
+    }
+
+    @Benchmark
+    public HashMap<String, Boolean> fillHashMapAsSet() {
+        HashMap<String, Boolean> newMap = new HashMap<>();
+        for (String key : keys) {
+            newMap.put(key, Boolean.TRUE);
+        }
+        return newMap;
+    }
+
+    @Benchmark
+    public java.util.Set<String> fillJdkHashSet() {
+        java.util.Set<String> newSet = new java.util.HashSet<>();
+        for (String key : keys) {
+            newSet.add(key);
+        }
+        return newSet;
+    }
+
+    @Benchmark
+    public int containsHashSet() {
+        int found = 0;
+        for (String key : keys) {
+            found += set.contains(key) ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int containsHashMapAsSet() {
+        int found = 0;
+        for (String key : keys) {
+            found += mapAsSet.containsKey(key) ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int containsJdkHashSet() {
+        int found = 0;
+        for (String key : keys) {
+            found += jdkSet.contains(key) ? 1 : 0;
+        }
+        return found;
+    }
+
+    // every key is counted WORDS / size times, like words of a text with a vocabulary of size
+    @Benchmark
+    public Multiset<String> wordCountHashMultiset() {
+        Multiset<String> counts = new HashMultiset<>();
+        for (int i = 0; i < WORDS; i++) {
+            counts.add(keys[i % keys.length]);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public Map<String, Integer> wordCountHashMapMerge() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < WORDS; i++) {
+            counts.merge(keys[i % keys.length], 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,136 @@
+package com.luxoft.olshevchenko.benchmark;
+
+import com.luxoft.olshevchenko.map.ConcurrentSkipListMap;
+import com.luxoft.olshevchenko.map.HashMap;
+import com.luxoft.olshevchenko.map.Map;
+import com.luxoft.olshevchenko.map.SortedMap;
+import com.luxoft.olshevchenko.map.TreeMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups of the sorted maps against HashMap, and range scans against sorting a copy of a HashMap,
+ * which is what a range query costs without a sorted map.
+ *
+ * @author Oleksandr Shevchenko
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortedMapBenchmark {
+    private static final int RANGE_LENGTH = 100;
+
+    @Param({"HashMap", "TreeMap", "ConcurrentSkipListMap", "java.util.TreeMap"})
+    private String implementation;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Map<Integer, Integer> map;
+    private Integer[] keys;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+        }
+        // looked up in random order, so the tree walks do not hit the same path every time
+        Random random = new Random(42);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+        }
+        map = createMap(implementation);
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Integer getHit() {
+        return map.get(nextKey());
+    }
+
+    @Benchmark
+    public Integer putExisting() {
+        Integer key = nextKey();
+        return map.put(key, key);
+    }
+
+    // sums the values of RANGE_LENGTH consecutive keys
+    @Benchmark
+    public long rangeScan() {
+        int fromKey = Math.min(nextKey(), size - RANGE_LENGTH);
+        int toKey = fromKey + RANGE_LENGTH;
+        long sum = 0;
+        if (map instanceof SortedMap) {
+            for (Map.Entry<Integer, Integer> entry : ((SortedMap<Integer, Integer>) map).subMap(fromKey, toKey)) {
+                sum += entry.getValue();
+            }
+        } else if (map instanceof JdkSortedMapAdapter) {
+            for (Integer value : ((JdkSortedMapAdapter<Integer, Integer>) map).map.subMap(fromKey, toKey).values()) {
+                sum += value;
+            }
+        } else {
+            // no order to use, the matching entries are collected and sorted on every query
+            java.util.List<Map.Entry<Integer, Integer>> entries = new java.util.ArrayList<>();
+            for (Map.Entry<Integer, Integer> entry : map) {
+                if (entry.getKey() >= fromKey && entry.getKey() < toKey) {
+                    entries.add(entry);
+                }
+            }
+            entries.sort(java.util.Comparator.comparing(Map.Entry::getKey));
+            for (Map.Entry<Integer, Integer> entry : entries) {
+                sum += entry.getValue();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Map.Entry<Integer, Integer> entry : map) {
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+    private Integer nextKey() {
+        index = index + 1 == keys.length ? 0 : index + 1;
+        return keys[index];
+    }
+
+    private static Map<Integer, Integer> createMap(String implementation) {
+        switch (implementation) {
+            case "HashMap":
+                return new HashMap<>();
+            case "TreeMap":
+                return new TreeMap<>();
+            case "ConcurrentSkipListMap":
+                return new ConcurrentSkipListMap<>();
+            case "java.util.TreeMap":
+                return new JdkSortedMapAdapter<>(new java.util.TreeMap<>());
+            default:
+                throw new IllegalArgumentException("Unknown map implementation " + implementation);
+        }
+    }
+
+    // keeps the java.util.TreeMap at hand for its own subMap
+    private static class JdkSortedMapAdapter<K, V> extends JdkMapAdapter<K, V> {
+        private final java.util.TreeMap<K, V> map;
+
+        private JdkSortedMapAdapter(java.util.TreeMap<K, V> map) {
+            super(map);
+            this.map = map;
+        }
+    }
+}
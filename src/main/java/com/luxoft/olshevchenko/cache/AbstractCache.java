@@ -0,0 +1,140 @@
+package com.luxoft.olshevchenko.cache;
+
+import com.luxoft.olshevchenko.cache.AccessQueue.Node;
+import com.luxoft.olshevchenko.map.HashMap;
+
+import java.util.Objects;
+
+/**
+ * Keeps the entries in a {@link HashMap} of nodes that are also linked into the access queues of the policy,
+ * so a hit is one map lookup and a constant number of relinks. Subclasses decide which queues the nodes move
+ * between and which node is evicted.
+ *
+ * @author Oleksandr Shevchenko
+ */
+abstract class AbstractCache<K, V> implements Cache<K, V> {
+    protected final long maximumWeight;
+    private final HashMap<K, Node<K, V>> entries = new HashMap<>();
+    private final Weigher<? super K, ? super V> weigher;
+    private final EvictionListener<? super K, ? super V> evictionListener;
+    private long weightedSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    protected AbstractCache(long maximumWeight, Weigher<? super K, ? super V> weigher,
+                            EvictionListener<? super K, ? super V> evictionListener) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight should be positive, but was " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+    }
+
+
+    @Override
+    public V get(K key) {
+        recordAccess(key);
+        Node<K, V> node = entries.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(node);
+        return node.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "Null values are not supported");
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight should not be negative, but was " + weight);
+        }
+        recordAccess(key);
+        Node<K, V> node = entries.get(key);
+        if (node != null) {
+            V oldValue = node.value;
+            node.value = value;
+            weightedSize += weight - node.weight;
+            node.queue.setWeight(node, weight);
+            onAccess(node);
+            evict();
+            return oldValue;
+        }
+        node = new Node<>(key, value, weight);
+        entries.put(key, node);
+        weightedSize += weight;
+        onAdd(node);
+        evict();
+        return null;
+    }
+
+    @Override
+    public V invalidate(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node == null) {
+            return null;
+        }
+        removeNode(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    @Override
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount);
+    }
+
+    @Override
+    public String toString() {
+        return entries.toString();
+    }
+
+
+    // called on every get and put, before the lookup
+    protected void recordAccess(K key) {
+    }
+
+    // the node was found by get or its value was replaced by put
+    protected abstract void onAccess(Node<K, V> node);
+
+    // a new node was added to the map and has to be linked into a queue
+    protected abstract void onAdd(Node<K, V> node);
+
+    // evicts nodes until the cache is within its bounds
+    protected abstract void evict();
+
+    protected void evictNode(Node<K, V> node) {
+        removeNode(node);
+        evictionCount++;
+        evictionListener.onEviction(node.key, node.value);
+    }
+
+    private void removeNode(Node<K, V> node) {
+        entries.remove(node.key);
+        node.queue.remove(node);
+        weightedSize -= node.weight;
+    }
+}
@@ -0,0 +1,76 @@
+package com.luxoft.olshevchenko.cache;
+
+/**
+ * Doubly linked list of cache entries, least recently used first. The links are kept in the entries themselves,
+ * so an entry found through the map is moved or removed in constant time.
+ *
+ * @author Oleksandr Shevchenko
+ */
+class AccessQueue<K, V> {
+    // sentinel, its next is the first entry and its prev is the last one
+    private final Node<K, V> head = new Node<>(null, null, 0);
+    private long weight;
+
+    AccessQueue() {
+        head.prev = head;
+        head.next = head;
+    }
+
+
+    void addLast(Node<K, V> node) {
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+        node.queue = this;
+        weight += node.weight;
+    }
+
+    void remove(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        node.queue = null;
+        weight -= node.weight;
+    }
+
+    void moveToLast(Node<K, V> node) {
+        remove(node);
+        addLast(node);
+    }
+
+    void setWeight(Node<K, V> node, int newWeight) {
+        weight += newWeight - node.weight;
+        node.weight = newWeight;
+    }
+
+    // null if the queue is empty
+    Node<K, V> first() {
+        return head.next == head ? null : head.next;
+    }
+
+    boolean isEmpty() {
+        return head.next == head;
+    }
+
+    long weight() {
+        return weight;
+    }
+
+
+    static class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        Node<K, V> prev;
+        Node<K, V> next;
+        AccessQueue<K, V> queue;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.luxoft.olshevchenko.cache;
+
+/**
+ * Map with a bounded total weight, which evicts entries to stay within the bound.
+ * Implementations are not thread-safe.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public interface Cache<K, V> {
+
+    // value or null if absent, counted as a hit or a miss
+    V get(K key);
+
+    // adds or replaces the value and returns the previous one, null values are not supported
+    V put(K key, V value);
+
+    // removes the entry without notifying the eviction listener, null if absent
+    V invalidate(K key);
+
+    // neither counted in the statistics nor treated as an access
+    boolean containsKey(K key);
+
+    int size();
+
+    // sum of the weights of the entries, the number of entries if there is no weigher
+    long weightedSize();
+
+    long maximumWeight();
+
+    CacheStats stats();
+}
@@ -0,0 +1,12 @@
+package com.luxoft.olshevchenko.cache;
+
+/**
+ * Notified of every entry a {@link Cache} evicts to stay within its bound, including the new entries it refuses.
+ *
+ * @author Oleksandr Shevchenko
+ */
+@FunctionalInterface
+public interface EvictionListener<K, V> {
+
+    void onEviction(K key, V value);
+}
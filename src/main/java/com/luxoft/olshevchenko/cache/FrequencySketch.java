@@ -0,0 +1,102 @@
+package com.luxoft.olshevchenko.cache;
+
+import java.util.Objects;
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often keys were accessed, used by {@link TinyLfuCache}.
+ * Four counters are updated per key and the smallest one is the estimate. All counters are halved once the
+ * number of increments reaches ten times the number of counters, so that old popularity fades out.
+ * The table is sized by the number of entries and doubles as it grows, keeping the estimates.
+ *
+ * @author Oleksandr Shevchenko
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+    private static final int MAX_LENGTH = 1 << 24;
+
+    private long[] table;
+    private int sampleSize;
+    private int additions;
+
+    // sixteen counters per expected entry, each long holding sixteen of them
+    FrequencySketch(long expectedSize) {
+        table = new long[tableSizeFor(expectedSize)];
+        sampleSize = 10 * table.length;
+    }
+
+
+    // the index of a counter is masked by the length, so copies of the old table in every part of the new one
+    // give each key the same counters as before
+    void ensureCapacity(long expectedSize) {
+        int length = tableSizeFor(expectedSize);
+        if (length <= table.length) {
+            return;
+        }
+        long[] newTable = new long[length];
+        for (int i = 0; i < length; i += table.length) {
+            System.arraycopy(table, 0, newTable, i, table.length);
+        }
+        table = newTable;
+        sampleSize = 10 * length;
+    }
+
+    int length() {
+        return table.length;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(Objects.hashCode(key));
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, (int) (table[getIndex(hash, i)] >>> getShift(hash, i)) & MAX_COUNT);
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(Objects.hashCode(key));
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = getIndex(hash, i);
+            int shift = getShift(hash, i);
+            if (((table[index] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int getIndex(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & (table.length - 1);
+    }
+
+    // each of the four counters of a key uses its own nibble of the hash to pick the counter within the long
+    private static int getShift(int hash, int i) {
+        return ((hash >>> (i << 2)) & 15) << 2;
+    }
+
+    private static int tableSizeFor(long expectedSize) {
+        int length = (int) Math.min(Math.max(expectedSize, 1), MAX_LENGTH);
+        int highestBit = Integer.highestOneBit(length);
+        return highestBit == length ? length : highestBit << 1;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
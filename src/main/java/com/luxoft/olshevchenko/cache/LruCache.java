@@ -0,0 +1,40 @@
+package com.luxoft.olshevchenko.cache;
+
+import com.luxoft.olshevchenko.cache.AccessQueue.Node;
+
+/**
+ * Cache evicting the least recently used entries.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class LruCache<K, V> extends AbstractCache<K, V> {
+    private final AccessQueue<K, V> queue = new AccessQueue<>();
+
+    public LruCache(long maximumSize) {
+        this(maximumSize, (key, value) -> 1, (key, value) -> {
+        });
+    }
+
+    public LruCache(long maximumWeight, Weigher<? super K, ? super V> weigher,
+                    EvictionListener<? super K, ? super V> evictionListener) {
+        super(maximumWeight, weigher, evictionListener);
+    }
+
+
+    @Override
+    protected void onAccess(Node<K, V> node) {
+        queue.moveToLast(node);
+    }
+
+    @Override
+    protected void onAdd(Node<K, V> node) {
+        queue.addLast(node);
+    }
+
+    @Override
+    protected void evict() {
+        while (queue.weight() > maximumWeight) {
+            evictNode(queue.first());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.luxoft.olshevchenko.cache;
+
+import com.luxoft.olshevchenko.cache.AccessQueue.Node;
+
+/**
+ * Cache with W-TinyLFU admission. New entries enter a small LRU window. An entry leaving the window is admitted
+ * to the main space only if it was accessed more often than the entry the main space would evict for it,
+ * so a scan of one-time keys cannot flush the popular ones. The main space is a segmented LRU: entries start
+ * in the probation segment and move to the protected segment when they are accessed again.
+ * The frequency sketch is sized by the number of entries, not by the maximum weight, and grows along with them.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class TinyLfuCache<K, V> extends AbstractCache<K, V> {
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+    private static final int INITIAL_SKETCH_SIZE = 16;
+
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+
+    public TinyLfuCache(long maximumSize) {
+        this(maximumSize, (key, value) -> 1, (key, value) -> {
+        });
+    }
+
+    public TinyLfuCache(long maximumWeight, Weigher<? super K, ? super V> weigher,
+                        EvictionListener<? super K, ? super V> evictionListener) {
+        super(maximumWeight, weigher, evictionListener);
+        this.windowMaximum = Math.max(1, maximumWeight * WINDOW_PERCENT / 100);
+        this.mainMaximum = maximumWeight - windowMaximum;
+        this.protectedMaximum = mainMaximum * PROTECTED_PERCENT / 100;
+        this.sketch = new FrequencySketch(Math.min(maximumWeight, INITIAL_SKETCH_SIZE));
+    }
+
+
+    @Override
+    protected void recordAccess(K key) {
+        sketch.increment(key);
+    }
+
+    @Override
+    protected void onAccess(Node<K, V> node) {
+        if (node.queue == probation) {
+            probation.remove(node);
+            protectedQueue.addLast(node);
+            // the protected segment overflows into probation, where its entries get another chance
+            while (protectedQueue.weight() > protectedMaximum && protectedQueue.first() != node) {
+                Node<K, V> demoted = protectedQueue.first();
+                protectedQueue.remove(demoted);
+                probation.addLast(demoted);
+            }
+        } else {
+            node.queue.moveToLast(node);
+        }
+    }
+
+    @Override
+    protected void onAdd(Node<K, V> node) {
+        window.addLast(node);
+        sketch.ensureCapacity(size());
+    }
+
+    @Override
+    protected void evict() {
+        while (window.weight() > windowMaximum) {
+            Node<K, V> candidate = window.first();
+            window.remove(candidate);
+            admit(candidate);
+        }
+        // values replaced by heavier ones can push the main space over its bound
+        while (getMainWeight() > mainMaximum) {
+            evictNode(probation.isEmpty() ? protectedQueue.first() : probation.first());
+        }
+    }
+
+    // the candidate and the main space victims compete by frequency until the candidate fits or loses
+    private void admit(Node<K, V> candidate) {
+        probation.addLast(candidate);
+        if (candidate.weight > mainMaximum) {
+            evictNode(candidate);
+            return;
+        }
+        while (getMainWeight() > mainMaximum) {
+            Node<K, V> victim = probation.first();
+            if (victim == candidate) {
+                victim = protectedQueue.first();
+            }
+            if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                evictNode(candidate);
+                return;
+            }
+            evictNode(victim);
+        }
+    }
+
+    // number of longs in the frequency sketch
+    int sketchLength() {
+        return sketch.length();
+    }
+
+    private long getMainWeight() {
+        return probation.weight() + protectedQueue.weight();
+    }
+}
@@ -0,0 +1,13 @@
+package com.luxoft.olshevchenko.cache;
+
+/**
+ * Weight of an entry of a {@link Cache}, calculated when the value is put and never changed afterwards.
+ *
+ * @author Oleksandr Shevchenko
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    // should not be negative
+    int weigh(K key, V value);
+}
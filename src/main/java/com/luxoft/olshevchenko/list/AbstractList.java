@@ -1,13 +1,24 @@
 package com.luxoft.olshevchenko.list;
 
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.StringJoiner;
+import java.util.function.Predicate;
 
 /**
  * @author Oleksandr Shevchenko
  */
 public abstract class AbstractList<E> implements List<E> {
     private static final String INDEX_OOB_MSG_FORMAT = "Index %s is out of bounds in [0, %s]";
+    private static final String RANGE_OOB_MSG_FORMAT = "Range [%s, %s) is out of bounds in [0, %s]";
     protected int size;
+    // counts structural changes, iterators fail fast when it changes behind their back
+    protected int modCount;
 
     @Override
     public void add(E value) {
@@ -29,6 +40,75 @@ public abstract class AbstractList<E> implements List<E> {
         return indexOf(value) != -1;
     }
 
+    @Override
+    public void addAll(Iterable<E> values) {
+        addAll(values, size);
+    }
+
+    @Override
+    public void addAll(Iterable<E> values, int index) {
+        checkExceedBoundsForAdd(index);
+        // values are copied first, so that adding a list to itself terminates
+        java.util.List<E> copy = new java.util.ArrayList<>();
+        for (E value : values) {
+            if (value != null) {
+                copy.add(value);
+            }
+        }
+        for (E value : copy) {
+            add(value, index++);
+        }
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        checkExceedBoundsForRemoveRange(fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            remove(fromIndex);
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        boolean removed = false;
+        Iterator<E> iterator = iterator();
+        while (iterator.hasNext()) {
+            if (filter.test(iterator.next())) {
+                iterator.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean retainAll(List<E> values) {
+        return removeIf(value -> !values.contains(value));
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        checkExceedBoundsForAdd(index);
+        return new IndexListIterator(index);
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        checkExceedBoundsForRemoveRange(fromIndex, toIndex);
+        return new SubList<>(this, fromIndex, toIndex);
+    }
+
+    // splits off batches of the iterator, lists with constant time index access override it
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
     @Override
     public String toString(){
         StringJoiner stringJoiner = new StringJoiner(", ", "[", "]");
@@ -39,16 +119,282 @@ public abstract class AbstractList<E> implements List<E> {
     }
 
     protected void checkExceedBoundsForAdd(int index) {
+        checkExceedBoundsForAdd(index, size);
+    }
+
+    protected void checkExceedBoundsForRemoveGetSet(int index) {
+        checkExceedBoundsForRemoveGetSet(index, size);
+    }
+
+    protected void checkExceedBoundsForRemoveRange(int fromIndex, int toIndex) {
+        checkExceedBoundsForRemoveRange(fromIndex, toIndex, size);
+    }
+
+    protected void checkForComodification(int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException("The list was modified outside of the iterator");
+        }
+    }
+
+    // shared with the lists which do not extend AbstractList
+    static void checkExceedBoundsForAdd(int index, int size) {
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException(String.format(INDEX_OOB_MSG_FORMAT, index, size));
         }
     }
 
-    protected void checkExceedBoundsForRemoveGetSet(int index) {
+    static void checkExceedBoundsForRemoveGetSet(int index, int size) {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException(String.format(INDEX_OOB_MSG_FORMAT, index, size));
         }
     }
 
+    static void checkExceedBoundsForRemoveRange(int fromIndex, int toIndex, int size) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(String.format(RANGE_OOB_MSG_FORMAT, fromIndex, toIndex, size));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <E> Comparator<? super E> orNaturalOrder(Comparator<? super E> comparator) {
+        return comparator != null ? comparator : (Comparator) Comparator.naturalOrder();
+    }
+
+    // list iterator built on get/set/add/remove, fine for lists with constant time index access
+    private class IndexListIterator implements ListIterator<E> {
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        private IndexListIterator(int index) {
+            this.cursor = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        @Override
+        public E next() {
+            checkForComodification(expectedModCount);
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the list");
+            }
+            lastReturned = cursor;
+            return get(cursor++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification(expectedModCount);
+            if (!hasPrevious()) {
+                throw new NoSuchElementException("There is no previous element in the list");
+            }
+            lastReturned = --cursor;
+            return get(cursor);
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called remove method without next or previous");
+            }
+            checkForComodification(expectedModCount);
+            AbstractList.this.remove(lastReturned);
+            expectedModCount = modCount;
+            cursor = lastReturned;
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(E value) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called set method without next or previous");
+            }
+            checkForComodification(expectedModCount);
+            AbstractList.this.set(value, lastReturned);
+        }
+
+        @Override
+        public void add(E value) {
+            checkForComodification(expectedModCount);
+            lastReturned = -1;
+            if (value != null) {
+                AbstractList.this.add(value, cursor++);
+                expectedModCount = modCount;
+            }
+        }
+    }
+
+    // view of [offset, offset + size) of the parent list, all changes go through the parent
+    static class SubList<E> extends AbstractList<E> {
+        private final List<E> parent;
+        private final int offset;
+
+        SubList(List<E> parent, int fromIndex, int toIndex) {
+            this.parent = parent;
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+        }
+
+        @Override
+        public void add(E value, int index) {
+            checkExceedBoundsForAdd(index);
+            if (value != null) {
+                parent.add(value, offset + index);
+                size++;
+                modCount++;
+            }
+        }
+
+        @Override
+        public void addAll(Iterable<E> values, int index) {
+            checkExceedBoundsForAdd(index);
+            int parentSize = parent.size();
+            parent.addAll(values, offset + index);
+            size += parent.size() - parentSize;
+            modCount++;
+        }
+
+        @Override
+        public E remove(int index) {
+            checkExceedBoundsForRemoveGetSet(index);
+            size--;
+            modCount++;
+            return parent.remove(offset + index);
+        }
+
+        @Override
+        public void removeRange(int fromIndex, int toIndex) {
+            checkExceedBoundsForRemoveRange(fromIndex, toIndex);
+            parent.removeRange(offset + fromIndex, offset + toIndex);
+            size -= toIndex - fromIndex;
+            modCount++;
+        }
+
+        @Override
+        public E get(int index) {
+            checkExceedBoundsForRemoveGetSet(index);
+            return parent.get(offset + index);
+        }
+
+        @Override
+        public E set(E value, int index) {
+            checkExceedBoundsForRemoveGetSet(index);
+            return parent.set(value, offset + index);
+        }
+
+        @Override
+        public void clear() {
+            removeRange(0, size);
+        }
+
+        @Override
+        public int indexOf(E value) {
+            ListIterator<E> iterator = listIterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().equals(value)) {
+                    return iterator.previousIndex();
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(E value) {
+            ListIterator<E> iterator = listIterator(size);
+            while (iterator.hasPrevious()) {
+                if (iterator.previous().equals(value)) {
+                    return iterator.nextIndex();
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return listIterator();
+        }
+
+        // walks the parent's own list iterator, so a sub list of a LinkedList is traversed in linear time
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            checkExceedBoundsForAdd(index);
+            ListIterator<E> parentIterator = parent.listIterator(offset + index);
+            return new ListIterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return nextIndex() < size;
+                }
+
+                @Override
+                public E next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException("There is no next element in the list");
+                    }
+                    return parentIterator.next();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return previousIndex() >= 0;
+                }
+
+                @Override
+                public E previous() {
+                    if (!hasPrevious()) {
+                        throw new NoSuchElementException("There is no previous element in the list");
+                    }
+                    return parentIterator.previous();
+                }
+
+                @Override
+                public int nextIndex() {
+                    return parentIterator.nextIndex() - offset;
+                }
+
+                @Override
+                public int previousIndex() {
+                    return parentIterator.previousIndex() - offset;
+                }
+
+                @Override
+                public void remove() {
+                    parentIterator.remove();
+                    size--;
+                }
+
+                @Override
+                public void set(E value) {
+                    parentIterator.set(value);
+                }
+
+                @Override
+                public void add(E value) {
+                    if (value != null) {
+                        parentIterator.add(value);
+                        size++;
+                    }
+                }
+            };
+        }
+    }
+
 
 }
@@ -1,42 +1,111 @@
 package com.luxoft.olshevchenko.list;
 
+import com.luxoft.olshevchenko.metrics.Measurable;
+import com.luxoft.olshevchenko.metrics.Metrics;
+
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * @author Oleksandr Shevchenko
  */
-public class ArrayList<E> extends AbstractList<E> implements List<E> {
+public class ArrayList<E> extends AbstractList<E> implements List<E>, Measurable {
     private final static int DEFAULT_CAPACITY = 10;
     private final static double LOAD_FACTOR = 1.5;
+    private final static GrowthPolicy DEFAULT_GROWTH_POLICY = GrowthPolicy.geometric(LOAD_FACTOR);
+    private final GrowthPolicy growthPolicy;
     private E [] array;
+    // only counted while Metrics.ENABLED is on
+    private long growthCount;
+    private long copiedValues;
 
     public ArrayList() {
         this(DEFAULT_CAPACITY);
     }
 
-    @SuppressWarnings("unchecked")
     public ArrayList(int capacity) {
+        this(capacity, DEFAULT_GROWTH_POLICY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ArrayList(int capacity, GrowthPolicy growthPolicy) {
         this.array = (E[]) new Object[capacity];
+        this.growthPolicy = growthPolicy;
     }
 
 
     @Override
     public void add(E value, int index) {
         checkExceedBoundsForAdd(index);
-        ensureCapacity();
+        ensureCapacity(size + 1);
         if (value != null) {
             System.arraycopy(array, index, array, index + 1, size - index);
             array[index] = value;
             size++;
+            modCount++;
         }
     }
 
+    // one capacity check and one shift for the whole batch
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addAll(Iterable<E> values, int index) {
+        checkExceedBoundsForAdd(index);
+        E[] valuesToAdd = (E[]) toArrayWithoutNulls(values);
+        int count = valuesToAdd.length;
+        if (count == 0) {
+            return;
+        }
+        ensureCapacity(size + count);
+        System.arraycopy(array, index, array, index + count, size - index);
+        System.arraycopy(valuesToAdd, 0, array, index, count);
+        size += count;
+        modCount++;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        checkExceedBoundsForRemoveRange(fromIndex, toIndex);
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
+        modCount++;
+    }
+
+    // the filter runs over all values before any of them is moved, so a throwing filter leaves the list unchanged;
+    // the kept values are then compacted in a single pass
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        BitSet removed = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (filter.test(array[i])) {
+                removed.set(i);
+            }
+        }
+        if (removed.isEmpty()) {
+            return false;
+        }
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removed.get(i)) {
+                array[newSize++] = array[i];
+            }
+        }
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
+        modCount++;
+        return true;
+    }
+
     @Override
     public E remove(int index) {
         checkExceedBoundsForRemoveGetSet(index);
         E result = array[index];
         System.arraycopy(array, index + 1, array, index, size() - index - 1);
         size--;
+        modCount++;
         return result;
     }
 
@@ -60,6 +129,7 @@ public class ArrayList<E> extends AbstractList<E> implements List<E> {
             array[i] = null;
         }
         size = 0;
+        modCount++;
     }
 
     @Override
@@ -82,21 +152,102 @@ public class ArrayList<E> extends AbstractList<E> implements List<E> {
         return -1;
     }
 
+    // TimSort over the backing array, nearly sorted data takes close to linear time
+    @Override
+    public void sort(Comparator<? super E> comparator) {
+        Arrays.sort(array, 0, size, comparator);
+        modCount++;
+    }
+
+    // splits the array between the common pool threads, small lists are sorted sequentially
+    public void parallelSort(Comparator<? super E> comparator) {
+        Arrays.parallelSort(array, 0, size, orNaturalOrder(comparator));
+        modCount++;
+    }
 
-    private void ensureCapacity() {
-        if (size == array.length) {
-            array = Arrays.copyOf(array, Math.max((int) (array.length * LOAD_FACTOR), 2));
+    // grows the array once up front, so that adding minCapacity values does not grow it step by step
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            if (Metrics.ENABLED) {
+                growthCount++;
+                copiedValues += size;
+            }
+            array = Arrays.copyOf(array, growthPolicy.newCapacity(array.length, minCapacity));
         }
     }
 
+    // gives back the unused part of the array, e.g. after clear or a mass remove
+    public void trimToSize() {
+        if (size < array.length) {
+            array = Arrays.copyOf(array, size);
+            modCount++;
+        }
+    }
+
+    @Override
+    public java.util.Map<String, Double> structureStats() {
+        java.util.Map<String, Double> stats = new LinkedHashMap<>();
+        stats.put("size", (double) size);
+        stats.put("capacity", (double) array.length);
+        stats.put("growthCount", (double) growthCount);
+        stats.put("copiedValues", (double) copiedValues);
+        return stats;
+    }
+
+
+
+    // copies the values up front, which also makes adding a list to itself safe
+    private static Object[] toArrayWithoutNulls(Iterable<?> values) {
+        Object[] result = new Object[values instanceof List ? ((List<?>) values).size() : DEFAULT_CAPACITY];
+        int count = 0;
+        for (Object value : values) {
+            if (value != null) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, Math.max((int) (result.length * LOAD_FACTOR), 2));
+                }
+                result[count++] = value;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
 
     @Override
     public Iterator<E> iterator() {
-        return new ArrayListIterator();
+        return new ArrayListIterator(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        checkExceedBoundsForAdd(index);
+        return new ArrayListIterator(index);
+    }
+
+    // loops over the array directly, no iterator is allocated
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        E[] values = array;
+        int end = size;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            action.accept(values[i]);
+        }
+        checkForComodification(expectedModCount);
     }
 
-    private class ArrayListIterator implements Iterator<E> {
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ArrayListSpliterator(0, -1, 0);
+    }
+
+    private class ArrayListIterator implements ListIterator<E> {
         private int index;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        private ArrayListIterator(int index) {
+            this.index = index;
+        }
 
         @Override
         public boolean hasNext() {
@@ -105,21 +256,132 @@ public class ArrayList<E> extends AbstractList<E> implements List<E> {
 
         @Override
         public E next() {
+            checkForComodification(expectedModCount);
             if (!hasNext()) {
                 throw new NoSuchElementException("There is no next element in the list");
             }
+            lastReturned = index;
             return array[index++];
         }
 
+        @Override
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification(expectedModCount);
+            if (!hasPrevious()) {
+                throw new NoSuchElementException("There is no previous element in the list");
+            }
+            lastReturned = --index;
+            return array[index];
+        }
+
+        @Override
+        public int nextIndex() {
+            return index;
+        }
+
+        @Override
+        public int previousIndex() {
+            return index - 1;
+        }
+
         @Override
         public void remove() {
-            if (index == 0) {
+            if (lastReturned < 0) {
                 throw new IllegalStateException("Called remove method without next");
             }
-            ArrayList.this.remove(index - 1);
+            checkForComodification(expectedModCount);
+            ArrayList.this.remove(lastReturned);
+            expectedModCount = modCount;
+            index = lastReturned;
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(E value) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called set method without next or previous");
+            }
+            checkForComodification(expectedModCount);
+            array[lastReturned] = value;
         }
 
+        @Override
+        public void add(E value) {
+            checkForComodification(expectedModCount);
+            lastReturned = -1;
+            if (value != null) {
+                ArrayList.this.add(value, index++);
+                expectedModCount = modCount;
+            }
+        }
+    }
 
+    // splits the index range in halves, the end of the range and the mod count are taken on the first use
+    private class ArrayListSpliterator implements Spliterator<E> {
+        private int index;
+        private int fence;
+        private int expectedModCount;
+
+        private ArrayListSpliterator(int index, int fence, int expectedModCount) {
+            this.index = index;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (index < getFence()) {
+                action.accept(array[index++]);
+                checkForComodification(expectedModCount);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            E[] values = array;
+            int end = getFence();
+            while (index < end) {
+                action.accept(values[index++]);
+            }
+            checkForComodification(expectedModCount);
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int end = getFence();
+            int middle = (index + end) >>> 1;
+            if (index >= middle) {
+                return null;
+            }
+            Spliterator<E> prefix = new ArrayListSpliterator(index, middle, expectedModCount);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                fence = size;
+                expectedModCount = modCount;
+            }
+            return fence;
+        }
     }
 
 
@@ -0,0 +1,227 @@
+package com.luxoft.olshevchenko.list;
+
+import com.luxoft.olshevchenko.queue.Deque;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Array list over a circular buffer, so values are added and removed at both ends in O(1) and get is O(1).
+ * An insert or remove in the middle shifts the shorter side of the list. The capacity is a power of two,
+ * so a physical index is found with a mask.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class CircularArrayList<E> extends AbstractList<E> implements List<E>, Deque<E> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private Object[] array;
+    // physical index of the first value
+    private int head;
+
+    public CircularArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // the capacity is rounded up to a power of two
+    public CircularArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should not be negative, but was " + capacity);
+        }
+        this.array = new Object[capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+    }
+
+
+    @Override
+    public void add(E value, int index) {
+        checkExceedBoundsForAdd(index);
+        if (value == null) {
+            return;
+        }
+        if (size == array.length) {
+            grow();
+        }
+        int mask = array.length - 1;
+        if (index < size / 2) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                array[(head + i) & mask] = array[(head + i + 1) & mask];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                array[(head + i) & mask] = array[(head + i - 1) & mask];
+            }
+        }
+        array[(head + index) & mask] = value;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkExceedBoundsForRemoveGetSet(index);
+        int mask = array.length - 1;
+        E result = elementAt(index);
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--) {
+                array[(head + i) & mask] = array[(head + i - 1) & mask];
+            }
+            array[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                array[(head + i) & mask] = array[(head + i + 1) & mask];
+            }
+            array[(head + size - 1) & mask] = null;
+        }
+        size--;
+        modCount++;
+        return result;
+    }
+
+    @Override
+    public E get(int index) {
+        checkExceedBoundsForRemoveGetSet(index);
+        return elementAt(index);
+    }
+
+    @Override
+    public E set(E value, int index) {
+        checkExceedBoundsForRemoveGetSet(index);
+        E result = elementAt(index);
+        array[(head + index) & (array.length - 1)] = value;
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(array, null);
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(E value) {
+        for (int i = 0; i < size; i++) {
+            E element = elementAt(i);
+            if (element != null && element.equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E value) {
+        for (int i = size - 1; i >= 0; i--) {
+            E element = elementAt(i);
+            if (element != null && element.equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void addFirst(E value) {
+        add(value, 0);
+    }
+
+    @Override
+    public void addLast(E value) {
+        add(value, size);
+    }
+
+    @Override
+    public boolean offerFirst(E value) {
+        addFirst(value);
+        return value != null;
+    }
+
+    @Override
+    public boolean offerLast(E value) {
+        addLast(value);
+        return value != null;
+    }
+
+    @Override
+    public E removeFirst() {
+        checkNotEmpty();
+        return remove(0);
+    }
+
+    @Override
+    public E removeLast() {
+        checkNotEmpty();
+        return remove(size - 1);
+    }
+
+    @Override
+    public E pollFirst() {
+        return size == 0 ? null : remove(0);
+    }
+
+    @Override
+    public E pollLast() {
+        return size == 0 ? null : remove(size - 1);
+    }
+
+    @Override
+    public E peekFirst() {
+        return size == 0 ? null : elementAt(0);
+    }
+
+    @Override
+    public E peekLast() {
+        return size == 0 ? null : elementAt(size - 1);
+    }
+
+    @Override
+    public int drainTo(List<? super E> list, int maxElements) {
+        if (list == this) {
+            throw new IllegalArgumentException("Can not drain the list into itself");
+        }
+        int count = Math.min(Math.max(maxElements, 0), size);
+        for (int i = 0; i < count; i++) {
+            list.add(pollFirst());
+        }
+        return count;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return listIterator();
+    }
+
+    // loops over the buffer directly, no iterator is allocated
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < size && modCount == expectedModCount; i++) {
+            action.accept(elementAt(i));
+        }
+        checkForComodification(expectedModCount);
+    }
+
+
+    // unwraps the values to the start of a twice larger array
+    private void grow() {
+        Object[] newArray = new Object[array.length * 2];
+        int firstPart = Math.min(size, array.length - head);
+        System.arraycopy(array, head, newArray, 0, firstPart);
+        System.arraycopy(array, 0, newArray, firstPart, size - firstPart);
+        array = newArray;
+        head = 0;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("The list is empty");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) array[(head + index) & (array.length - 1)];
+    }
+}
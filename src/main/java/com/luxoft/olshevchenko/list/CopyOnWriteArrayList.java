@@ -0,0 +1,373 @@
+package com.luxoft.olshevchenko.list;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static com.luxoft.olshevchenko.list.AbstractList.*;
+
+/**
+ * Thread-safe array list for read-mostly data. Every change copies the array under a lock and publishes the copy
+ * through a volatile field, so reads never lock and iterators walk the snapshot taken when they were created.
+ * Changes through an iterator are applied to the list only if nobody changed it since the snapshot,
+ * otherwise they throw ConcurrentModificationException.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class CopyOnWriteArrayList<E> implements List<E> {
+    private final Object lock = new Object();
+    private volatile Object[] array = new Object[0];
+
+    public CopyOnWriteArrayList() {
+    }
+
+    public CopyOnWriteArrayList(Iterable<E> values) {
+        addAll(values);
+    }
+
+
+    @Override
+    public void add(E value) {
+        if (value == null) {
+            return;
+        }
+        synchronized (lock) {
+            Object[] values = array;
+            Object[] newValues = Arrays.copyOf(values, values.length + 1);
+            newValues[values.length] = value;
+            array = newValues;
+        }
+    }
+
+    @Override
+    public void add(E value, int index) {
+        synchronized (lock) {
+            Object[] values = array;
+            checkExceedBoundsForAdd(index, values.length);
+            if (value != null) {
+                Object[] newValues = new Object[values.length + 1];
+                System.arraycopy(values, 0, newValues, 0, index);
+                newValues[index] = value;
+                System.arraycopy(values, index, newValues, index + 1, values.length - index);
+                array = newValues;
+            }
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        synchronized (lock) {
+            Object[] values = array;
+            checkExceedBoundsForRemoveGetSet(index, values.length);
+            E result = elementAt(values, index);
+            Object[] newValues = new Object[values.length - 1];
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+            array = newValues;
+            return result;
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        Object[] values = array;
+        checkExceedBoundsForRemoveGetSet(index, values.length);
+        return elementAt(values, index);
+    }
+
+    @Override
+    public E set(E value, int index) {
+        synchronized (lock) {
+            Object[] values = array;
+            checkExceedBoundsForRemoveGetSet(index, values.length);
+            E result = elementAt(values, index);
+            Object[] newValues = values.clone();
+            newValues[index] = value;
+            array = newValues;
+            return result;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            array = new Object[0];
+        }
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    @Override
+    public boolean contains(E value) {
+        return indexOf(value) != -1;
+    }
+
+    @Override
+    public int indexOf(E value) {
+        Object[] values = array;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && values[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E value) {
+        Object[] values = array;
+        for (int i = values.length - 1; i >= 0; i--) {
+            if (values[i] != null && values[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void addAll(Iterable<E> values) {
+        Object[] valuesToAdd = toArrayWithoutNulls(values);
+        synchronized (lock) {
+            insertAll(valuesToAdd, array.length);
+        }
+    }
+
+    @Override
+    public void addAll(Iterable<E> values, int index) {
+        Object[] valuesToAdd = toArrayWithoutNulls(values);
+        synchronized (lock) {
+            checkExceedBoundsForAdd(index, array.length);
+            insertAll(valuesToAdd, index);
+        }
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        synchronized (lock) {
+            Object[] values = array;
+            checkExceedBoundsForRemoveRange(fromIndex, toIndex, values.length);
+            if (fromIndex == toIndex) {
+                return;
+            }
+            Object[] newValues = new Object[values.length - (toIndex - fromIndex)];
+            System.arraycopy(values, 0, newValues, 0, fromIndex);
+            System.arraycopy(values, toIndex, newValues, fromIndex, values.length - toIndex);
+            array = newValues;
+        }
+    }
+
+    // the filter runs while the lock is held
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        synchronized (lock) {
+            Object[] values = array;
+            Object[] kept = new Object[values.length];
+            int count = 0;
+            for (int i = 0; i < values.length; i++) {
+                E value = elementAt(values, i);
+                if (!filter.test(value)) {
+                    kept[count++] = value;
+                }
+            }
+            if (count == values.length) {
+                return false;
+            }
+            array = Arrays.copyOf(kept, count);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean retainAll(List<E> values) {
+        return removeIf(value -> !values.contains(value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> comparator) {
+        synchronized (lock) {
+            Object[] newValues = array.clone();
+            Arrays.sort(newValues, (Comparator<Object>) comparator);
+            array = newValues;
+        }
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new SnapshotIterator(array, 0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        Object[] values = array;
+        checkExceedBoundsForAdd(index, values.length);
+        return new SnapshotIterator(values, index);
+    }
+
+    // each call through the view is atomic, a sequence of them is not
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        checkExceedBoundsForRemoveRange(fromIndex, toIndex, array.length);
+        return new SubList<>(this, fromIndex, toIndex);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        for (Object value : array) {
+            action.accept((E) value);
+        }
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(array, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator(array, 0);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "[", "]");
+        for (Object value : array) {
+            stringJoiner.add(String.valueOf(value));
+        }
+        return stringJoiner.toString();
+    }
+
+
+    // called with the lock held
+    private void insertAll(Object[] valuesToAdd, int index) {
+        if (valuesToAdd.length == 0) {
+            return;
+        }
+        Object[] values = array;
+        Object[] newValues = new Object[values.length + valuesToAdd.length];
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(valuesToAdd, 0, newValues, index, valuesToAdd.length);
+        System.arraycopy(values, index, newValues, index + valuesToAdd.length, values.length - index);
+        array = newValues;
+    }
+
+    // copies the values before taking the lock, which also makes adding the list to itself safe
+    private static Object[] toArrayWithoutNulls(Iterable<?> values) {
+        java.util.ArrayList<Object> result = new java.util.ArrayList<>();
+        for (Object value : values) {
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result.toArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E elementAt(Object[] values, int index) {
+        return (E) values[index];
+    }
+
+
+    private class SnapshotIterator implements ListIterator<E> {
+        private Object[] snapshot;
+        private int cursor;
+        private int lastReturned = -1;
+
+        private SnapshotIterator(Object[] snapshot, int index) {
+            this.snapshot = snapshot;
+            this.cursor = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the list");
+            }
+            lastReturned = cursor;
+            return elementAt(snapshot, cursor++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public E previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException("There is no previous element in the list");
+            }
+            lastReturned = --cursor;
+            return elementAt(snapshot, cursor);
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called remove method without next or previous");
+            }
+            synchronized (lock) {
+                checkSnapshot();
+                CopyOnWriteArrayList.this.remove(lastReturned);
+                snapshot = array;
+            }
+            cursor = lastReturned;
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(E value) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called set method without next or previous");
+            }
+            synchronized (lock) {
+                checkSnapshot();
+                CopyOnWriteArrayList.this.set(value, lastReturned);
+                snapshot = array;
+            }
+        }
+
+        @Override
+        public void add(E value) {
+            lastReturned = -1;
+            if (value == null) {
+                return;
+            }
+            synchronized (lock) {
+                checkSnapshot();
+                CopyOnWriteArrayList.this.add(value, cursor++);
+                snapshot = array;
+            }
+        }
+
+        private void checkSnapshot() {
+            if (array != snapshot) {
+                throw new ConcurrentModificationException("The list was modified after the iterator was created");
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.luxoft.olshevchenko.list;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import static com.luxoft.olshevchenko.list.AbstractList.checkExceedBoundsForAdd;
+import static com.luxoft.olshevchenko.list.AbstractList.checkExceedBoundsForRemoveGetSet;
+
+/**
+ * ArrayList of double values stored in a double[], without boxing.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class DoubleArrayList {
+    private final static int DEFAULT_CAPACITY = 10;
+    private final static double LOAD_FACTOR = 1.5;
+    private double[] array;
+    private int size;
+
+    public DoubleArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DoubleArrayList(int capacity) {
+        this.array = new double[capacity];
+    }
+
+
+    public void add(double value) {
+        add(value, size);
+    }
+
+    public void add(double value, int index) {
+        checkExceedBoundsForAdd(index, size);
+        ensureCapacity();
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+    }
+
+    public double remove(int index) {
+        checkExceedBoundsForRemoveGetSet(index, size);
+        double result = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return result;
+    }
+
+    public double get(int index) {
+        checkExceedBoundsForRemoveGetSet(index, size);
+        return array[index];
+    }
+
+    public double set(double value, int index) {
+        checkExceedBoundsForRemoveGetSet(index, size);
+        double result = array[index];
+        array[index] = value;
+        return result;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(double value) {
+        return indexOf(value) != -1;
+    }
+
+    public int indexOf(double value) {
+        for (int i = 0; i < size; i++) {
+            if (Double.compare(array[i], value) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(double value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Double.compare(array[i], value) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < size; i++) {
+            stringJoiner.add(String.valueOf(array[i]));
+        }
+        return stringJoiner.toString();
+    }
+
+
+    private void ensureCapacity() {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.max((int) (array.length * LOAD_FACTOR), 2));
+        }
+    }
+
+
+}
@@ -0,0 +1,178 @@
+package com.luxoft.olshevchenko.list;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Array list which keeps its free space as a gap at the position of the last change. Values before the gap
+ * sit at the start of the array and values after it at the end, so a change at the gap costs O(1), and moving
+ * the gap costs only the distance it moves. Repeated inserts and removes around one position, as in a text
+ * editor, never shift the rest of the list. get is O(1).
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class GapBufferList<E> extends AbstractList<E> implements List<E> {
+    private final static int DEFAULT_CAPACITY = 10;
+    private final static double LOAD_FACTOR = 1.5;
+    private Object[] array;
+    // the gap is [gapStart, gapEnd)
+    private int gapStart;
+    private int gapEnd;
+
+    public GapBufferList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GapBufferList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should not be negative, but was " + capacity);
+        }
+        this.array = new Object[capacity];
+        this.gapEnd = capacity;
+    }
+
+
+    @Override
+    public void add(E value, int index) {
+        checkExceedBoundsForAdd(index);
+        if (value == null) {
+            return;
+        }
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        moveGap(index);
+        array[gapStart++] = value;
+        size++;
+        modCount++;
+    }
+
+    // the removed value becomes part of the gap
+    @Override
+    public E remove(int index) {
+        checkExceedBoundsForRemoveGetSet(index);
+        moveGap(index);
+        E result = elementAtPhysical(gapEnd);
+        array[gapEnd++] = null;
+        size--;
+        modCount++;
+        return result;
+    }
+
+    @Override
+    public E get(int index) {
+        checkExceedBoundsForRemoveGetSet(index);
+        return elementAtPhysical(physicalIndex(index));
+    }
+
+    @Override
+    public E set(E value, int index) {
+        checkExceedBoundsForRemoveGetSet(index);
+        int physicalIndex = physicalIndex(index);
+        E result = elementAtPhysical(physicalIndex);
+        array[physicalIndex] = value;
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(array, null);
+        gapStart = 0;
+        gapEnd = array.length;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(E value) {
+        for (int i = 0; i < size; i++) {
+            E element = elementAtPhysical(physicalIndex(i));
+            if (element != null && element.equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E value) {
+        for (int i = size - 1; i >= 0; i--) {
+            E element = elementAtPhysical(physicalIndex(i));
+            if (element != null && element.equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // the range is removed by widening the gap over it
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        checkExceedBoundsForRemoveRange(fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        moveGap(fromIndex);
+        int count = toIndex - fromIndex;
+        Arrays.fill(array, gapEnd, gapEnd + count, null);
+        gapEnd += count;
+        size -= count;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return listIterator();
+    }
+
+    // loops over both parts of the array directly, no iterator is allocated
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < gapStart && modCount == expectedModCount; i++) {
+            action.accept(elementAtPhysical(i));
+        }
+        for (int i = gapEnd; i < array.length && modCount == expectedModCount; i++) {
+            action.accept(elementAtPhysical(i));
+        }
+        checkForComodification(expectedModCount);
+    }
+
+
+    private int physicalIndex(int index) {
+        return index < gapStart ? index : index + gapEnd - gapStart;
+    }
+
+    // shifts the values between the gap and the index to the other side of the gap
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(array, index, array, gapEnd - count, count);
+            Arrays.fill(array, index, Math.min(gapStart, gapEnd - count), null);
+            gapStart = index;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(array, gapEnd, array, gapStart, count);
+            Arrays.fill(array, Math.max(gapEnd, index), gapEnd + count, null);
+            gapStart = index;
+            gapEnd += count;
+        }
+    }
+
+    // keeps the gap where it is and makes it as large as the values after it need
+    private void grow() {
+        int newLength = Math.max((int) (array.length * LOAD_FACTOR), array.length + 2);
+        Object[] newArray = new Object[newLength];
+        int tailLength = array.length - gapEnd;
+        System.arraycopy(array, 0, newArray, 0, gapStart);
+        System.arraycopy(array, gapEnd, newArray, newLength - tailLength, tailLength);
+        array = newArray;
+        gapEnd = newLength - tailLength;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAtPhysical(int physicalIndex) {
+        return (E) array[physicalIndex];
+    }
+}
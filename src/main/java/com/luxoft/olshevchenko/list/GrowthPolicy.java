@@ -0,0 +1,55 @@
+package com.luxoft.olshevchenko.list;
+
+/**
+ * Decides how large the backing array of a list grows when it runs out of room.
+ *
+ * @author Oleksandr Shevchenko
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+    // some JVMs reserve a few header words in an array
+    int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    // the new capacity, at least minCapacity
+    // throw new OutOfMemoryError if minCapacity is above MAX_ARRAY_LENGTH
+    int newCapacity(int currentCapacity, int minCapacity);
+
+    // multiplies the capacity by factor, so appends are amortized O(1)
+    static GrowthPolicy geometric(double factor) {
+        checkFactor(factor);
+        return (currentCapacity, minCapacity) -> clamp((long) (currentCapacity * factor), minCapacity);
+    }
+
+    // adds step slots at a time, for lists which grow slowly and must not waste memory, appends are O(n)
+    static GrowthPolicy fixedStep(int step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step should be positive, but was " + step);
+        }
+        return (currentCapacity, minCapacity) -> clamp((long) currentCapacity + step, minCapacity);
+    }
+
+    // geometric, but never more than maxOvershoot slots above minCapacity, for huge arrays
+    // where a factor of the capacity is too much memory to leave unused
+    static GrowthPolicy boundedOvershoot(double factor, int maxOvershoot) {
+        checkFactor(factor);
+        if (maxOvershoot <= 0) {
+            throw new IllegalArgumentException("Max overshoot should be positive, but was " + maxOvershoot);
+        }
+        return (currentCapacity, minCapacity) ->
+                clamp(Math.min((long) (currentCapacity * factor), (long) minCapacity + maxOvershoot), minCapacity);
+    }
+
+    private static void checkFactor(double factor) {
+        if (!(factor > 1)) {
+            throw new IllegalArgumentException("Factor should be greater than 1, but was " + factor);
+        }
+    }
+
+    // at least two slots, so that small arrays do not grow one slot at a time
+    private static int clamp(long capacity, int minCapacity) {
+        if (minCapacity > MAX_ARRAY_LENGTH || minCapacity < 0) {
+            throw new OutOfMemoryError("Required array length " + minCapacity + " is too large");
+        }
+        return (int) Math.min(Math.max(Math.max(capacity, 2), minCapacity), MAX_ARRAY_LENGTH);
+    }
+}
@@ -0,0 +1,116 @@
+package com.luxoft.olshevchenko.list;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import static com.luxoft.olshevchenko.list.AbstractList.checkExceedBoundsForAdd;
+import static com.luxoft.olshevchenko.list.AbstractList.checkExceedBoundsForRemoveGetSet;
+
+/**
+ * ArrayList of int values stored in an int[], without boxing.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class IntArrayList {
+    private final static int DEFAULT_CAPACITY = 10;
+    private final static double LOAD_FACTOR = 1.5;
+    private int[] array;
+    private int size;
+
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntArrayList(int capacity) {
+        this.array = new int[capacity];
+    }
+
+
+    public void add(int value) {
+        add(value, size);
+    }
+
+    public void add(int value, int index) {
+        checkExceedBoundsForAdd(index, size);
+        ensureCapacity();
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+    }
+
+    public int remove(int index) {
+        checkExceedBoundsForRemoveGetSet(index, size);
+        int result = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return result;
+    }
+
+    public int get(int index) {
+        checkExceedBoundsForRemoveGetSet(index, size);
+        return array[index];
+    }
+
+    public int set(int value, int index) {
+        checkExceedBoundsForRemoveGetSet(index, size);
+        int result = array[index];
+        array[index] = value;
+        return result;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+        return indexOf(value) != -1;
+    }
+
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(int value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < size; i++) {
+            stringJoiner.add(String.valueOf(array[i]));
+        }
+        return stringJoiner.toString();
+    }
+
+
+    private void ensureCapacity() {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.max((int) (array.length * LOAD_FACTOR), 2));
+        }
+    }
+
+
+}
@@ -1,11 +1,18 @@
 package com.luxoft.olshevchenko.list;
 
+import com.luxoft.olshevchenko.queue.Deque;
+
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
+ * Doubly linked list, which is also an O(1) deque at both ends. It is not thread-safe,
+ * use the classes from the queue package to pass values between threads.
+ *
  * @author Oleksandr Shevchenko
  */
-public class LinkedList<E> extends AbstractList<E> implements List<E>{
+public class LinkedList<E> extends AbstractList<E> implements List<E>, Deque<E> {
     private Node<E> head;
     private Node<E> tail;
 
@@ -13,28 +20,81 @@ public class LinkedList<E> extends AbstractList<E> implements List<E>{
     @Override
     public void add(E value, int index) {
         checkExceedBoundsForAdd(index);
-        Node<E> newNode = new Node<>(value);
         if (value != null) {
-            if (head == null) {
-                head = tail = newNode;
-            } else if (index == 0) {
-                head.prev = newNode;
-                newNode.next = head;
-                head = newNode;
-            } else if (index == size) {
-                tail.next = newNode;
-                newNode.prev = tail;
-                tail = newNode;
-                tail.next = null;
-            } else {
-                Node<E> prev = getNode(index - 1);
-                prev.next.prev = newNode;
-                newNode.next = prev.next;
-                newNode.prev = prev;
-                prev.next = newNode;
+            linkBefore(value, index == size ? null : getNode(index));
+        }
+    }
+
+    // builds the new nodes into a separate chain and splices it in with a single lookup
+    @Override
+    public void addAll(Iterable<E> values, int index) {
+        checkExceedBoundsForAdd(index);
+        Node<E> first = null;
+        Node<E> last = null;
+        int count = 0;
+        for (E value : values) {
+            if (value != null) {
+                Node<E> newNode = new Node<>(value);
+                if (first == null) {
+                    first = newNode;
+                } else {
+                    last.next = newNode;
+                    newNode.prev = last;
+                }
+                last = newNode;
+                count++;
             }
-                size++;
         }
+        if (count == 0) {
+            return;
+        }
+        Node<E> nextNode = index == size ? null : getNode(index);
+        Node<E> prevNode = nextNode == null ? tail : nextNode.prev;
+        first.prev = prevNode;
+        last.next = nextNode;
+        if (prevNode == null) {
+            head = first;
+        } else {
+            prevNode.next = first;
+        }
+        if (nextNode == null) {
+            tail = last;
+        } else {
+            nextNode.prev = last;
+        }
+        size += count;
+        modCount++;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        checkExceedBoundsForRemoveRange(fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        Node<E> first = getNode(fromIndex);
+        Node<E> last = first;
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            last = last.next;
+        }
+        unlinkChain(first, last);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        boolean removed = false;
+        Node<E> currentNode = head;
+        while (currentNode != null) {
+            Node<E> nextNode = currentNode.next;
+            if (filter.test(currentNode.value)) {
+                removeNode(currentNode);
+                removed = true;
+            }
+            currentNode = nextNode;
+        }
+        return removed;
     }
 
     @Override
@@ -55,15 +115,107 @@ public class LinkedList<E> extends AbstractList<E> implements List<E>{
     @Override
     public E set(E value, int index) {
         checkExceedBoundsForRemoveGetSet(index);
-        Node<E> result = getNode(index);
-        result.value = value;
-        return result.value;
+        Node<E> node = getNode(index);
+        E result = node.value;
+        node.value = value;
+        return result;
     }
 
     @Override
     public void clear() {
         head = tail = null;
         size = 0;
+        modCount++;
+    }
+
+    @Override
+    public void addFirst(E value) {
+        if (value != null) {
+            linkBefore(value, head);
+        }
+    }
+
+    @Override
+    public void addLast(E value) {
+        if (value != null) {
+            linkBefore(value, null);
+        }
+    }
+
+    @Override
+    public boolean offerFirst(E value) {
+        addFirst(value);
+        return value != null;
+    }
+
+    @Override
+    public boolean offerLast(E value) {
+        addLast(value);
+        return value != null;
+    }
+
+    @Override
+    public E removeFirst() {
+        checkNotEmpty();
+        return pollFirst();
+    }
+
+    @Override
+    public E removeLast() {
+        checkNotEmpty();
+        return pollLast();
+    }
+
+    @Override
+    public E pollFirst() {
+        if (head == null) {
+            return null;
+        }
+        Node<E> first = head;
+        removeNode(first);
+        return first.value;
+    }
+
+    @Override
+    public E pollLast() {
+        if (tail == null) {
+            return null;
+        }
+        Node<E> last = tail;
+        removeNode(last);
+        return last.value;
+    }
+
+    @Override
+    public E peekFirst() {
+        return head == null ? null : head.value;
+    }
+
+    @Override
+    public E peekLast() {
+        return tail == null ? null : tail.value;
+    }
+
+    // the drained nodes are unlinked as one chain
+    @Override
+    public int drainTo(List<? super E> list, int maxElements) {
+        if (list == this) {
+            throw new IllegalArgumentException("Can not drain the list into itself");
+        }
+        int count = Math.min(Math.max(maxElements, 0), size);
+        if (count == 0) {
+            return 0;
+        }
+        Node<E> last = head;
+        list.add(last.value);
+        for (int i = 1; i < count; i++) {
+            last = last.next;
+            list.add(last.value);
+        }
+        unlinkChain(head, last);
+        size -= count;
+        modCount++;
+        return count;
     }
 
     @Override
@@ -91,20 +243,141 @@ public class LinkedList<E> extends AbstractList<E> implements List<E>{
     }
 
 
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("The list is empty");
+        }
+    }
+
+    // bottom-up merge sort which relinks the nodes, so it is stable and needs no extra memory
+    @Override
+    public void sort(Comparator<? super E> comparator) {
+        Comparator<? super E> order = orNaturalOrder(comparator);
+        modCount++;
+        if (size < 2) {
+            return;
+        }
+        for (int width = 1; ; width *= 2) {
+            Node<E> left = head;
+            Node<E> last = null;
+            int merges = 0;
+            head = null;
+            while (left != null) {
+                merges++;
+                Node<E> right = left;
+                int leftSize = 0;
+                for (int i = 0; i < width && right != null; i++) {
+                    leftSize++;
+                    right = right.next;
+                }
+                int rightSize = width;
+                // on equal values the left run goes first
+                while (leftSize > 0 || (rightSize > 0 && right != null)) {
+                    Node<E> node;
+                    if (leftSize == 0) {
+                        node = right;
+                        right = right.next;
+                        rightSize--;
+                    } else if (rightSize == 0 || right == null || order.compare(left.value, right.value) <= 0) {
+                        node = left;
+                        left = left.next;
+                        leftSize--;
+                    } else {
+                        node = right;
+                        right = right.next;
+                        rightSize--;
+                    }
+                    if (last == null) {
+                        head = node;
+                    } else {
+                        last.next = node;
+                    }
+                    node.prev = last;
+                    last = node;
+                }
+                left = right;
+            }
+            last.next = null;
+            tail = last;
+            if (merges == 1) {
+                return;
+            }
+        }
+    }
+
+    // moves a list iterator instead of calling get, so the search walks O(n) nodes in total
+    @Override
+    public int binarySearch(E value, Comparator<? super E> comparator) {
+        Comparator<? super E> order = orNaturalOrder(comparator);
+        ListIterator<E> iterator = listIterator();
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compareResult = order.compare(moveTo(iterator, middle), value);
+            if (compareResult < 0) {
+                low = middle + 1;
+            } else if (compareResult > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static <E> E moveTo(ListIterator<E> iterator, int index) {
+        E value;
+        int position = iterator.nextIndex();
+        if (position <= index) {
+            do {
+                value = iterator.next();
+            } while (position++ < index);
+        } else {
+            do {
+                value = iterator.previous();
+            } while (--position > index);
+        }
+        return value;
+    }
+
+    // walks from whichever end is nearer to the index
     private Node<E> getNode(int index) {
-        Node<E> currentNode = head;
-        if (index < size / 2){
+        Node<E> currentNode;
+        if (index < size / 2) {
+            currentNode = head;
             for (int i = 0; i < index; i++) {
                 currentNode = currentNode.next;
             }
-        }
-        currentNode = tail;
-        for (int i = size - 1; i > index; i--) {
-            currentNode = currentNode.prev;
+        } else {
+            currentNode = tail;
+            for (int i = size - 1; i > index; i--) {
+                currentNode = currentNode.prev;
+            }
         }
         return currentNode;
     }
 
+    // links a new node before the given one, or at the end if it is null
+    private void linkBefore(E value, Node<E> nextNode) {
+        Node<E> newNode = new Node<>(value);
+        Node<E> prevNode = nextNode == null ? tail : nextNode.prev;
+        newNode.prev = prevNode;
+        newNode.next = nextNode;
+        if (prevNode == null) {
+            head = newNode;
+        } else {
+            prevNode.next = newNode;
+        }
+        if (nextNode == null) {
+            tail = newNode;
+        } else {
+            nextNode.prev = newNode;
+        }
+        size++;
+        modCount++;
+    }
+
     private void removeNode(Node<E> nodeToRemove) {
         if (size == 1) {
             head = tail = null;
@@ -119,42 +392,136 @@ public class LinkedList<E> extends AbstractList<E> implements List<E>{
             nodeToRemove.next.prev = nodeToRemove.prev;
         }
         size--;
+        modCount++;
     }
 
 
+    private void unlinkChain(Node<E> first, Node<E> last) {
+        if (first.prev == null) {
+            head = last.next;
+        } else {
+            first.prev.next = last.next;
+        }
+        if (last.next == null) {
+            tail = first.prev;
+        } else {
+            last.next.prev = first.prev;
+        }
+    }
+
+
+    // walks the nodes directly, no iterator is allocated
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (Node<E> node = head; node != null && modCount == expectedModCount; node = node.next) {
+            action.accept(node.value);
+        }
+        checkForComodification(expectedModCount);
+    }
+
     @Override
     public Iterator<E> iterator() {
-        return new LinkedListIterator();
+        return new LinkedListIterator(0);
     }
 
-    private class LinkedListIterator implements Iterator<E> {
-        private Node<E> currentNode = head;
-        private Node<E> nodeToRemove;
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        checkExceedBoundsForAdd(index);
+        return new LinkedListIterator(index);
+    }
+
+    // keeps a node cursor, so every operation at the cursor is O(1)
+    private class LinkedListIterator implements ListIterator<E> {
+        private Node<E> nextNode;
+        private Node<E> lastReturned;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        private LinkedListIterator(int index) {
+            this.nextNode = index == size ? null : getNode(index);
+            this.nextIndex = index;
+        }
 
         @Override
         public boolean hasNext() {
-            return currentNode != null;
+            return nextIndex < size;
         }
 
         @Override
         public E next() {
+            checkForComodification(expectedModCount);
             if (!hasNext()) {
                 throw new NoSuchElementException("There is no next element in the list");
             }
-            E value = currentNode.value;
-            nodeToRemove = currentNode;
-            currentNode = currentNode.next;
-            return value;
+            lastReturned = nextNode;
+            nextNode = nextNode.next;
+            nextIndex++;
+            return lastReturned.value;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification(expectedModCount);
+            if (!hasPrevious()) {
+                throw new NoSuchElementException("There is no previous element in the list");
+            }
+            nextNode = nextNode == null ? tail : nextNode.prev;
+            lastReturned = nextNode;
+            nextIndex--;
+            return lastReturned.value;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
         }
 
         @Override
         public void remove() {
-            if (nodeToRemove == null) {
+            if (lastReturned == null) {
                 throw new IllegalStateException("Called remove method without next");
             }
-            removeNode(nodeToRemove);
+            checkForComodification(expectedModCount);
+            if (nextNode == lastReturned) {
+                nextNode = lastReturned.next;
+            } else {
+                nextIndex--;
+            }
+            removeNode(lastReturned);
+            expectedModCount = modCount;
+            lastReturned = null;
+        }
+
+        @Override
+        public void set(E value) {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Called set method without next or previous");
+            }
+            checkForComodification(expectedModCount);
+            lastReturned.value = value;
         }
 
+        @Override
+        public void add(E value) {
+            checkForComodification(expectedModCount);
+            lastReturned = null;
+            if (value != null) {
+                linkBefore(value, nextNode);
+                nextIndex++;
+                expectedModCount = modCount;
+            }
+        }
     }
 
     private static class Node<E> {
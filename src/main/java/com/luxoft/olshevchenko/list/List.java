@@ -1,5 +1,13 @@
 package com.luxoft.olshevchenko.list;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * @author Oleksandr Shevchenko
  */
@@ -44,6 +52,85 @@ public interface List<E> extends Iterable<E>{
     // [A, B, A, C] lastIndexOf(A) -> 2
     int lastIndexOf(E value);
 
+    // add all non-null values to the end of the list, in iteration order
+    void addAll(Iterable<E> values);
+
+    // [A, B, C] addAll([D, E], 1) => [A, D, E, B, C]
+    // we can add values by index between [0, size]
+    // otherwise throw new IndexOutOfBoundsException
+    void addAll(Iterable<E> values, int index);
+
+    // [A, B, C, D] removeRange(1, 3) => [A, D]
+    // removes [fromIndex, toIndex), 0 <= fromIndex <= toIndex <= size
+    // otherwise throw new IndexOutOfBoundsException
+    void removeRange(int fromIndex, int toIndex);
+
+    // removes all values matching the filter, true if anything was removed
+    boolean removeIf(Predicate<? super E> filter);
+
+    // keeps only the values contained in the given list, true if anything was removed
+    boolean retainAll(List<E> values);
+
+    ListIterator<E> listIterator();
+
+    // iterator positioned before the value at index, index between [0, size]
+    // otherwise throw new IndexOutOfBoundsException
+    ListIterator<E> listIterator(int index);
+
+    // [A, B, C, D] subList(1, 3) => [B, C]
+    // view backed by this list, changes through the view are visible in this list and vice versa
+    // 0 <= fromIndex <= toIndex <= size, otherwise throw new IndexOutOfBoundsException
+    List<E> subList(int fromIndex, int toIndex);
+
+    // stable sort, a null comparator sorts by the natural ordering
+    // the values are sorted in an array and written back, lists with their own storage override it
+    @SuppressWarnings("unchecked")
+    default void sort(Comparator<? super E> comparator) {
+        Object[] values = new Object[size()];
+        int index = 0;
+        for (E value : this) {
+            values[index++] = value;
+        }
+        Arrays.sort(values, (Comparator<Object>) comparator);
+        ListIterator<E> iterator = listIterator();
+        for (Object value : values) {
+            iterator.next();
+            iterator.set((E) value);
+        }
+    }
+
+    // the list must be sorted by the comparator, a null comparator means the natural ordering
+    // [A, C, E] binarySearch(C) => 1, binarySearch(D) => -3, that is -(insertion point) - 1
+    default int binarySearch(E value, Comparator<? super E> comparator) {
+        Comparator<? super E> order = AbstractList.orNaturalOrder(comparator);
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compareResult = order.compare(get(middle), value);
+            if (compareResult < 0) {
+                low = middle + 1;
+            } else if (compareResult > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // SIZED and ORDERED, lists with constant time index access also split into exact halves
+    @Override
+    Spliterator<E> spliterator();
+
+    default Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     // [A, B, C]
     String toString();
 }
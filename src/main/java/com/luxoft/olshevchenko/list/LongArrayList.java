@@ -0,0 +1,116 @@
+package com.luxoft.olshevchenko.list;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import static com.luxoft.olshevchenko.list.AbstractList.checkExceedBoundsForAdd;
+import static com.luxoft.olshevchenko.list.AbstractList.checkExceedBoundsForRemoveGetSet;
+
+/**
+ * ArrayList of long values stored in a long[], without boxing.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class LongArrayList {
+    private final static int DEFAULT_CAPACITY = 10;
+    private final static double LOAD_FACTOR = 1.5;
+    private long[] array;
+    private int size;
+
+    public LongArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongArrayList(int capacity) {
+        this.array = new long[capacity];
+    }
+
+
+    public void add(long value) {
+        add(value, size);
+    }
+
+    public void add(long value, int index) {
+        checkExceedBoundsForAdd(index, size);
+        ensureCapacity();
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+    }
+
+    public long remove(int index) {
+        checkExceedBoundsForRemoveGetSet(index, size);
+        long result = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return result;
+    }
+
+    public long get(int index) {
+        checkExceedBoundsForRemoveGetSet(index, size);
+        return array[index];
+    }
+
+    public long set(long value, int index) {
+        checkExceedBoundsForRemoveGetSet(index, size);
+        long result = array[index];
+        array[index] = value;
+        return result;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long value) {
+        return indexOf(value) != -1;
+    }
+
+    public int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(long value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < size; i++) {
+            stringJoiner.add(String.valueOf(array[i]));
+        }
+        return stringJoiner.toString();
+    }
+
+
+    private void ensureCapacity() {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.max((int) (array.length * LOAD_FACTOR), 2));
+        }
+    }
+
+
+}
@@ -0,0 +1,204 @@
+package com.luxoft.olshevchenko.list;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Array list keeping its values as fixed size records in native memory, encoded by a {@link RecordCodec}.
+ * Records live in direct buffers of equal size. Growing adds another buffer and never copies the existing
+ * ones, so the heap only holds the buffer references. Inserts and removes shift the records with one bulk
+ * copy per segment. {@link #close()} drops the buffers, and their memory is freed once they are garbage collected.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class OffHeapArrayList<E> extends AbstractList<E> implements List<E>, AutoCloseable {
+    private final static int DEFAULT_RECORDS_PER_SEGMENT = 1 << 16;
+
+    private final RecordCodec<E> codec;
+    private final int recordSize;
+    private final int recordsPerSegment;
+    private final ByteBuffer valueBuffer;
+    private ByteBuffer[] segments = new ByteBuffer[0];
+    private boolean closed;
+
+    public OffHeapArrayList(RecordCodec<E> codec) {
+        this(codec, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    public OffHeapArrayList(RecordCodec<E> codec, int recordsPerSegment) {
+        if (recordsPerSegment <= 0 || (long) recordsPerSegment * codec.recordSize() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment of " + recordsPerSegment + " records does not fit into a buffer");
+        }
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        this.recordsPerSegment = recordsPerSegment;
+        this.valueBuffer = ByteBuffer.allocate(recordSize);
+    }
+
+
+    @Override
+    public void add(E value, int index) {
+        ensureOpen();
+        checkExceedBoundsForAdd(index);
+        if (value != null) {
+            // encoded before anything is shifted, so a value the codec rejects leaves the list intact
+            codec.write(valueBuffer, 0, value);
+            ensureCapacity(size + 1);
+            moveRecords(index, index + 1, size - index);
+            segment(index).put(offset(index), valueBuffer.array());
+            size++;
+            modCount++;
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        ensureOpen();
+        checkExceedBoundsForRemoveGetSet(index);
+        E result = codec.read(segment(index), offset(index));
+        moveRecords(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        return result;
+    }
+
+    @Override
+    public E get(int index) {
+        ensureOpen();
+        checkExceedBoundsForRemoveGetSet(index);
+        return codec.read(segment(index), offset(index));
+    }
+
+    @Override
+    public E set(E value, int index) {
+        ensureOpen();
+        checkExceedBoundsForRemoveGetSet(index);
+        ByteBuffer segment = segment(index);
+        int offset = offset(index);
+        E result = codec.read(segment, offset);
+        codec.write(segment, offset, value);
+        return result;
+    }
+
+    // reads a field of the record in place, without decoding the whole value
+    public int getInt(int index, int fieldOffset) {
+        ensureOpen();
+        checkExceedBoundsForRemoveGetSet(index);
+        return segment(index).getInt(offset(index) + fieldOffset);
+    }
+
+    public long getLong(int index, int fieldOffset) {
+        ensureOpen();
+        checkExceedBoundsForRemoveGetSet(index);
+        return segment(index).getLong(offset(index) + fieldOffset);
+    }
+
+    public double getDouble(int index, int fieldOffset) {
+        ensureOpen();
+        checkExceedBoundsForRemoveGetSet(index);
+        return segment(index).getDouble(offset(index) + fieldOffset);
+    }
+
+    @Override
+    public void clear() {
+        ensureOpen();
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(E value) {
+        ensureOpen();
+        for (int i = 0; i < size; i++) {
+            if (codec.read(segment(i), offset(i)).equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E value) {
+        ensureOpen();
+        for (int i = size - 1; i >= 0; i--) {
+            if (codec.read(segment(i), offset(i)).equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        ensureOpen();
+        return listIterator();
+    }
+
+    // drops the buffers, the list cannot be used afterwards
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        segments = null;
+        size = 0;
+    }
+
+
+    private void ensureCapacity(int minCapacity) {
+        int requiredSegments = (int) (((long) minCapacity + recordsPerSegment - 1) / recordsPerSegment);
+        if (requiredSegments > segments.length) {
+            int oldLength = segments.length;
+            segments = Arrays.copyOf(segments, requiredSegments);
+            for (int i = oldLength; i < requiredSegments; i++) {
+                segments[i] = ByteBuffer.allocateDirect(recordsPerSegment * recordSize);
+            }
+        }
+    }
+
+    // moves count records, overlapping ranges included, in chunks that stay within one segment on both sides
+    private void moveRecords(int fromIndex, int toIndex, int count) {
+        if (toIndex > fromIndex) {
+            // copied from the end, so that the records are not overwritten before they are moved
+            for (int remaining = count; remaining > 0; ) {
+                int sourceEnd = fromIndex + remaining;
+                int targetEnd = toIndex + remaining;
+                int chunk = Math.min(remaining, Math.min((sourceEnd - 1) % recordsPerSegment,
+                        (targetEnd - 1) % recordsPerSegment) + 1);
+                copyRecords(sourceEnd - chunk, targetEnd - chunk, chunk);
+                remaining -= chunk;
+            }
+        } else {
+            for (int moved = 0; moved < count; ) {
+                int source = fromIndex + moved;
+                int target = toIndex + moved;
+                int chunk = Math.min(count - moved, recordsPerSegment - Math.max(source % recordsPerSegment,
+                        target % recordsPerSegment));
+                copyRecords(source, target, chunk);
+                moved += chunk;
+            }
+        }
+    }
+
+    // within one segment the ranges may overlap, the absolute bulk put copies as if through a temporary buffer
+    private void copyRecords(int fromIndex, int toIndex, int count) {
+        segment(toIndex).put(offset(toIndex), segment(fromIndex), offset(fromIndex), count * recordSize);
+    }
+
+    private ByteBuffer segment(int index) {
+        return segments[index / recordsPerSegment];
+    }
+
+    private int offset(int index) {
+        return (index % recordsPerSegment) * recordSize;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("The list is closed");
+        }
+    }
+
+
+}
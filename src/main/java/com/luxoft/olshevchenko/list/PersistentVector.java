@@ -0,0 +1,237 @@
+package com.luxoft.olshevchenko.list;
+
+import java.util.*;
+
+/**
+ * Immutable list whose add, set and removeLast return a new version and leave this one intact.
+ * Values live in a trie of 32-way nodes, and a new version copies only the nodes on the path to the changed
+ * value, sharing everything else with the old one, so updates are O(log32 n). The last values are kept in a
+ * separate tail array, so appending mostly copies just the tail. Versions can be shared between threads freely.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class PersistentVector<E> implements Iterable<E> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    // bits to shift an index by to get the slot in the root
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    public static <E> PersistentVector<E> of(Iterable<E> values) {
+        PersistentVector<E> vector = empty();
+        for (E value : values) {
+            vector = vector.add(value);
+        }
+        return vector;
+    }
+
+
+    // null values are ignored, like in the other lists
+    public PersistentVector<E> add(E value) {
+        if (value == null) {
+            return this;
+        }
+        if (size - getTailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        // the tail is full, it goes into the trie and a new tail is started
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{value});
+    }
+
+    public PersistentVector<E> set(E value, int index) {
+        AbstractList.checkExceedBoundsForRemoveGetSet(index, size);
+        if (value == null) {
+            return this;
+        }
+        if (index >= getTailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, setInNode(shift, root, index, value), tail);
+    }
+
+    public PersistentVector<E> removeLast() {
+        if (size == 0) {
+            throw new IllegalStateException("The vector is empty");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - getTailOffset() > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        // the tail becomes empty, the last leaf of the trie is taken back as the tail
+        Object[] newTail = getLeaf(size - 2);
+        Object[] newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        AbstractList.checkExceedBoundsForRemoveGetSet(index, size);
+        return (E) getLeaf(index)[index & MASK];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "[", "]");
+        for (E value : this) {
+            stringJoiner.add(value.toString());
+        }
+        return stringJoiner.toString();
+    }
+
+
+    // the tail holds the values from this index on
+    private int getTailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] getLeaf(int index) {
+        if (index >= getTailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        Object[] nodeToInsert;
+        if (level == BITS) {
+            nodeToInsert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[subIndex];
+            nodeToInsert = child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+        result[subIndex] = nodeToInsert;
+        return result;
+    }
+
+    // null if the node becomes empty
+    private Object[] popTail(int level, Object[] node) {
+        int subIndex = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] newChild = popTail(level - BITS, (Object[]) node[subIndex]);
+            if (newChild == null && subIndex == 0) {
+                return null;
+            }
+            Object[] result = node.clone();
+            result[subIndex] = newChild;
+            return result;
+        }
+        if (subIndex == 0) {
+            return null;
+        }
+        Object[] result = node.clone();
+        result[subIndex] = null;
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    private static Object[] setInNode(int level, Object[] node, int index, Object value) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = value;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result[subIndex] = setInNode(level - BITS, (Object[]) node[subIndex], index, value);
+        }
+        return result;
+    }
+
+
+    @Override
+    public Iterator<E> iterator() {
+        return new PersistentVectorIterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    // walks leaf by leaf, so every leaf is looked up once
+    private class PersistentVectorIterator implements Iterator<E> {
+        private int index;
+        private Object[] leaf;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the vector");
+            }
+            if ((index & MASK) == 0) {
+                leaf = getLeaf(index);
+            }
+            return (E) leaf[index++ & MASK];
+        }
+    }
+
+
+}
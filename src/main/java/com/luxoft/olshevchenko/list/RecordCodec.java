@@ -0,0 +1,100 @@
+package com.luxoft.olshevchenko.list;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes values of a list into fixed size records, used by {@link OffHeapArrayList}.
+ * Offsets are absolute positions in the buffer, implementations must not change its position or limit.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public interface RecordCodec<E> {
+
+    RecordCodec<Integer> INT = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer value) {
+            buffer.putInt(offset, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    RecordCodec<Long> LONG = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long value) {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    RecordCodec<Double> DOUBLE = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Double value) {
+            buffer.putDouble(offset, value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+
+    int recordSize();
+
+    void write(ByteBuffer buffer, int offset, E value);
+
+    E read(ByteBuffer buffer, int offset);
+
+    // UTF-8 strings of at most maxBytes bytes, stored after a two byte length
+    static RecordCodec<String> string(int maxBytes) {
+        if (maxBytes <= 0 || maxBytes > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Max bytes should be in [1, " + Short.MAX_VALUE + "], but was " + maxBytes);
+        }
+        return new RecordCodec<>() {
+            @Override
+            public int recordSize() {
+                return Short.BYTES + maxBytes;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, String value) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes) {
+                    throw new IllegalArgumentException("Value takes " + bytes.length + " bytes, but at most " + maxBytes + " fit into a record");
+                }
+                buffer.putShort(offset, (short) bytes.length);
+                buffer.put(offset + Short.BYTES, bytes);
+            }
+
+            @Override
+            public String read(ByteBuffer buffer, int offset) {
+                byte[] bytes = new byte[buffer.getShort(offset)];
+                buffer.get(offset + Short.BYTES, bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
@@ -0,0 +1,365 @@
+package com.luxoft.olshevchenko.list;
+
+import com.luxoft.olshevchenko.metrics.Measurable;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Linked list of blocks, each holding up to 64 values in an array. A full block is split in half on insert,
+ * and a block which drops below half full is merged with the next one if they fit together, so the list takes
+ * a few bytes per value instead of a node per value and iterates mostly over arrays.
+ * The block found by the last index lookup is remembered, so sequential access by index does not walk from the ends.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class UnrolledLinkedList<E> extends AbstractList<E> implements List<E>, Measurable {
+    private static final int NODE_CAPACITY = 64;
+
+    private Node<E> head;
+    private Node<E> tail;
+    private int nodeCount;
+    // the node found by the last lookup and the index of its first value, reset when it may be stale
+    private Node<E> finger;
+    private int fingerStart;
+
+
+    @Override
+    public void add(E value, int index) {
+        checkExceedBoundsForAdd(index);
+        if (value == null) {
+            return;
+        }
+        if (index == size) {
+            // values before the tail do not move, so the finger stays valid
+            if (tail == null || tail.count == NODE_CAPACITY) {
+                linkAfter(tail, new Node<>());
+            }
+            tail.values[tail.count++] = value;
+        } else {
+            Node<E> node = findNode(index);
+            insert(node, index - fingerStart, value);
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkExceedBoundsForRemoveGetSet(index);
+        Node<E> node = findNode(index);
+        int offset = index - fingerStart;
+        E result = node.get(offset);
+        System.arraycopy(node.values, offset + 1, node.values, offset, node.count - offset - 1);
+        node.values[--node.count] = null;
+        if (node.count == 0) {
+            unlink(node);
+            finger = null;
+        } else if (node.count < NODE_CAPACITY / 2 && node.next != null && node.count + node.next.count <= NODE_CAPACITY) {
+            Node<E> next = node.next;
+            System.arraycopy(next.values, 0, node.values, node.count, next.count);
+            node.count += next.count;
+            unlink(next);
+        }
+        size--;
+        modCount++;
+        return result;
+    }
+
+    @Override
+    public E get(int index) {
+        checkExceedBoundsForRemoveGetSet(index);
+        Node<E> node = findNode(index);
+        return node.get(index - fingerStart);
+    }
+
+    @Override
+    public E set(E value, int index) {
+        checkExceedBoundsForRemoveGetSet(index);
+        Node<E> node = findNode(index);
+        int offset = index - fingerStart;
+        E result = node.get(offset);
+        node.values[offset] = value;
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        head = tail = finger = null;
+        nodeCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(E value) {
+        int start = 0;
+        for (Node<E> node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (node.values[i] != null && node.values[i].equals(value)) {
+                    return start + i;
+                }
+            }
+            start += node.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(E value) {
+        int end = size;
+        for (Node<E> node = tail; node != null; node = node.prev) {
+            end -= node.count;
+            for (int i = node.count - 1; i >= 0; i--) {
+                if (node.values[i] != null && node.values[i].equals(value)) {
+                    return end + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public java.util.Map<String, Double> structureStats() {
+        java.util.Map<String, Double> stats = new LinkedHashMap<>();
+        stats.put("size", (double) size);
+        stats.put("nodes", (double) nodeCount);
+        stats.put("capacity", (double) nodeCount * NODE_CAPACITY);
+        stats.put("fillRatio", nodeCount == 0 ? 0 : (double) size / ((double) nodeCount * NODE_CAPACITY));
+        return stats;
+    }
+
+
+    // walks from the nearest of the head, the tail and the finger, and leaves the finger at the found node
+    private Node<E> findNode(int index) {
+        Node<E> node;
+        int start;
+        int tailStart = size - tail.count;
+        boolean forward;
+        if (finger != null && Math.abs(index - fingerStart) < Math.min(index, size - 1 - index)) {
+            node = finger;
+            start = fingerStart;
+            forward = index >= start;
+        } else if (index < size - 1 - index) {
+            node = head;
+            start = 0;
+            forward = true;
+        } else {
+            node = tail;
+            start = tailStart;
+            forward = false;
+        }
+        if (forward) {
+            while (index >= start + node.count) {
+                start += node.count;
+                node = node.next;
+            }
+        } else {
+            while (index < start) {
+                node = node.prev;
+                start -= node.count;
+            }
+        }
+        finger = node;
+        fingerStart = start;
+        return node;
+    }
+
+    // the node keeps its start index, so the finger on it stays valid
+    private void insert(Node<E> node, int offset, E value) {
+        if (node.count == NODE_CAPACITY) {
+            int half = NODE_CAPACITY / 2;
+            Node<E> newNode = new Node<>();
+            System.arraycopy(node.values, half, newNode.values, 0, NODE_CAPACITY - half);
+            Arrays.fill(node.values, half, NODE_CAPACITY, null);
+            newNode.count = NODE_CAPACITY - half;
+            node.count = half;
+            linkAfter(node, newNode);
+            if (offset > half) {
+                node = newNode;
+                offset -= half;
+            }
+        }
+        System.arraycopy(node.values, offset, node.values, offset + 1, node.count - offset);
+        node.values[offset] = value;
+        node.count++;
+    }
+
+    private void linkAfter(Node<E> prevNode, Node<E> newNode) {
+        newNode.prev = prevNode;
+        if (prevNode == null) {
+            newNode.next = head;
+            head = newNode;
+        } else {
+            newNode.next = prevNode.next;
+            prevNode.next = newNode;
+        }
+        if (newNode.next == null) {
+            tail = newNode;
+        } else {
+            newNode.next.prev = newNode;
+        }
+        nodeCount++;
+    }
+
+    private void unlink(Node<E> node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        nodeCount--;
+    }
+
+
+    // loops over the node arrays directly, no iterator is allocated
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (Node<E> node = head; node != null && modCount == expectedModCount; node = node.next) {
+            for (int i = 0; i < node.count && modCount == expectedModCount; i++) {
+                action.accept(node.get(i));
+            }
+        }
+        checkForComodification(expectedModCount);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new UnrolledListIterator(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        checkExceedBoundsForAdd(index);
+        return new UnrolledListIterator(index);
+    }
+
+    // moves through the node arrays, changes go through the list and the cursor is found again by index
+    private class UnrolledListIterator implements ListIterator<E> {
+        private Node<E> node;
+        private int offset;
+        private int nextIndex;
+        private Node<E> lastNode;
+        private int lastOffset;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        private UnrolledListIterator(int index) {
+            moveTo(index);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification(expectedModCount);
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the list");
+            }
+            while (offset == node.count) {
+                node = node.next;
+                offset = 0;
+            }
+            lastNode = node;
+            lastOffset = offset;
+            lastReturned = nextIndex++;
+            return node.get(offset++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification(expectedModCount);
+            if (!hasPrevious()) {
+                throw new NoSuchElementException("There is no previous element in the list");
+            }
+            while (offset == 0) {
+                node = node.prev;
+                offset = node.count;
+            }
+            lastNode = node;
+            lastOffset = --offset;
+            lastReturned = --nextIndex;
+            return node.get(offset);
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called remove method without next");
+            }
+            checkForComodification(expectedModCount);
+            UnrolledLinkedList.this.remove(lastReturned);
+            moveTo(lastReturned);
+            expectedModCount = modCount;
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(E value) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called set method without next or previous");
+            }
+            checkForComodification(expectedModCount);
+            lastNode.values[lastOffset] = value;
+        }
+
+        @Override
+        public void add(E value) {
+            checkForComodification(expectedModCount);
+            lastReturned = -1;
+            if (value != null) {
+                UnrolledLinkedList.this.add(value, nextIndex);
+                moveTo(nextIndex + 1);
+                expectedModCount = modCount;
+            }
+        }
+
+        // at the end of the list the cursor stays behind the last value of the tail
+        private void moveTo(int index) {
+            nextIndex = index;
+            if (index == size) {
+                node = tail;
+                offset = tail == null ? 0 : tail.count;
+            } else {
+                node = findNode(index);
+                offset = index - fingerStart;
+            }
+        }
+    }
+
+    private static class Node<E> {
+        private final Object[] values = new Object[NODE_CAPACITY];
+        private int count;
+        private Node<E> next;
+        private Node<E> prev;
+
+        @SuppressWarnings("unchecked")
+        private E get(int offset) {
+            return (E) values[offset];
+        }
+    }
+}
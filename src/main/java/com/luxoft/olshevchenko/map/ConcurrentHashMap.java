@@ -0,0 +1,428 @@
+package com.luxoft.olshevchenko.map;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Thread-safe hash map with lock-free reads and lock-striped writes.
+ * Resizing takes all stripe locks and copies the nodes into a new table, so readers of the old table
+ * always see complete chains. Iterators are weakly consistent: they never throw
+ * ConcurrentModificationException and may or may not reflect updates made after they started.
+ * putIfAbsent and the compute and merge methods are atomic, their functions run while the key's bucket is locked.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class ConcurrentHashMap<K, V> implements Map<K, V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int GROW_CONST = 2;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int LOCK_STRIPES = 16;
+    // stored instead of null, so that a null key can be hashed and compared like any other
+    private static final Object NULL_KEY = new Object();
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final LongAdder size = new LongAdder();
+    private volatile AtomicReferenceArray<Node<V>> buckets;
+
+    public ConcurrentHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public ConcurrentHashMap(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length should be positive, but was " + length);
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        buckets = new AtomicReferenceArray<>(tableSizeFor(length));
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        return putValue(key, value, false);
+    }
+
+    // returns the current value if the key is present, otherwise adds the mapping and returns null
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return putValue(key, value, true);
+    }
+
+    // the function is called at most once, while the bucket is locked, and only if the key is absent
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Object maskedKey = maskNull(key);
+        int hash = hash(maskedKey);
+        Node<V> node = getNode(buckets, maskedKey, hash);
+        if (node != null) {
+            return node.value;
+        }
+        while (true) {
+            AtomicReferenceArray<Node<V>> table = buckets;
+            int index = getIndex(table, hash);
+            ReentrantLock lock = getLock(index);
+            V newValue;
+            lock.lock();
+            try {
+                if (table != buckets) {
+                    continue;
+                }
+                node = findNode(table.get(index), maskedKey, hash);
+                if (node != null) {
+                    return node.value;
+                }
+                newValue = mappingFunction.apply(key);
+                if (newValue == null) {
+                    return null;
+                }
+                table.set(index, new Node<>(maskedKey, hash, newValue, table.get(index)));
+            } finally {
+                lock.unlock();
+            }
+            size.increment();
+            resizeIfNeeded(table);
+            return newValue;
+        }
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return computeValue(key, remappingFunction, true);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return computeValue(key, remappingFunction, false);
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new IllegalArgumentException("The value to merge should not be null");
+        }
+        return computeValue(key, (k, oldValue) -> oldValue == null ? value : remappingFunction.apply(oldValue, value),
+                false);
+    }
+
+    @Override
+    public V get(K key) {
+        Object maskedKey = maskNull(key);
+        Node<V> node = getNode(buckets, maskedKey, hash(maskedKey));
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        Object maskedKey = maskNull(key);
+        return getNode(buckets, maskedKey, hash(maskedKey)) != null;
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<V> removed = removeNode(maskNull(key));
+        if (removed == null) {
+            throw new IllegalStateException("There is no entry corresponding to the key " + key);
+        }
+        return removed.value;
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "{", "}");
+        for (Map.Entry<K, V> entry : this) {
+            stringJoiner.add(entry.toString());
+        }
+        return stringJoiner.toString();
+    }
+
+
+    private V putValue(K key, V value, boolean onlyIfAbsent) {
+        Object maskedKey = maskNull(key);
+        int hash = hash(maskedKey);
+        while (true) {
+            AtomicReferenceArray<Node<V>> table = buckets;
+            int index = getIndex(table, hash);
+            ReentrantLock lock = getLock(index);
+            lock.lock();
+            try {
+                // the table was replaced while waiting for the lock, retry against the new one
+                if (table != buckets) {
+                    continue;
+                }
+                Node<V> node = findNode(table.get(index), maskedKey, hash);
+                if (node != null) {
+                    V oldValue = node.value;
+                    if (!onlyIfAbsent) {
+                        node.value = value;
+                    }
+                    return oldValue;
+                }
+                table.set(index, new Node<>(maskedKey, hash, value, table.get(index)));
+            } finally {
+                lock.unlock();
+            }
+            size.increment();
+            resizeIfNeeded(table);
+            return null;
+        }
+    }
+
+    // the function is called once, while the bucket is locked, a null result removes the key
+    private V computeValue(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction,
+                           boolean onlyIfPresent) {
+        Object maskedKey = maskNull(key);
+        int hash = hash(maskedKey);
+        while (true) {
+            AtomicReferenceArray<Node<V>> table = buckets;
+            int index = getIndex(table, hash);
+            ReentrantLock lock = getLock(index);
+            V newValue;
+            lock.lock();
+            try {
+                if (table != buckets) {
+                    continue;
+                }
+                Node<V> prev = null;
+                Node<V> node = table.get(index);
+                while (node != null && !(node.hash == hash && node.key.equals(maskedKey))) {
+                    prev = node;
+                    node = node.next;
+                }
+                V oldValue = node == null ? null : node.value;
+                if (onlyIfPresent && oldValue == null) {
+                    return null;
+                }
+                newValue = remappingFunction.apply(key, oldValue);
+                if (node != null) {
+                    if (newValue != null) {
+                        node.value = newValue;
+                    } else {
+                        if (prev == null) {
+                            table.set(index, node.next);
+                        } else {
+                            prev.next = node.next;
+                        }
+                        size.decrement();
+                    }
+                    return newValue;
+                }
+                if (newValue == null) {
+                    return null;
+                }
+                table.set(index, new Node<>(maskedKey, hash, newValue, table.get(index)));
+            } finally {
+                lock.unlock();
+            }
+            size.increment();
+            resizeIfNeeded(table);
+            return newValue;
+        }
+    }
+
+    private Node<V> removeNode(Object maskedKey) {
+        int hash = hash(maskedKey);
+        while (true) {
+            AtomicReferenceArray<Node<V>> table = buckets;
+            int index = getIndex(table, hash);
+            ReentrantLock lock = getLock(index);
+            lock.lock();
+            try {
+                if (table != buckets) {
+                    continue;
+                }
+                Node<V> prev = null;
+                Node<V> node = table.get(index);
+                while (node != null) {
+                    if (node.hash == hash && node.key.equals(maskedKey)) {
+                        if (prev == null) {
+                            table.set(index, node.next);
+                        } else {
+                            prev.next = node.next;
+                        }
+                        size.decrement();
+                        return node;
+                    }
+                    prev = node;
+                    node = node.next;
+                }
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void resizeIfNeeded(AtomicReferenceArray<Node<V>> table) {
+        if (size.sum() <= table.length() * LOAD_FACTOR) {
+            return;
+        }
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            // another thread may have resized while the locks were being taken
+            if (table != buckets) {
+                return;
+            }
+            AtomicReferenceArray<Node<V>> newTable = new AtomicReferenceArray<>(table.length() * GROW_CONST);
+            for (int i = 0; i < table.length(); i++) {
+                for (Node<V> node = table.get(i); node != null; node = node.next) {
+                    int newIndex = getIndex(newTable, node.hash);
+                    newTable.set(newIndex, new Node<>(node.key, node.hash, node.value, newTable.get(newIndex)));
+                }
+            }
+            buckets = newTable;
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ReentrantLock getLock(int index) {
+        return locks[index & (LOCK_STRIPES - 1)];
+    }
+
+    private static <V> Node<V> getNode(AtomicReferenceArray<Node<V>> table, Object maskedKey, int hash) {
+        return findNode(table.get(getIndex(table, hash)), maskedKey, hash);
+    }
+
+    private static <V> Node<V> findNode(Node<V> node, Object maskedKey, int hash) {
+        while (node != null) {
+            if (node.hash == hash && node.key.equals(maskedKey)) {
+                return node;
+            }
+            node = node.next;
+        }
+        return null;
+    }
+
+    private static int getIndex(AtomicReferenceArray<?> table, int hash) {
+        return hash & (table.length() - 1);
+    }
+
+    // table lengths are powers of two, so the high bits are folded into the index bits
+    private static int hash(Object maskedKey) {
+        int h = maskedKey.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object key) {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    private static int tableSizeFor(int length) {
+        int minLength = Math.max(length, LOCK_STRIPES);
+        int highestBit = Integer.highestOneBit(minLength);
+        return highestBit == minLength ? minLength : highestBit << 1;
+    }
+
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new ConcurrentHashMapIterator();
+    }
+
+    private class ConcurrentHashMapIterator implements Iterator<Map.Entry<K, V>> {
+        // taken on the first call, so the iterator sees the table as of the start of the traversal
+        private AtomicReferenceArray<Node<V>> table;
+        private int index;
+        private Node<V> nextNode;
+        private Node<V> lastReturned;
+
+        @Override
+        public boolean hasNext() {
+            if (table == null) {
+                table = buckets;
+            }
+            while (nextNode == null && index < table.length()) {
+                nextNode = table.get(index++);
+            }
+            return nextNode != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the map");
+            }
+            lastReturned = nextNode;
+            nextNode = nextNode.next;
+            return new MapEntry(unmaskNull(lastReturned.key), lastReturned.value);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Called remove method without next");
+            }
+            removeNode(lastReturned.key);
+            lastReturned = null;
+        }
+    }
+
+    // entry handed out by the iterator, setValue writes through to the map
+    private class MapEntry implements Map.Entry<K, V> {
+        private final K key;
+        private V value;
+
+        private MapEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            this.value = value;
+            put(key, value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+
+    private static class Node<V> {
+        private final Object key;
+        private final int hash;
+        private volatile V value;
+        private volatile Node<V> next;
+
+        private Node(Object key, int hash, V value, Node<V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+
+}
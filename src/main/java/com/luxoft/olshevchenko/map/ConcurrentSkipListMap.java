@@ -0,0 +1,386 @@
+package com.luxoft.olshevchenko.map;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Thread-safe sorted map on a skip list with lock-free reads and range scans. Writes are serialized by one lock,
+ * a new node is linked bottom-up only after its own links are set, and a removed node keeps its links,
+ * so a reader standing on it still reaches the rest of the list. The compute and merge methods hold the write lock
+ * while their function runs, so they are atomic. Iterators are weakly consistent: they never
+ * throw ConcurrentModificationException and may or may not reflect updates made after they started.
+ * Without a comparator the keys are compared by their natural ordering, with the null key first.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class ConcurrentSkipListMap<K, V> implements SortedMap<K, V> {
+    private static final int MAX_LEVEL = 32;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator NATURAL_ORDER = Comparator.nullsFirst((Comparator) Comparator.naturalOrder());
+
+    private final Comparator<? super K> comparator;
+    private final ReentrantLock lock = new ReentrantLock();
+    // the head holds no key and is never compared
+    private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL);
+    private volatile int level = 1;
+    private volatile int size;
+
+    public ConcurrentSkipListMap() {
+        this(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentSkipListMap(Comparator<? super K> comparator) {
+        this.comparator = comparator == null ? NATURAL_ORDER : comparator;
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        return putValue(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return putValue(key, value, true);
+    }
+
+    // the Map defaults run under the write lock, which is reentrant, so their get and put are one atomic step
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        lock.lock();
+        try {
+            return SortedMap.super.computeIfAbsent(key, mappingFunction);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        lock.lock();
+        try {
+            return SortedMap.super.computeIfPresent(key, remappingFunction);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        lock.lock();
+        try {
+            return SortedMap.super.compute(key, remappingFunction);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        lock.lock();
+        try {
+            return SortedMap.super.merge(key, value, remappingFunction);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = getNode(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return getNode(key) != null;
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<K, V> removed = removeNode(key);
+        if (removed == null) {
+            throw new IllegalStateException("There is no entry corresponding to the key " + key);
+        }
+        return removed.value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return toEntry(head.next(0));
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        Node<K, V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            Node<K, V> next;
+            while ((next = node.next(i)) != null) {
+                node = next;
+            }
+        }
+        return node == head ? null : toEntry(node);
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        Node<K, V> node = findLast(key, true);
+        return node == head ? null : toEntry(node);
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return toEntry(findLast(key, false).next(0));
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        Node<K, V> node = findLast(key, false);
+        return node == head ? null : toEntry(node);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator(K fromKey, K toKey) {
+        if (comparator.compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey " + fromKey + " is greater than toKey " + toKey);
+        }
+        return new SkipListIterator(findLast(fromKey, false).next(0), true, toKey);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+        return new SubMap<>(this, fromKey, toKey);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "{", "}");
+        for (Map.Entry<K, V> entry : this) {
+            stringJoiner.add(entry.toString());
+        }
+        return stringJoiner.toString();
+    }
+
+
+    private V putValue(K key, V value, boolean onlyIfAbsent) {
+        lock.lock();
+        try {
+            Node<K, V>[] predecessors = newPredecessors();
+            Node<K, V> node = findPredecessors(key, predecessors);
+            if (node != null) {
+                V oldValue = node.value;
+                if (!onlyIfAbsent) {
+                    node.value = value;
+                }
+                return oldValue;
+            }
+            int nodeLevel = randomLevel();
+            if (nodeLevel > level) {
+                for (int i = level; i < nodeLevel; i++) {
+                    predecessors[i] = head;
+                }
+                level = nodeLevel;
+            }
+            Node<K, V> newNode = new Node<>(key, value, nodeLevel);
+            for (int i = 0; i < nodeLevel; i++) {
+                newNode.setNext(i, predecessors[i].next(i));
+            }
+            // published from the bottom, so a node reachable on a level is reachable on all levels below
+            for (int i = 0; i < nodeLevel; i++) {
+                predecessors[i].setNext(i, newNode);
+            }
+            size++;
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Node<K, V> removeNode(K key) {
+        lock.lock();
+        try {
+            Node<K, V>[] predecessors = newPredecessors();
+            Node<K, V> node = findPredecessors(key, predecessors);
+            if (node == null) {
+                return null;
+            }
+            // unlinked from the top, the node keeps its own links for the readers standing on it
+            for (int i = node.height() - 1; i >= 0; i--) {
+                predecessors[i].setNext(i, node.next(i));
+            }
+            while (level > 1 && head.next(level - 1) == null) {
+                level--;
+            }
+            size--;
+            return node;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // called with the lock held, fills the last node before the key on every level
+    private Node<K, V> findPredecessors(K key, Node<K, V>[] predecessors) {
+        Node<K, V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            Node<K, V> next;
+            while ((next = node.next(i)) != null && comparator.compare(next.key, key) < 0) {
+                node = next;
+            }
+            predecessors[i] = node;
+        }
+        Node<K, V> candidate = node.next(0);
+        return candidate != null && comparator.compare(candidate.key, key) == 0 ? candidate : null;
+    }
+
+    private Node<K, V> getNode(K key) {
+        Node<K, V> candidate = findLast(key, false).next(0);
+        return candidate != null && comparator.compare(candidate.key, key) == 0 ? candidate : null;
+    }
+
+    // the last node with a key < key, or <= key if inclusive, the head if there is none
+    private Node<K, V> findLast(K key, boolean inclusive) {
+        Node<K, V> node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            Node<K, V> next;
+            while ((next = node.next(i)) != null && isBefore(next.key, key, inclusive)) {
+                node = next;
+            }
+        }
+        return node;
+    }
+
+    private boolean isBefore(K nodeKey, K key, boolean inclusive) {
+        int compareResult = comparator.compare(nodeKey, key);
+        return inclusive ? compareResult <= 0 : compareResult < 0;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Node<K, V>[] newPredecessors() {
+        return new Node[MAX_LEVEL];
+    }
+
+    // every level is taken with probability 1/2 of the level below
+    private static int randomLevel() {
+        int random = ThreadLocalRandom.current().nextInt();
+        return Math.min(Integer.numberOfTrailingZeros(random) + 1, MAX_LEVEL);
+    }
+
+    private Entry<K, V> toEntry(Node<K, V> node) {
+        return node == null ? null : new MapEntry(node.key, node.value);
+    }
+
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new SkipListIterator(head.next(0), false, null);
+    }
+
+    private class SkipListIterator implements Iterator<Map.Entry<K, V>> {
+        private final boolean bounded;
+        private final K toKey;
+        private Node<K, V> nextNode;
+        private Node<K, V> lastReturned;
+
+        private SkipListIterator(Node<K, V> first, boolean bounded, K toKey) {
+            this.nextNode = first;
+            this.bounded = bounded;
+            this.toKey = toKey;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null && (!bounded || comparator.compare(nextNode.key, toKey) < 0);
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the map");
+            }
+            lastReturned = nextNode;
+            nextNode = nextNode.next(0);
+            return new MapEntry(lastReturned.key, lastReturned.value);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Called remove method without next");
+            }
+            removeNode(lastReturned.key);
+            lastReturned = null;
+        }
+    }
+
+    // entry handed out by the map, setValue writes through to the map
+    private class MapEntry implements Map.Entry<K, V> {
+        private final K key;
+        private V value;
+
+        private MapEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            this.value = value;
+            put(key, value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+
+    private static class Node<K, V> {
+        private final K key;
+        private volatile V value;
+        private final AtomicReferenceArray<Node<K, V>> next;
+
+        private Node(K key, V value, int height) {
+            this.key = key;
+            this.value = value;
+            this.next = new AtomicReferenceArray<>(height);
+        }
+
+        private int height() {
+            return next.length();
+        }
+
+        private Node<K, V> next(int level) {
+            return next.get(level);
+        }
+
+        private void setNext(int level, Node<K, V> node) {
+            next.set(level, node);
+        }
+    }
+}
@@ -1,110 +1,203 @@
 package com.luxoft.olshevchenko.map;
 
+import com.luxoft.olshevchenko.metrics.Measurable;
+import com.luxoft.olshevchenko.metrics.Metrics;
+
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * @author Oleksandr Shevchenko
  */
-public class HashMap<K, V> implements Map<K, V> {
+public class HashMap<K, V> implements Map<K, V>, Measurable {
     private static final int INITIAL_CAPACITY = 5;
     private static final int GROW_CONST = 2;
     private static final double LOAD_FACTOR = 0.75;
+    // with shrinkOnRemove the table is halved once it is filled below LOAD_FACTOR / SHRINK_DIVISOR
+    private static final int SHRINK_DIVISOR = 4;
+    private static final int REHASH_STEP = 4;
+    // a chain reaching this length is turned into a red-black tree, once the table is large enough
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int MIN_TREEIFY_CAPACITY = 64;
+    // on resize, a split tree bin of at most this many entries becomes a plain chain again
+    private static final int UNTREEIFY_THRESHOLD = 6;
 
+    private final boolean incrementalResize;
+    private final boolean shrinkOnRemove;
+    // the table never shrinks below the length it was created with
+    private final int minLength;
     private Entry<K, V>[] buckets;
+    // table being drained while an incremental resize is in progress, null otherwise
+    private Entry<K, V>[] oldBuckets;
+    // buckets of oldBuckets below this index have already been moved
+    private int rehashIndex;
     private int size;
+    // counts added and removed entries, iterators fail fast when it changes behind their back
+    private int modCount;
+    // only counted while Metrics.ENABLED is on
+    private long resizeCount;
+    private long resizeNanos;
 
     public HashMap() {
         this(INITIAL_CAPACITY);
     }
 
-    @SuppressWarnings("unchecked")
     public HashMap(int length) {
-        buckets = new Entry[length];
+        this(length, false);
+    }
+
+    // incrementalResize = true spreads rehashing over subsequent put and get calls,
+    // moving a few buckets per call instead of the whole table at once
+    public HashMap(int length, boolean incrementalResize) {
+        this(length, incrementalResize, false);
+    }
+
+    // shrinkOnRemove = true halves the table when removes leave it mostly empty,
+    // so that a long-lived map does not hold a peak-size table after a burst
+    public HashMap(int length, boolean incrementalResize, boolean shrinkOnRemove) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length should be positive, but was " + length);
+        }
+        this.buckets = newTable(length);
+        this.incrementalResize = incrementalResize;
+        this.shrinkOnRemove = shrinkOnRemove;
+        this.minLength = length;
+    }
+
+    // sized so that expectedSize entries fit without a resize
+    public static <K, V> HashMap<K, V> withExpectedSize(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size should not be negative, but was " + expectedSize);
+        }
+        return new HashMap<>(Math.max((int) (expectedSize / LOAD_FACTOR) + 1, INITIAL_CAPACITY));
     }
 
 
     @Override
     public V put(K key, V value) {
-        resize();
-        int index = getIndex(buckets, key);
-        Entry<K,V> currentBucket = buckets[index];
-        if (currentBucket == null) {
-            buckets[index] = new Entry<>(key, value);
-            size++;
-            return null;
-        } else {
-            if (Objects.equals(currentBucket.key, key)) {
-                return changeValueIfKeyEquals(currentBucket, value);
-            }
-            while (currentBucket != null) {
-                if (Objects.equals(currentBucket.key, key)) {
-                    return changeValueIfKeyEquals(currentBucket, value);
-                }
-                if (key != null && currentBucket.hash == key.hashCode()) {
-                    return addEntryIntoTheEndOfTheChainAndIncreaseSize(buckets, key, value);
-                }
-                currentBucket = currentBucket.next;
-            }
-            return addEntryIntoTheEndOfTheChainAndIncreaseSize(buckets, key, value);
+        rehashStep();
+        int hash = hash(key);
+        Entry<K, V> entry = getEntry(key, hash);
+        if (entry != null) {
+            return changeValueIfKeyEquals(entry, value);
         }
+        addEntry(key, hash, value);
+        return null;
     }
 
     @Override
     public V get(K key) {
-        int index = getIndex(buckets, key);
-        Entry<K,V> currentBucket = buckets[index];
-        if (currentBucket != null) {
-            if (Objects.equals(currentBucket.key, key)) {
-                return currentBucket.value;
-            } else {
-                while (currentBucket != null) {
-                    if (Objects.equals(currentBucket.key, key)) {
-                        return currentBucket.value;
-                    }
-                    currentBucket = currentBucket.next;
-                }
-            }
-        }
-        return null;
+        rehashStep();
+        Entry<K, V> entry = getEntry(key, hash(key));
+        return entry == null ? null : entry.value;
     }
 
     @Override
     public boolean containsKey(K key) {
-        int index = getIndex(buckets, key);
-        Entry<K,V> currentBucket = buckets[index];
-        while (currentBucket != null) {
-            if (Objects.equals(currentBucket.key, key)) {
-                return true;
-            }
-            currentBucket = currentBucket.next;
-        }
-        return false;
+        return getEntry(key, hash(key)) != null;
     }
 
     @Override
     public V remove(K key) {
-        V resultValue;
-        int index = getIndex(buckets, key);
-        Entry<K, V> currentBucket = buckets[index];
-        if (currentBucket == null) {
-            throw new IllegalStateException("The bucket corresponding to the key " + key + " is empty");
-        } else {
-            if (Objects.equals(currentBucket.key, key)) {
-                resultValue = currentBucket.value;
-                buckets[index] = null;
-                size--;
-                return resultValue;
-            }
-            while (true) {
-                if (Objects.equals(currentBucket.next.key, key)) {
-                    resultValue = currentBucket.next.value;
-                    buckets[index].next = buckets[index].next.next;
-                    size--;
-                    return resultValue;
-                }
-                currentBucket = currentBucket.next;
-            }
+        V value = removeMapping(key);
+        shrink();
+        return value;
+    }
+
+    // The overrides below hash the key and find its entry once, then change the value in place,
+    // so counting with merge costs one lookup per call instead of a get followed by a put.
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        rehashStep();
+        Entry<K, V> entry = getEntry(key, hash(key));
+        return entry == null ? defaultValue : entry.value;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        rehashStep();
+        int hash = hash(key);
+        Entry<K, V> entry = getEntry(key, hash);
+        if (entry == null) {
+            addEntry(key, hash, value);
+            return null;
+        }
+        V oldValue = entry.value;
+        if (oldValue == null) {
+            entry.value = value;
+        }
+        return oldValue;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        rehashStep();
+        int hash = hash(key);
+        Entry<K, V> entry = getEntry(key, hash);
+        if (entry != null && entry.value != null) {
+            return entry.value;
+        }
+        int expectedModCount = modCount;
+        V newValue = mappingFunction.apply(key);
+        checkNotModifiedByFunction(expectedModCount);
+        if (newValue != null) {
+            setOrAddEntry(entry, key, hash, newValue);
+        }
+        return newValue;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        rehashStep();
+        int hash = hash(key);
+        Entry<K, V> entry = getEntry(key, hash);
+        if (entry == null || entry.value == null) {
+            return null;
+        }
+        int expectedModCount = modCount;
+        V newValue = remappingFunction.apply(key, entry.value);
+        checkNotModifiedByFunction(expectedModCount);
+        setOrRemoveEntry(entry, key, hash, newValue);
+        return newValue;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        rehashStep();
+        int hash = hash(key);
+        Entry<K, V> entry = getEntry(key, hash);
+        int expectedModCount = modCount;
+        V newValue = remappingFunction.apply(key, entry == null ? null : entry.value);
+        checkNotModifiedByFunction(expectedModCount);
+        if (entry != null) {
+            setOrRemoveEntry(entry, key, hash, newValue);
+        } else if (newValue != null) {
+            addEntry(key, hash, newValue);
         }
+        return newValue;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new IllegalArgumentException("The value to merge should not be null");
+        }
+        rehashStep();
+        int hash = hash(key);
+        Entry<K, V> entry = getEntry(key, hash);
+        if (entry == null || entry.value == null) {
+            setOrAddEntry(entry, key, hash, value);
+            return value;
+        }
+        int expectedModCount = modCount;
+        V newValue = remappingFunction.apply(entry.value, value);
+        checkNotModifiedByFunction(expectedModCount);
+        setOrRemoveEntry(entry, key, hash, newValue);
+        return newValue;
     }
 
     @Override
@@ -112,6 +205,45 @@ public class HashMap<K, V> implements Map<K, V> {
         return size;
     }
 
+    private V removeMapping(K key) {
+        return removeMapping(key, hash(key));
+    }
+
+    private V removeMapping(K key, int hash) {
+        Entry<K, V>[] table = getTable(hash);
+        int index = getIndex(table, hash);
+        Entry<K, V> currentBucket = table[index];
+        if (currentBucket == null) {
+            throw new IllegalStateException("The bucket corresponding to the key " + key + " is empty");
+        }
+        if (currentBucket instanceof TreeEntry) {
+            TreeEntry<K, V> treeEntry = findTreeEntry(root(currentBucket), key, hash);
+            if (treeEntry == null) {
+                throw new IllegalStateException("There is no entry corresponding to the key " + key);
+            }
+            removeTreeEntry(table, index, treeEntry);
+            size--;
+            modCount++;
+            return treeEntry.value;
+        }
+        Entry<K, V> prev = null;
+        while (currentBucket != null) {
+            if (currentBucket.hash == hash && Objects.equals(currentBucket.key, key)) {
+                if (prev == null) {
+                    table[index] = currentBucket.next;
+                } else {
+                    prev.next = currentBucket.next;
+                }
+                size--;
+                modCount++;
+                return currentBucket.value;
+            }
+            prev = currentBucket;
+            currentBucket = currentBucket.next;
+        }
+        throw new IllegalStateException("There is no entry corresponding to the key " + key);
+    }
+
     @Override
     public String toString() {
         StringJoiner stringJoiner = new StringJoiner(", ", "{", "}");
@@ -121,32 +253,257 @@ public class HashMap<K, V> implements Map<K, V> {
         return stringJoiner.toString();
     }
 
+    // chains of both tables are counted while an incremental resize is in progress
+    @Override
+    public java.util.Map<String, Double> structureStats() {
+        int nonEmptyBuckets = 0;
+        int maxChainLength = 0;
+        int treeBins = 0;
+        for (Entry<K, V>[] table : Arrays.asList(buckets, oldBuckets)) {
+            if (table == null) {
+                continue;
+            }
+            for (int i = table == oldBuckets ? rehashIndex : 0; i < table.length; i++) {
+                int chainLength = 0;
+                for (Entry<K, V> entry = table[i]; entry != null; entry = entry.next) {
+                    chainLength++;
+                }
+                if (chainLength > 0) {
+                    nonEmptyBuckets++;
+                    maxChainLength = Math.max(maxChainLength, chainLength);
+                }
+                if (table[i] instanceof TreeEntry) {
+                    treeBins++;
+                }
+            }
+        }
+        java.util.Map<String, Double> stats = new LinkedHashMap<>();
+        stats.put("size", (double) size);
+        stats.put("buckets", (double) buckets.length);
+        stats.put("loadFactor", (double) size / buckets.length);
+        stats.put("maxChainLength", (double) maxChainLength);
+        stats.put("averageChainLength", nonEmptyBuckets == 0 ? 0 : (double) size / nonEmptyBuckets);
+        stats.put("treeBins", (double) treeBins);
+        stats.put("pendingRehashBuckets", oldBuckets == null ? 0 : (double) (oldBuckets.length - rehashIndex));
+        stats.put("resizeCount", (double) resizeCount);
+        stats.put("resizeNanos", (double) resizeNanos);
+        return stats;
+    }
+
 
     private void resize() {
-        if (Math.ceil(buckets.length * LOAD_FACTOR) == size) {
-            HashMap<K, V> newMap = new HashMap<>(INITIAL_CAPACITY * GROW_CONST);
-            for (Map.Entry<K, V> entry : this) {
-                newMap.put(entry.getKey(), entry.getValue());
+        if (size < buckets.length * LOAD_FACTOR) {
+            return;
+        }
+        rehashInto(buckets.length * GROW_CONST);
+    }
+
+    // not called from the iterators, their position in the table must stay valid
+    private void shrink() {
+        if (!shrinkOnRemove || buckets.length / GROW_CONST < minLength
+                || size >= buckets.length * LOAD_FACTOR / SHRINK_DIVISOR) {
+            return;
+        }
+        rehashInto(buckets.length / GROW_CONST);
+    }
+
+    // when shrinking, several old buckets land in one new bucket, so the transfers may meet an existing bin
+    private void rehashInto(int length) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        finishRehash();
+        oldBuckets = buckets;
+        buckets = newTable(length);
+        rehashIndex = 0;
+        if (!incrementalResize) {
+            finishRehash();
+        }
+        if (Metrics.ENABLED) {
+            resizeCount++;
+            resizeNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void rehashStep() {
+        if (oldBuckets == null) {
+            return;
+        }
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int end = Math.min(rehashIndex + REHASH_STEP, oldBuckets.length);
+        while (rehashIndex < end) {
+            transferBucket(rehashIndex++);
+        }
+        if (rehashIndex == oldBuckets.length) {
+            oldBuckets = null;
+        }
+        if (Metrics.ENABLED) {
+            resizeNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void checkForComodification(int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException("The map was modified outside of the iterator");
+        }
+    }
+
+    private void finishRehash() {
+        if (oldBuckets == null) {
+            return;
+        }
+        while (rehashIndex < oldBuckets.length) {
+            transferBucket(rehashIndex++);
+        }
+        oldBuckets = null;
+    }
+
+    // relinks the whole chain into the new table using the cached hashes, no hashCode() calls
+    private void transferBucket(int index) {
+        Entry<K, V> entry = oldBuckets[index];
+        oldBuckets[index] = null;
+        if (entry instanceof TreeEntry) {
+            transferTreeBin(entry);
+            return;
+        }
+        while (entry != null) {
+            Entry<K, V> next = entry.next;
+            int newIndex = getIndex(buckets, entry.hash);
+            if (buckets[newIndex] instanceof TreeEntry) {
+                // only when shrinking, a tree bin from another old bucket is already there
+                putTreeEntry((TreeEntry<K, V>) buckets[newIndex], new TreeEntry<>(entry.key, entry.hash, entry.value));
+            } else {
+                entry.next = buckets[newIndex];
+                buckets[newIndex] = entry;
             }
-            buckets = newMap.buckets;
+            entry = next;
         }
     }
 
-    private int getIndex(Entry<K, V>[] buckets, K key) {
-        if (key == null) {
-            return 0;
+    // a tree bin is split between two buckets of the new table, each half is rebuilt as a tree or a chain
+    private void transferTreeBin(Entry<K, V> entry) {
+        int firstIndex = getIndex(buckets, entry.hash);
+        int secondIndex = -1;
+        int firstCount = 0;
+        int secondCount = 0;
+        while (entry != null) {
+            Entry<K, V> next = entry.next;
+            int newIndex = getIndex(buckets, entry.hash);
+            if (newIndex == firstIndex) {
+                firstCount++;
+            } else {
+                secondIndex = newIndex;
+                secondCount++;
+            }
+            entry.next = buckets[newIndex];
+            buckets[newIndex] = entry;
+            entry = next;
         }
-        if (key.hashCode() == Integer.MIN_VALUE) {
+        rebuildBin(buckets, firstIndex, firstCount);
+        if (secondIndex >= 0) {
+            rebuildBin(buckets, secondIndex, secondCount);
+        }
+    }
+
+    private void rebuildBin(Entry<K, V>[] table, int index, int count) {
+        if (count > UNTREEIFY_THRESHOLD) {
+            treeify(table, index);
+        } else {
+            untreeify(table, index);
+        }
+    }
+
+    // while an incremental resize is in progress, a key lives in the old table
+    // until its old bucket has been transferred
+    private Entry<K, V>[] getTable(int hash) {
+        if (oldBuckets != null && getIndex(oldBuckets, hash) >= rehashIndex) {
+            return oldBuckets;
+        }
+        return buckets;
+    }
+
+    private Entry<K, V> getEntry(K key, int hash) {
+        Entry<K, V>[] table = getTable(hash);
+        Entry<K, V> currentBucket = table[getIndex(table, hash)];
+        if (currentBucket instanceof TreeEntry) {
+            return findTreeEntry(root(currentBucket), key, hash);
+        }
+        while (currentBucket != null) {
+            if (currentBucket.hash == hash && Objects.equals(currentBucket.key, key)) {
+                return currentBucket;
+            }
+            currentBucket = currentBucket.next;
+        }
+        return null;
+    }
+
+    private int getIndex(Entry<K, V>[] buckets, int hash) {
+        return (hash & Integer.MAX_VALUE) % buckets.length;
+    }
+
+    // mixes the hash code, so that hash codes differing only in a few bits still spread over all buckets
+    private static int hash(Object key) {
+        if (key == null) {
             return 0;
         }
-        return Math.abs(key.hashCode()) % buckets.length;
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
     }
 
-    private Entry<K, V> getLastEntry(Entry<K, V> entry) {
-        while(entry.next != null) {
+    private static boolean isChainLongerThan(Entry<?, ?> entry, int length) {
+        for (int i = 0; i < length; i++) {
+            if (entry == null) {
+                return false;
+            }
             entry = entry.next;
         }
-        return entry;
+        return entry != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Entry<K, V>[] newTable(int length) {
+        return new Entry[length];
+    }
+
+    // the hash is already known, the caller has checked the key is absent
+    private void addEntry(K key, int hash, V value) {
+        resize();
+        Entry<K, V>[] table = getTable(hash);
+        int index = getIndex(table, hash);
+        if (table[index] instanceof TreeEntry) {
+            putTreeEntry((TreeEntry<K, V>) table[index], new TreeEntry<>(key, hash, value));
+        } else {
+            Entry<K, V> newEntry = new Entry<>(key, hash, value);
+            newEntry.next = table[index];
+            table[index] = newEntry;
+            if (table.length >= MIN_TREEIFY_CAPACITY && isChainLongerThan(newEntry, TREEIFY_THRESHOLD - 1)) {
+                treeify(table, index);
+            }
+        }
+        size++;
+        modCount++;
+    }
+
+    private void setOrAddEntry(Entry<K, V> entry, K key, int hash, V value) {
+        if (entry == null) {
+            addEntry(key, hash, value);
+        } else {
+            entry.value = value;
+        }
+    }
+
+    // a null value removes the entry, like in java.util.Map
+    private void setOrRemoveEntry(Entry<K, V> entry, K key, int hash, V value) {
+        if (value != null) {
+            entry.value = value;
+        } else {
+            removeMapping(key, hash);
+            shrink();
+        }
+    }
+
+    private void checkNotModifiedByFunction(int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException("The map was modified by the mapping function");
+        }
     }
 
     private V changeValueIfKeyEquals(Entry<K, V> currentBucket, V value) {
@@ -155,13 +512,332 @@ public class HashMap<K, V> implements Map<K, V> {
         return resultValue;
     }
 
-    private V addEntryIntoTheEndOfTheChainAndIncreaseSize(Entry<K, V>[] buckets, K key, V value) {
-        int index = getIndex(buckets, key);
-        Entry<K, V> newEntry = new Entry<>(key, value);
-        Entry<K, V> currentEntry = getLastEntry(buckets[index]);
-        currentEntry.next = newEntry;
-        size++;
-        return currentEntry.value;
+
+    // Tree bins. The entries of a tree bin stay linked through next, which keeps iteration and resizing
+    // unaware of trees, and are also linked into a red-black tree ordered by hash, then by compareTo
+    // for keys of the same Comparable class. Keys that neither orders are searched for in both subtrees.
+
+    private void treeify(Entry<K, V>[] table, int index) {
+        TreeEntry<K, V> root = null;
+        TreeEntry<K, V> last = null;
+        for (Entry<K, V> entry = table[index]; entry != null; entry = entry.next) {
+            TreeEntry<K, V> treeEntry = entry instanceof TreeEntry
+                    ? (TreeEntry<K, V>) entry
+                    : new TreeEntry<>(entry.key, entry.hash, entry.value);
+            treeEntry.parent = treeEntry.left = treeEntry.right = null;
+            treeEntry.prev = last;
+            if (last == null) {
+                table[index] = treeEntry;
+            } else {
+                last.next = treeEntry;
+            }
+            last = treeEntry;
+            root = root == null ? treeEntry : insertIntoTree(root, treeEntry);
+            root.red = false;
+        }
+        last.next = null;
+    }
+
+    private void untreeify(Entry<K, V>[] table, int index) {
+        Entry<K, V> last = null;
+        for (Entry<K, V> entry = table[index]; entry != null; entry = entry.next) {
+            Entry<K, V> plainEntry = new Entry<>(entry.key, entry.hash, entry.value);
+            if (last == null) {
+                table[index] = plainEntry;
+            } else {
+                last.next = plainEntry;
+            }
+            last = plainEntry;
+        }
+    }
+
+    // links the new entry right after the first one in the chain, so the bucket head never changes
+    private void putTreeEntry(TreeEntry<K, V> first, TreeEntry<K, V> newEntry) {
+        newEntry.prev = first;
+        newEntry.next = first.next;
+        if (first.next != null) {
+            ((TreeEntry<K, V>) first.next).prev = newEntry;
+        }
+        first.next = newEntry;
+        insertIntoTree(root(first), newEntry);
+    }
+
+    private void removeTreeEntry(Entry<K, V>[] table, int index, TreeEntry<K, V> treeEntry) {
+        TreeEntry<K, V> root = root(table[index]);
+        TreeEntry<K, V> next = (TreeEntry<K, V>) treeEntry.next;
+        if (treeEntry.prev == null) {
+            table[index] = next;
+        } else {
+            treeEntry.prev.next = next;
+        }
+        if (next != null) {
+            next.prev = treeEntry.prev;
+        }
+        deleteFromTree(root, treeEntry);
+    }
+
+    private static <K, V> TreeEntry<K, V> root(Entry<K, V> entry) {
+        TreeEntry<K, V> root = (TreeEntry<K, V>) entry;
+        while (root.parent != null) {
+            root = root.parent;
+        }
+        return root;
+    }
+
+    private static <K, V> TreeEntry<K, V> findTreeEntry(TreeEntry<K, V> node, K key, int hash) {
+        while (node != null) {
+            if (hash < node.hash) {
+                node = node.left;
+            } else if (hash > node.hash) {
+                node = node.right;
+            } else if (Objects.equals(node.key, key)) {
+                return node;
+            } else {
+                int compareResult = compareComparables(key, node.key);
+                if (compareResult < 0) {
+                    node = node.left;
+                } else if (compareResult > 0) {
+                    node = node.right;
+                } else {
+                    TreeEntry<K, V> found = findTreeEntry(node.right, key, hash);
+                    if (found != null) {
+                        return found;
+                    }
+                    node = node.left;
+                }
+            }
+        }
+        return null;
+    }
+
+    // returns 0 when the keys are not comparable with each other
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareComparables(Object key, Object otherKey) {
+        if (key == null || otherKey == null || key.getClass() != otherKey.getClass() || !(key instanceof Comparable)) {
+            return 0;
+        }
+        return ((Comparable) key).compareTo(otherKey);
+    }
+
+    // any consistent order will do for keys compareComparables cannot tell apart, lookups search both sides
+    private static int tieBreakOrder(Object key, Object otherKey) {
+        if (key != null && otherKey != null) {
+            int compareResult = key.getClass().getName().compareTo(otherKey.getClass().getName());
+            if (compareResult != 0) {
+                return compareResult;
+            }
+        }
+        return System.identityHashCode(key) <= System.identityHashCode(otherKey) ? -1 : 1;
+    }
+
+    private static <K, V> TreeEntry<K, V> insertIntoTree(TreeEntry<K, V> root, TreeEntry<K, V> newEntry) {
+        TreeEntry<K, V> parent = null;
+        TreeEntry<K, V> node = root;
+        boolean left = false;
+        while (node != null) {
+            parent = node;
+            int compareResult = Integer.compare(newEntry.hash, node.hash);
+            if (compareResult == 0) {
+                compareResult = compareComparables(newEntry.key, node.key);
+            }
+            if (compareResult == 0) {
+                compareResult = tieBreakOrder(newEntry.key, node.key);
+            }
+            left = compareResult < 0;
+            node = left ? node.left : node.right;
+        }
+        newEntry.parent = parent;
+        if (left) {
+            parent.left = newEntry;
+        } else {
+            parent.right = newEntry;
+        }
+        return balanceInsertion(root, newEntry);
+    }
+
+    private static <K, V> TreeEntry<K, V> balanceInsertion(TreeEntry<K, V> root, TreeEntry<K, V> node) {
+        node.red = true;
+        while (node != root && node.parent.red) {
+            TreeEntry<K, V> parent = node.parent;
+            TreeEntry<K, V> grandParent = parent.parent;
+            if (parent == grandParent.left) {
+                TreeEntry<K, V> uncle = grandParent.right;
+                if (isRed(uncle)) {
+                    parent.red = false;
+                    uncle.red = false;
+                    grandParent.red = true;
+                    node = grandParent;
+                } else {
+                    if (node == parent.right) {
+                        node = parent;
+                        root = rotateLeft(root, node);
+                        parent = node.parent;
+                    }
+                    parent.red = false;
+                    grandParent.red = true;
+                    root = rotateRight(root, grandParent);
+                }
+            } else {
+                TreeEntry<K, V> uncle = grandParent.left;
+                if (isRed(uncle)) {
+                    parent.red = false;
+                    uncle.red = false;
+                    grandParent.red = true;
+                    node = grandParent;
+                } else {
+                    if (node == parent.left) {
+                        node = parent;
+                        root = rotateRight(root, node);
+                        parent = node.parent;
+                    }
+                    parent.red = false;
+                    grandParent.red = true;
+                    root = rotateLeft(root, grandParent);
+                }
+            }
+        }
+        root.red = false;
+        return root;
+    }
+
+    private static <K, V> TreeEntry<K, V> deleteFromTree(TreeEntry<K, V> root, TreeEntry<K, V> node) {
+        TreeEntry<K, V> replacement;
+        TreeEntry<K, V> replacementParent;
+        boolean removedBlack;
+        if (node.left == null || node.right == null) {
+            replacement = node.left == null ? node.right : node.left;
+            replacementParent = node.parent;
+            removedBlack = !node.red;
+            root = transplant(root, node, replacement);
+        } else {
+            TreeEntry<K, V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            removedBlack = !successor.red;
+            replacement = successor.right;
+            if (successor.parent == node) {
+                replacementParent = successor;
+            } else {
+                replacementParent = successor.parent;
+                root = transplant(root, successor, successor.right);
+                successor.right = node.right;
+                successor.right.parent = successor;
+            }
+            root = transplant(root, node, successor);
+            successor.left = node.left;
+            successor.left.parent = successor;
+            successor.red = node.red;
+        }
+        node.parent = node.left = node.right = null;
+        if (removedBlack) {
+            root = balanceDeletion(root, replacement, replacementParent);
+        }
+        return root;
+    }
+
+    private static <K, V> TreeEntry<K, V> balanceDeletion(TreeEntry<K, V> root, TreeEntry<K, V> node,
+                                                          TreeEntry<K, V> parent) {
+        while (node != root && !isRed(node)) {
+            if (node == parent.left) {
+                TreeEntry<K, V> sibling = parent.right;
+                if (sibling.red) {
+                    sibling.red = false;
+                    parent.red = true;
+                    root = rotateLeft(root, parent);
+                    sibling = parent.right;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.red = true;
+                    node = parent;
+                    parent = node.parent;
+                } else {
+                    if (!isRed(sibling.right)) {
+                        sibling.left.red = false;
+                        sibling.red = true;
+                        root = rotateRight(root, sibling);
+                        sibling = parent.right;
+                    }
+                    sibling.red = parent.red;
+                    parent.red = false;
+                    sibling.right.red = false;
+                    root = rotateLeft(root, parent);
+                    node = root;
+                }
+            } else {
+                TreeEntry<K, V> sibling = parent.left;
+                if (sibling.red) {
+                    sibling.red = false;
+                    parent.red = true;
+                    root = rotateRight(root, parent);
+                    sibling = parent.left;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.red = true;
+                    node = parent;
+                    parent = node.parent;
+                } else {
+                    if (!isRed(sibling.left)) {
+                        sibling.right.red = false;
+                        sibling.red = true;
+                        root = rotateLeft(root, sibling);
+                        sibling = parent.left;
+                    }
+                    sibling.red = parent.red;
+                    parent.red = false;
+                    sibling.left.red = false;
+                    root = rotateRight(root, parent);
+                    node = root;
+                }
+            }
+        }
+        if (node != null) {
+            node.red = false;
+        }
+        return root;
+    }
+
+    private static <K, V> TreeEntry<K, V> transplant(TreeEntry<K, V> root, TreeEntry<K, V> node,
+                                                     TreeEntry<K, V> replacement) {
+        if (node.parent == null) {
+            root = replacement;
+        } else if (node == node.parent.left) {
+            node.parent.left = replacement;
+        } else {
+            node.parent.right = replacement;
+        }
+        if (replacement != null) {
+            replacement.parent = node.parent;
+        }
+        return root;
+    }
+
+    private static <K, V> TreeEntry<K, V> rotateLeft(TreeEntry<K, V> root, TreeEntry<K, V> node) {
+        TreeEntry<K, V> right = node.right;
+        node.right = right.left;
+        if (right.left != null) {
+            right.left.parent = node;
+        }
+        root = transplant(root, node, right);
+        right.left = node;
+        node.parent = right;
+        return root;
+    }
+
+    private static <K, V> TreeEntry<K, V> rotateRight(TreeEntry<K, V> root, TreeEntry<K, V> node) {
+        TreeEntry<K, V> left = node.left;
+        node.left = left.right;
+        if (left.right != null) {
+            left.right.parent = node;
+        }
+        root = transplant(root, node, left);
+        left.right = node;
+        node.parent = left;
+        return root;
+    }
+
+    private static boolean isRed(TreeEntry<?, ?> node) {
+        return node != null && node.red;
     }
 
 
@@ -170,68 +846,236 @@ public class HashMap<K, V> implements Map<K, V> {
         return new HashMapIterator();
     }
 
+    // walks the buckets directly, no iterator is allocated
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        // the iterator walks both tables, so an incremental resize in progress is not forced to complete
+        if (oldBuckets != null) {
+            Map.super.forEach(action);
+            return;
+        }
+        int expectedModCount = modCount;
+        Entry<K, V>[] table = buckets;
+        for (int i = 0; i < table.length && modCount == expectedModCount; i++) {
+            for (Entry<K, V> entry = table[i]; entry != null; entry = entry.next) {
+                action.accept(entry.key, entry.value);
+            }
+        }
+        checkForComodification(expectedModCount);
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return new HashMapSpliterator(0, -1, 0);
+    }
+
+    // While an incremental resize is in progress, the iterator first walks the buckets of oldBuckets that were
+    // not moved yet and then buckets, skipping the entries it has already returned from oldBuckets. Rehash steps
+    // done by get calls between next calls keep moving buckets; if one overtakes the iterator, the rest of the
+    // resize is completed at once and the remaining entries are taken from buckets.
     private class HashMapIterator implements Iterator<Map.Entry<K, V>> {
-        private int index;
-        private int entryCount;
-        private boolean checkNext = false;
-        private Entry<K, V> currentBucket;
-        private Entry<K, V> currentEntry;
+        // the table being drained when the iterator was created, null if there was none
+        private final Entry<K, V>[] oldTable = oldBuckets;
+        // entries of the oldTable buckets in [oldFrom, oldTo) are returned while walking oldTable
+        private final int oldFrom = rehashIndex;
+        private int oldTo;
+        private boolean walkingOldTable = oldTable != null;
+        private int index = walkingOldTable ? oldFrom : 0;
+        // entries of the old bucket being walked, copied because a rehash step relinks them
+        private Entry<K, V>[] bucketEntries;
+        private int bucketSize;
+        private int bucketPosition;
+        // next candidate in the chain of buckets being walked
+        private Entry<K, V> chain;
+        private Entry<K, V> nextEntry;
+        private Entry<K, V> lastReturned;
+        private int expectedModCount = modCount;
 
         @Override
         public boolean hasNext() {
-            return entryCount != size;
+            if (nextEntry == null && walkingOldTable) {
+                nextEntry = nextInOldTable();
+            }
+            if (nextEntry == null) {
+                nextEntry = nextInTable();
+            }
+            return nextEntry != null;
         }
 
         @Override
         public Entry<K, V> next() {
+            checkForComodification(expectedModCount);
             if (!hasNext()) {
                 throw new NoSuchElementException("There is no next element in the map");
             }
+            lastReturned = nextEntry;
+            nextEntry = null;
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Called remove method without next");
+            }
+            checkForComodification(expectedModCount);
+            removeMapping(lastReturned.key);
+            expectedModCount = modCount;
+            lastReturned = null;
+        }
+
+        private Entry<K, V> nextInOldTable() {
+            while (bucketPosition == bucketSize) {
+                if (index == oldTable.length || oldBuckets != oldTable || rehashIndex > index) {
+                    if (index < oldTable.length) {
+                        finishRehash();
+                    }
+                    oldTo = index;
+                    index = 0;
+                    walkingOldTable = false;
+                    return null;
+                }
+                copyBucket(oldTable[index++]);
+            }
+            return bucketEntries[bucketPosition++];
+        }
+
+        private Entry<K, V> nextInTable() {
             while (true) {
-                currentBucket = buckets[index];
-                if (currentEntry != null) {
-                    currentBucket = currentEntry;
+                while (chain == null) {
+                    if (index >= buckets.length) {
+                        return null;
+                    }
+                    chain = buckets[index++];
                 }
-                if (currentBucket == null) {
-                    index++;
+                Entry<K, V> entry = chain;
+                chain = chain.next;
+                if (oldTable == null || !isReturnedFromOldTable(entry)) {
+                    return entry;
+                }
+            }
+        }
+
+        private boolean isReturnedFromOldTable(Entry<K, V> entry) {
+            int oldIndex = getIndex(oldTable, entry.hash);
+            return oldIndex >= oldFrom && oldIndex < oldTo;
+        }
+
+        private void copyBucket(Entry<K, V> entry) {
+            if (bucketEntries == null) {
+                bucketEntries = newTable(TREEIFY_THRESHOLD);
+            }
+            bucketSize = 0;
+            bucketPosition = 0;
+            for (; entry != null; entry = entry.next) {
+                if (bucketSize == bucketEntries.length) {
+                    bucketEntries = Arrays.copyOf(bucketEntries, bucketSize * GROW_CONST);
+                }
+                bucketEntries[bucketSize++] = entry;
+            }
+        }
+    }
+
+
+    // splits the bucket range in halves. Only the spliterator covering the whole table knows its exact size,
+    // the parts estimate theirs from the share of buckets they cover.
+    private class HashMapSpliterator implements Spliterator<Map.Entry<K, V>> {
+        private Entry<K, V>[] table;
+        private int index;
+        private int fence;
+        private int estimate;
+        private int expectedModCount;
+        private Entry<K, V> current;
+
+        private HashMapSpliterator(int index, int fence, int estimate) {
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            int end = getFence();
+            while (current == null && index < end) {
+                current = table[index++];
+            }
+            if (current == null) {
+                return false;
+            }
+            Entry<K, V> entry = current;
+            current = current.next;
+            action.accept(entry);
+            checkForComodification(expectedModCount);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Map.Entry<K, V>> action) {
+            int end = getFence();
+            Entry<K, V> entry = current;
+            current = null;
+            while (entry != null || index < end) {
+                if (entry == null) {
+                    entry = table[index++];
                 } else {
-                    if (currentBucket.next == null) {
-                        index++;
-                        entryCount++;
-                        checkNext = true;
-                        currentEntry = null;
-                    } else {
-                        entryCount++;
-                        checkNext = true;
-                        currentEntry = currentBucket.next;
-                    }
-                    return currentBucket;
+                    action.accept(entry);
+                    entry = entry.next;
                 }
             }
+            checkForComodification(expectedModCount);
         }
 
         @Override
-        public void remove() {
-            if (!checkNext) {
-                throw new IllegalStateException("Called remove method without next");
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            int end = getFence();
+            int middle = (index + end) >>> 1;
+            if (index >= middle || current != null) {
+                return null;
+            }
+            estimate >>>= 1;
+            HashMapSpliterator prefix = new HashMapSpliterator(index, middle, estimate);
+            prefix.table = table;
+            prefix.expectedModCount = expectedModCount;
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            getFence();
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | (fence < 0 || estimate == size ? SIZED : 0);
+        }
+
+        // binds to the table on the first use, a pending incremental resize is completed first
+        private int getFence() {
+            if (fence < 0) {
+                finishRehash();
+                table = buckets;
+                fence = table.length;
+                estimate = size;
+                expectedModCount = modCount;
             }
-            HashMap.this.remove(currentBucket.key);
-            checkNext = false;
+            return fence;
         }
     }
 
 
+    // fields are not private, so that they can be reached through TreeEntry references
     private static class Entry<K, V> implements Map.Entry<K, V> {
-        private final K key;
-        private final int hash;
-        private V value;
-        private Entry<K, V> next;
+        final K key;
+        final int hash;
+        V value;
+        Entry<K, V> next;
 
-        private Entry(K key, V value) {
+        private Entry(K key, int hash, V value) {
             this.key = key;
+            this.hash = hash;
             this.value = value;
-            this.hash = getHash(key);
-            this.next = null;
         }
 
 
@@ -255,14 +1099,20 @@ public class HashMap<K, V> implements Map<K, V> {
             return key + "=" + value;
         }
 
-        private int getHash(K key) {
-            if (key == null) {
-                return 0;
-            }
-            return key.hashCode();
-        }
 
+    }
 
+    private static class TreeEntry<K, V> extends Entry<K, V> {
+        private TreeEntry<K, V> parent;
+        private TreeEntry<K, V> left;
+        private TreeEntry<K, V> right;
+        // previous entry in the chain, so that an entry can be unlinked without walking the bucket
+        private TreeEntry<K, V> prev;
+        private boolean red;
+
+        private TreeEntry(K key, int hash, V value) {
+            super(key, hash, value);
+        }
     }
 
 
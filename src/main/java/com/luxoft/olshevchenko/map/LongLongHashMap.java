@@ -0,0 +1,267 @@
+package com.luxoft.olshevchenko.map;
+
+import java.util.*;
+
+/**
+ * Linear probing hash map from long keys to long values, without boxing.
+ * {@link #get(long)} and {@link #put(long, long)} return 0 for an absent key, {@link #containsKey(long)} tells the two apart.
+ * {@link #asMap()} exposes it through the {@link Map} interface.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class LongLongHashMap {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int GROW_CONST = 2;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final byte FREE = 0;
+    private static final byte FULL = 1;
+    private static final byte DELETED = 2;
+
+    private long[] keys;
+    private long[] values;
+    private byte[] states;
+    private int size;
+    private int deleted;
+
+    public LongLongHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public LongLongHashMap(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length should be positive, but was " + length);
+        }
+        allocate(tableSizeFor(length));
+    }
+
+
+    public long put(long key, long value) {
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            long oldValue = values[slot];
+            values[slot] = value;
+            return oldValue;
+        }
+        if (size + deleted + 1 > keys.length * LOAD_FACTOR) {
+            rehash(size + 1 > keys.length * LOAD_FACTOR / GROW_CONST ? keys.length * GROW_CONST : keys.length);
+        }
+        insert(key, value);
+        size++;
+        return 0;
+    }
+
+    public long get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        int slot = findSlot(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        return findSlot(key) >= 0;
+    }
+
+    public long remove(long key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            throw new IllegalStateException("There is no entry corresponding to the key " + key);
+        }
+        long oldValue = values[slot];
+        removeAt(slot);
+        return oldValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Map<Long, Long> asMap() {
+        return new MapView();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "{", "}");
+        for (int i = 0; i < keys.length; i++) {
+            if (states[i] == FULL) {
+                stringJoiner.add(keys[i] + "=" + values[i]);
+            }
+        }
+        return stringJoiner.toString();
+    }
+
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = getIndex(key, mask);
+        while (states[slot] != FREE) {
+            if (states[slot] == FULL && keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long key, long value) {
+        int mask = keys.length - 1;
+        int slot = getIndex(key, mask);
+        while (states[slot] == FULL) {
+            slot = (slot + 1) & mask;
+        }
+        if (states[slot] == DELETED) {
+            deleted--;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        states[slot] = FULL;
+    }
+
+    private void removeAt(int slot) {
+        states[slot] = DELETED;
+        size--;
+        deleted++;
+    }
+
+    private void rehash(int newLength) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        byte[] oldStates = states;
+        allocate(newLength);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStates[i] == FULL) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int length) {
+        keys = new long[length];
+        values = new long[length];
+        states = new byte[length];
+        deleted = 0;
+    }
+
+    private static int getIndex(long key, int mask) {
+        int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int tableSizeFor(int length) {
+        int highestBit = Integer.highestOneBit(Math.max(length, 2));
+        return highestBit == length ? length : highestBit << 1;
+    }
+
+
+    private class MapView implements Map<Long, Long> {
+
+        @Override
+        public Long put(Long key, Long value) {
+            Objects.requireNonNull(key, "Null keys are not supported");
+            Objects.requireNonNull(value, "Null values are not supported");
+            Long oldValue = get(key);
+            LongLongHashMap.this.put(key, value);
+            return oldValue;
+        }
+
+        @Override
+        public Long get(Long key) {
+            if (key == null) {
+                return null;
+            }
+            int slot = findSlot(key);
+            return slot >= 0 ? values[slot] : null;
+        }
+
+        @Override
+        public boolean containsKey(Long key) {
+            return key != null && LongLongHashMap.this.containsKey(key);
+        }
+
+        @Override
+        public Long remove(Long key) {
+            if (key == null) {
+                throw new IllegalStateException("There is no entry corresponding to the key null");
+            }
+            return LongLongHashMap.this.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return LongLongHashMap.this.toString();
+        }
+
+        @Override
+        public Iterator<Map.Entry<Long, Long>> iterator() {
+            return new MapViewIterator();
+        }
+    }
+
+    private class MapViewIterator implements Iterator<Map.Entry<Long, Long>> {
+        private int index;
+        private int lastReturned = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (index < keys.length && states[index] != FULL) {
+                index++;
+            }
+            return index < keys.length;
+        }
+
+        @Override
+        public Map.Entry<Long, Long> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the map");
+            }
+            lastReturned = index++;
+            return new SlotEntry(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called remove method without next");
+            }
+            removeAt(lastReturned);
+            lastReturned = -1;
+        }
+    }
+
+    private class SlotEntry implements Map.Entry<Long, Long> {
+        private final int slot;
+
+        private SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public Long getKey() {
+            return keys[slot];
+        }
+
+        @Override
+        public Long getValue() {
+            return values[slot];
+        }
+
+        @Override
+        public void setValue(Long value) {
+            values[slot] = Objects.requireNonNull(value, "Null values are not supported");
+        }
+
+        @Override
+        public String toString() {
+            return keys[slot] + "=" + values[slot];
+        }
+    }
+
+
+}
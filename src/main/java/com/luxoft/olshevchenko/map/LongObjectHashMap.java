@@ -0,0 +1,260 @@
+package com.luxoft.olshevchenko.map;
+
+import java.util.*;
+
+/**
+ * Linear probing hash map keyed by long values, without boxing or hashCode()/equals() calls on keys.
+ * {@link #asMap()} exposes it through the {@link Map} interface.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class LongObjectHashMap<V> {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int GROW_CONST = 2;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final byte FREE = 0;
+    private static final byte FULL = 1;
+    private static final byte DELETED = 2;
+
+    private long[] keys;
+    private Object[] values;
+    private byte[] states;
+    private int size;
+    private int deleted;
+
+    public LongObjectHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public LongObjectHashMap(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length should be positive, but was " + length);
+        }
+        allocate(tableSizeFor(length));
+    }
+
+
+    public V put(long key, V value) {
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            V oldValue = valueAt(slot);
+            values[slot] = value;
+            return oldValue;
+        }
+        if (size + deleted + 1 > keys.length * LOAD_FACTOR) {
+            rehash(size + 1 > keys.length * LOAD_FACTOR / GROW_CONST ? keys.length * GROW_CONST : keys.length);
+        }
+        insert(key, value);
+        size++;
+        return null;
+    }
+
+    public V get(long key) {
+        int slot = findSlot(key);
+        return slot >= 0 ? valueAt(slot) : null;
+    }
+
+    public boolean containsKey(long key) {
+        return findSlot(key) >= 0;
+    }
+
+    public V remove(long key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            throw new IllegalStateException("There is no entry corresponding to the key " + key);
+        }
+        V oldValue = valueAt(slot);
+        removeAt(slot);
+        return oldValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Map<Long, V> asMap() {
+        return new MapView();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "{", "}");
+        for (int i = 0; i < keys.length; i++) {
+            if (states[i] == FULL) {
+                stringJoiner.add(keys[i] + "=" + values[i]);
+            }
+        }
+        return stringJoiner.toString();
+    }
+
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = getIndex(key, mask);
+        while (states[slot] != FREE) {
+            if (states[slot] == FULL && keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long key, Object value) {
+        int mask = keys.length - 1;
+        int slot = getIndex(key, mask);
+        while (states[slot] == FULL) {
+            slot = (slot + 1) & mask;
+        }
+        if (states[slot] == DELETED) {
+            deleted--;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        states[slot] = FULL;
+    }
+
+    private void removeAt(int slot) {
+        states[slot] = DELETED;
+        values[slot] = null;
+        size--;
+        deleted++;
+    }
+
+    private void rehash(int newLength) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        byte[] oldStates = states;
+        allocate(newLength);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStates[i] == FULL) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int length) {
+        keys = new long[length];
+        values = new Object[length];
+        states = new byte[length];
+        deleted = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    private static int getIndex(long key, int mask) {
+        int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int tableSizeFor(int length) {
+        int highestBit = Integer.highestOneBit(Math.max(length, 2));
+        return highestBit == length ? length : highestBit << 1;
+    }
+
+
+    private class MapView implements Map<Long, V> {
+
+        @Override
+        public V put(Long key, V value) {
+            return LongObjectHashMap.this.put(Objects.requireNonNull(key, "Null keys are not supported"), value);
+        }
+
+        @Override
+        public V get(Long key) {
+            return key == null ? null : LongObjectHashMap.this.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Long key) {
+            return key != null && LongObjectHashMap.this.containsKey(key);
+        }
+
+        @Override
+        public V remove(Long key) {
+            if (key == null) {
+                throw new IllegalStateException("There is no entry corresponding to the key null");
+            }
+            return LongObjectHashMap.this.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return LongObjectHashMap.this.toString();
+        }
+
+        @Override
+        public Iterator<Map.Entry<Long, V>> iterator() {
+            return new MapViewIterator();
+        }
+    }
+
+    private class MapViewIterator implements Iterator<Map.Entry<Long, V>> {
+        private int index;
+        private int lastReturned = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (index < keys.length && states[index] != FULL) {
+                index++;
+            }
+            return index < keys.length;
+        }
+
+        @Override
+        public Map.Entry<Long, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the map");
+            }
+            lastReturned = index++;
+            return new SlotEntry(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called remove method without next");
+            }
+            removeAt(lastReturned);
+            lastReturned = -1;
+        }
+    }
+
+    private class SlotEntry implements Map.Entry<Long, V> {
+        private final int slot;
+
+        private SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public Long getKey() {
+            return keys[slot];
+        }
+
+        @Override
+        public V getValue() {
+            return valueAt(slot);
+        }
+
+        @Override
+        public void setValue(V value) {
+            values[slot] = value;
+        }
+
+        @Override
+        public String toString() {
+            return keys[slot] + "=" + values[slot];
+        }
+    }
+
+
+}
@@ -0,0 +1,532 @@
+package com.luxoft.olshevchenko.map;
+
+import com.luxoft.olshevchenko.serialization.Serializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.IntConsumer;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Hash map kept in a memory-mapped file, so reopening the file gives a ready map without rehashing.
+ * Keys and values are stored in their serialized form and keys are hashed and compared by their bytes.
+ * <p>
+ * The file starts with a header and the bucket table, followed by the entries, each of them linking to the next
+ * one in its bucket. Replaced and removed entries stay in the file as dead bytes until the next resize, snapshot or
+ * compaction, which write a compacted copy and atomically move it into place. A compaction runs once the dead bytes
+ * reach half of the data, or when an append would otherwise pass the mapping limit. The header is marked dirty before the first change after
+ * opening or {@link #checkpoint()}, and a dirty file is refused on open, since a crash may have left it half
+ * written. {@link #snapshot(Path)} gives a consistent copy to restart from.
+ * A single mapping is used, which limits the file to 2 GB.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class MappedHashMap<K, V> implements Map<K, V>, AutoCloseable {
+    private static final int MAGIC = 0x4D484D31;
+    private static final int VERSION = 1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_DATA_CAPACITY = 4096;
+    private static final int GROW_CONST = 2;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int CLEAN = 0;
+    private static final int DIRTY = 1;
+    private static final int NULL_LENGTH = -1;
+    // dead bytes below it are left in place, so that small maps are not rewritten on every change
+    private static final int MIN_COMPACTION_DEAD_BYTES = 64 * 1024;
+    private static final double MAX_DEAD_FRACTION = 0.5;
+
+    // header: magic, version, bucket count, size, end of data, state, dead bytes
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int BUCKET_COUNT_OFFSET = 8;
+    private static final int SIZE_OFFSET = 12;
+    private static final int DATA_END_OFFSET = 16;
+    private static final int STATE_OFFSET = 24;
+    private static final int DEAD_BYTES_OFFSET = 28;
+    private static final int HEADER_SIZE = 32;
+
+    // entry: offset of the next entry in the bucket (0 for none), hash, key length, value length, key, value
+    private static final int NEXT_OFFSET = 0;
+    private static final int HASH_OFFSET = 8;
+    private static final int KEY_LENGTH_OFFSET = 12;
+    private static final int VALUE_LENGTH_OFFSET = 16;
+    private static final int ENTRY_HEADER_SIZE = 20;
+
+    private final Path file;
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int bucketCount;
+    private int size;
+    private int dataEnd;
+    // bytes of replaced and removed entries, reclaimed by the next rebuild
+    private int deadBytes;
+    // counts rebuilds, which move every entry, iterators fail fast when it changes behind their back
+    private int rebuildCount;
+    private boolean dirty;
+    private boolean closed;
+
+    // opens the file if it exists, otherwise creates an empty map in it
+    public MappedHashMap(Path file, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        this.file = file;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the map file " + file, e);
+        }
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        V oldValue = putValue(key, value);
+        compactIfWasteful();
+        return oldValue;
+    }
+
+    @Override
+    public V get(K key) {
+        ensureOpen();
+        byte[] keyBytes = key == null ? null : keySerializer.serialize(key);
+        int link = findLink(keyBytes, hash(keyBytes));
+        return link >= 0 ? readValue((int) buffer.getLong(link)) : null;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        ensureOpen();
+        byte[] keyBytes = key == null ? null : keySerializer.serialize(key);
+        return findLink(keyBytes, hash(keyBytes)) >= 0;
+    }
+
+    @Override
+    public V remove(K key) {
+        V oldValue = removeMapping(key);
+        compactIfWasteful();
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "{", "}");
+        for (Map.Entry<K, V> entry : this) {
+            stringJoiner.add(entry.toString());
+        }
+        return stringJoiner.toString();
+    }
+
+    // flushes all changes to disk and marks the file clean, so it can be reopened after a crash
+    public void checkpoint() {
+        ensureOpen();
+        buffer.force();
+        buffer.putInt(STATE_OFFSET, CLEAN);
+        buffer.force();
+        dirty = false;
+    }
+
+    // writes a compacted copy of the map to the target file, which is replaced atomically
+    public void snapshot(Path target) {
+        ensureOpen();
+        try {
+            Path tempFile = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+            writeCompactCopy(tempFile, bucketCount);
+            Files.move(tempFile, target, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write a snapshot to " + target, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        checkpoint();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close the map file " + file, e);
+        } finally {
+            buffer = null;
+            closed = true;
+        }
+    }
+
+
+    // does not compact on dead bytes, so that the iterators' positions stay valid for setValue
+    private V putValue(K key, V value) {
+        ensureOpen();
+        byte[] keyBytes = key == null ? null : keySerializer.serialize(key);
+        byte[] valueBytes = value == null ? null : valueSerializer.serialize(value);
+        int hash = hash(keyBytes);
+        markDirty();
+        if ((long) dataEnd + ENTRY_HEADER_SIZE + Math.max(length(keyBytes), 0) + Math.max(length(valueBytes), 0)
+                > Integer.MAX_VALUE && deadBytes > 0) {
+            rebuild(bucketCount);
+            markDirty();
+        }
+        int link = findLink(keyBytes, hash);
+        if (link >= 0) {
+            int entry = (int) buffer.getLong(link);
+            V oldValue = readValue(entry);
+            if (buffer.getInt(entry + VALUE_LENGTH_OFFSET) == length(valueBytes)) {
+                writeBytes(valueOffset(entry), valueBytes);
+            } else {
+                int newEntry = appendEntry(hash, keyBytes, valueBytes, buffer.getLong(entry + NEXT_OFFSET));
+                buffer.putLong(link, newEntry);
+                addDeadBytes(entrySize(entry));
+            }
+            return oldValue;
+        }
+        if (size + 1 > bucketCount * LOAD_FACTOR) {
+            rebuild(bucketCount * GROW_CONST);
+            markDirty();
+        }
+        int bucket = getBucketOffset(hash);
+        int newEntry = appendEntry(hash, keyBytes, valueBytes, buffer.getLong(bucket));
+        buffer.putLong(bucket, newEntry);
+        setSize(size + 1);
+        return null;
+    }
+
+    // does not compact, so that the iterators' positions stay valid for their remove
+    private V removeMapping(K key) {
+        ensureOpen();
+        byte[] keyBytes = key == null ? null : keySerializer.serialize(key);
+        int link = findLink(keyBytes, hash(keyBytes));
+        if (link < 0) {
+            throw new IllegalStateException("There is no entry corresponding to the key " + key);
+        }
+        int entry = (int) buffer.getLong(link);
+        V oldValue = readValue(entry);
+        markDirty();
+        buffer.putLong(link, buffer.getLong(entry + NEXT_OFFSET));
+        setSize(size - 1);
+        addDeadBytes(entrySize(entry));
+        return oldValue;
+    }
+
+    // a map of steady size under overwrites and removals would otherwise grow its file without bound
+    private void compactIfWasteful() {
+        if (deadBytes >= MIN_COMPACTION_DEAD_BYTES && deadBytes >= dataEnd * MAX_DEAD_FRACTION) {
+            rebuild(bucketCount);
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, READ, WRITE, CREATE);
+        try {
+            if (channel.size() == 0) {
+                int length = HEADER_SIZE + INITIAL_CAPACITY * Long.BYTES;
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length + INITIAL_DATA_CAPACITY);
+                writeHeader(buffer, INITIAL_CAPACITY, 0, length);
+                buffer.force();
+            } else {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("The map file " + file + " is larger than 2 GB");
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION) {
+                    throw new IllegalStateException("The file " + file + " is not a map file of version " + VERSION);
+                }
+                if (buffer.getInt(STATE_OFFSET) != CLEAN) {
+                    throw new IllegalStateException("The map file " + file + " was not closed or checkpointed, restore it from a snapshot");
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        bucketCount = buffer.getInt(BUCKET_COUNT_OFFSET);
+        size = buffer.getInt(SIZE_OFFSET);
+        dataEnd = (int) buffer.getLong(DATA_END_OFFSET);
+        deadBytes = buffer.getInt(DEAD_BYTES_OFFSET);
+        dirty = false;
+    }
+
+    private static void writeHeader(ByteBuffer buffer, int bucketCount, int size, int dataEnd) {
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(BUCKET_COUNT_OFFSET, bucketCount);
+        buffer.putInt(SIZE_OFFSET, size);
+        buffer.putLong(DATA_END_OFFSET, dataEnd);
+        buffer.putInt(STATE_OFFSET, CLEAN);
+        buffer.putInt(DEAD_BYTES_OFFSET, 0);
+    }
+
+    // the dirty mark has to reach the disk before any change does
+    private void markDirty() {
+        if (!dirty) {
+            buffer.putInt(STATE_OFFSET, DIRTY);
+            buffer.force();
+            dirty = true;
+        }
+    }
+
+    private void rebuild(int newBucketCount) {
+        try {
+            Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            writeCompactCopy(tempFile, newBucketCount);
+            channel.close();
+            Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            rebuildCount++;
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot resize the map file " + file, e);
+        }
+    }
+
+    // copies the raw bytes of the live entries, nothing is deserialized or rehashed
+    private void writeCompactCopy(Path target, int newBucketCount) throws IOException {
+        long[] liveBytes = new long[1];
+        forEachEntry(entry -> liveBytes[0] += entrySize(entry));
+        long length = HEADER_SIZE + (long) newBucketCount * Long.BYTES + liveBytes[0];
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The map does not fit into a 2 GB file");
+        }
+        try (FileChannel targetChannel = FileChannel.open(target, READ, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            MappedByteBuffer targetBuffer = targetChannel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            int[] targetEnd = {HEADER_SIZE + newBucketCount * Long.BYTES};
+            forEachEntry(entry -> {
+                int entrySize = entrySize(entry);
+                int bucket = HEADER_SIZE + (buffer.getInt(entry + HASH_OFFSET) & (newBucketCount - 1)) * Long.BYTES;
+                targetBuffer.put(targetEnd[0], buffer, entry, entrySize);
+                targetBuffer.putLong(targetEnd[0] + NEXT_OFFSET, targetBuffer.getLong(bucket));
+                targetBuffer.putLong(bucket, targetEnd[0]);
+                targetEnd[0] += entrySize;
+            });
+            writeHeader(targetBuffer, newBucketCount, size, targetEnd[0]);
+            targetBuffer.force();
+        }
+    }
+
+    private void forEachEntry(IntConsumer action) {
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            int entry = (int) buffer.getLong(HEADER_SIZE + bucket * Long.BYTES);
+            while (entry != 0) {
+                action.accept(entry);
+                entry = (int) buffer.getLong(entry + NEXT_OFFSET);
+            }
+        }
+    }
+
+    private int appendEntry(int hash, byte[] keyBytes, byte[] valueBytes, long next) {
+        int entry = dataEnd;
+        int entrySize = ENTRY_HEADER_SIZE + Math.max(length(keyBytes), 0) + Math.max(length(valueBytes), 0);
+        ensureCapacity((long) entry + entrySize);
+        buffer.putLong(entry + NEXT_OFFSET, next);
+        buffer.putInt(entry + HASH_OFFSET, hash);
+        buffer.putInt(entry + KEY_LENGTH_OFFSET, length(keyBytes));
+        buffer.putInt(entry + VALUE_LENGTH_OFFSET, length(valueBytes));
+        writeBytes(entry + ENTRY_HEADER_SIZE, keyBytes);
+        writeBytes(valueOffset(entry), valueBytes);
+        dataEnd = entry + entrySize;
+        buffer.putLong(DATA_END_OFFSET, dataEnd);
+        return entry;
+    }
+
+    // remaps the file with a larger length, the file grows with the mapping
+    private void ensureCapacity(long requiredCapacity) {
+        if (requiredCapacity <= buffer.capacity()) {
+            return;
+        }
+        if (requiredCapacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The map does not fit into a 2 GB file");
+        }
+        long newCapacity = Math.min(Math.max((long) buffer.capacity() * GROW_CONST, requiredCapacity), Integer.MAX_VALUE);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow the map file " + file, e);
+        }
+    }
+
+    // returns the position of the link pointing to the entry with the given key, -1 if there is none
+    private int findLink(byte[] keyBytes, int hash) {
+        int link = getBucketOffset(hash);
+        int entry = (int) buffer.getLong(link);
+        while (entry != 0) {
+            if (buffer.getInt(entry + HASH_OFFSET) == hash && keyEquals(entry, keyBytes)) {
+                return link;
+            }
+            link = entry + NEXT_OFFSET;
+            entry = (int) buffer.getLong(link);
+        }
+        return -1;
+    }
+
+    private boolean keyEquals(int entry, byte[] keyBytes) {
+        int keyLength = buffer.getInt(entry + KEY_LENGTH_OFFSET);
+        if (keyLength != length(keyBytes)) {
+            return false;
+        }
+        return keyBytes == null || buffer.slice(entry + ENTRY_HEADER_SIZE, keyLength).equals(ByteBuffer.wrap(keyBytes));
+    }
+
+    private K readKey(int entry) {
+        byte[] keyBytes = readBytes(entry + ENTRY_HEADER_SIZE, buffer.getInt(entry + KEY_LENGTH_OFFSET));
+        return keyBytes == null ? null : keySerializer.deserialize(keyBytes);
+    }
+
+    private V readValue(int entry) {
+        byte[] valueBytes = readBytes(valueOffset(entry), buffer.getInt(entry + VALUE_LENGTH_OFFSET));
+        return valueBytes == null ? null : valueSerializer.deserialize(valueBytes);
+    }
+
+    private byte[] readBytes(int offset, int length) {
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return bytes;
+    }
+
+    private void writeBytes(int offset, byte[] bytes) {
+        if (bytes != null) {
+            buffer.put(offset, bytes);
+        }
+    }
+
+    private int valueOffset(int entry) {
+        return entry + ENTRY_HEADER_SIZE + Math.max(buffer.getInt(entry + KEY_LENGTH_OFFSET), 0);
+    }
+
+    private int entrySize(int entry) {
+        return valueOffset(entry) - entry + Math.max(buffer.getInt(entry + VALUE_LENGTH_OFFSET), 0);
+    }
+
+    private int getBucketOffset(int hash) {
+        return HEADER_SIZE + (hash & (bucketCount - 1)) * Long.BYTES;
+    }
+
+    private void addDeadBytes(int bytes) {
+        deadBytes += bytes;
+        buffer.putInt(DEAD_BYTES_OFFSET, deadBytes);
+    }
+
+    private void setSize(int size) {
+        this.size = size;
+        buffer.putInt(SIZE_OFFSET, size);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("The map is closed");
+        }
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? NULL_LENGTH : bytes.length;
+    }
+
+    // Arrays.hashCode is specified exactly, so the hashes stay valid for files written by another process
+    private static int hash(byte[] keyBytes) {
+        if (keyBytes == null) {
+            return 0;
+        }
+        int h = Arrays.hashCode(keyBytes) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        ensureOpen();
+        return new MappedHashMapIterator();
+    }
+
+    private class MappedHashMapIterator implements Iterator<Map.Entry<K, V>> {
+        private int bucket;
+        private int nextEntry;
+        private Map.Entry<K, V> lastReturned;
+        private final int expectedRebuildCount = rebuildCount;
+
+        @Override
+        public boolean hasNext() {
+            while (nextEntry == 0 && bucket < bucketCount) {
+                nextEntry = (int) buffer.getLong(HEADER_SIZE + bucket++ * Long.BYTES);
+            }
+            return nextEntry != 0;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the map");
+            }
+            lastReturned = new MappedEntry(readKey(nextEntry), readValue(nextEntry));
+            nextEntry = (int) buffer.getLong(nextEntry + NEXT_OFFSET);
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Called remove method without next");
+            }
+            checkForComodification();
+            removeMapping(lastReturned.getKey());
+            lastReturned = null;
+        }
+
+        // a rebuild moves every entry, so the position of the iterator is lost
+        private void checkForComodification() {
+            if (rebuildCount != expectedRebuildCount) {
+                throw new ConcurrentModificationException("The map file was rebuilt outside of the iterator");
+            }
+        }
+    }
+
+    // deserialized copy of an entry, setValue writes through to the map
+    private class MappedEntry implements Map.Entry<K, V> {
+        private final K key;
+        private V value;
+
+        private MappedEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            this.value = value;
+            putValue(key, value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+
+}
@@ -0,0 +1,285 @@
+package com.luxoft.olshevchenko.map;
+
+import com.luxoft.olshevchenko.metrics.Measurable;
+import com.luxoft.olshevchenko.metrics.Metrics;
+
+import java.util.*;
+
+/**
+ * Linear probing hash map over parallel key, value and hash arrays, without an entry node per mapping.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class OpenAddressingHashMap<K, V> implements Map<K, V>, Measurable {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int GROW_CONST = 2;
+    private static final double LOAD_FACTOR = 0.75;
+    // stored in keys[] instead of null, so that null marks a free slot
+    private static final Object NULL_KEY = new Object();
+    // left in keys[] by remove, so that probe sequences running through the slot stay intact
+    private static final Object DELETED = new Object();
+
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int size;
+    private int deleted;
+    // only counted while Metrics.ENABLED is on
+    private long rehashCount;
+    private long rehashNanos;
+
+    public OpenAddressingHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public OpenAddressingHashMap(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length should be positive, but was " + length);
+        }
+        allocate(tableSizeFor(length));
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        Object maskedKey = maskNull(key);
+        int hash = maskedKey.hashCode();
+        int slot = findSlot(maskedKey, hash);
+        if (slot >= 0) {
+            V oldValue = valueAt(slot);
+            values[slot] = value;
+            return oldValue;
+        }
+        if (size + deleted + 1 > keys.length * LOAD_FACTOR) {
+            rehash(size + 1 > keys.length * LOAD_FACTOR / GROW_CONST ? keys.length * GROW_CONST : keys.length);
+        }
+        insert(maskedKey, hash, value);
+        size++;
+        return null;
+    }
+
+    @Override
+    public V get(K key) {
+        Object maskedKey = maskNull(key);
+        int slot = findSlot(maskedKey, maskedKey.hashCode());
+        return slot >= 0 ? valueAt(slot) : null;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        Object maskedKey = maskNull(key);
+        return findSlot(maskedKey, maskedKey.hashCode()) >= 0;
+    }
+
+    @Override
+    public V remove(K key) {
+        Object maskedKey = maskNull(key);
+        int slot = findSlot(maskedKey, maskedKey.hashCode());
+        if (slot < 0) {
+            throw new IllegalStateException("There is no entry corresponding to the key " + key);
+        }
+        V oldValue = valueAt(slot);
+        removeAt(slot);
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "{", "}");
+        for (Map.Entry<K, V> entry : this) {
+            stringJoiner.add(entry.toString());
+        }
+        return stringJoiner.toString();
+    }
+
+    // probe distance is how far a key sits from the slot its hash points to
+    @Override
+    public java.util.Map<String, Double> structureStats() {
+        int mask = keys.length - 1;
+        long totalProbeDistance = 0;
+        int maxProbeDistance = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null && keys[slot] != DELETED) {
+                int probeDistance = (slot - getIndex(hashes[slot], mask)) & mask;
+                totalProbeDistance += probeDistance;
+                maxProbeDistance = Math.max(maxProbeDistance, probeDistance);
+            }
+        }
+        java.util.Map<String, Double> stats = new LinkedHashMap<>();
+        stats.put("size", (double) size);
+        stats.put("capacity", (double) keys.length);
+        stats.put("deletedSlots", (double) deleted);
+        stats.put("maxProbeDistance", (double) maxProbeDistance);
+        stats.put("averageProbeDistance", size == 0 ? 0 : (double) totalProbeDistance / size);
+        stats.put("rehashCount", (double) rehashCount);
+        stats.put("rehashNanos", (double) rehashNanos);
+        return stats;
+    }
+
+
+    // returns the slot holding the key, or -1 if there is none
+    private int findSlot(Object maskedKey, int hash) {
+        int mask = keys.length - 1;
+        int slot = getIndex(hash, mask);
+        while (true) {
+            Object currentKey = keys[slot];
+            if (currentKey == null) {
+                return -1;
+            }
+            if (hashes[slot] == hash && currentKey != DELETED && currentKey.equals(maskedKey)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // the key is known to be absent here, so the first free or deleted slot can be taken
+    private void insert(Object maskedKey, int hash, Object value) {
+        int mask = keys.length - 1;
+        int slot = getIndex(hash, mask);
+        while (keys[slot] != null && keys[slot] != DELETED) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == DELETED) {
+            deleted--;
+        }
+        keys[slot] = maskedKey;
+        values[slot] = value;
+        hashes[slot] = hash;
+    }
+
+    private void removeAt(int slot) {
+        keys[slot] = DELETED;
+        values[slot] = null;
+        size--;
+        deleted++;
+    }
+
+    // reuses the stored hashes, deleted slots are dropped along the way
+    private void rehash(int newLength) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(newLength);
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object key = oldKeys[i];
+            if (key != null && key != DELETED) {
+                insert(key, oldHashes[i], oldValues[i]);
+            }
+        }
+        if (Metrics.ENABLED) {
+            rehashCount++;
+            rehashNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void allocate(int length) {
+        keys = new Object[length];
+        values = new Object[length];
+        hashes = new int[length];
+        deleted = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int slot) {
+        Object key = keys[slot];
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    // linear probing is sensitive to clustered hash codes, so the bits are mixed before masking
+    private static int getIndex(int hash, int mask) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static int tableSizeFor(int length) {
+        int highestBit = Integer.highestOneBit(Math.max(length, 2));
+        return highestBit == length ? length : highestBit << 1;
+    }
+
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new OpenAddressingHashMapIterator();
+    }
+
+    private class OpenAddressingHashMapIterator implements Iterator<Map.Entry<K, V>> {
+        private int index;
+        private int lastReturned = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (index < keys.length && (keys[index] == null || keys[index] == DELETED)) {
+                index++;
+            }
+            return index < keys.length;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the map");
+            }
+            lastReturned = index++;
+            return new SlotEntry(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called remove method without next");
+            }
+            removeAt(lastReturned);
+            lastReturned = -1;
+        }
+    }
+
+
+    // view of a single slot, created only while iterating
+    private class SlotEntry implements Map.Entry<K, V> {
+        private final int slot;
+        private final K key;
+
+        private SlotEntry(int slot) {
+            this.slot = slot;
+            this.key = keyAt(slot);
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return valueAt(slot);
+        }
+
+        @Override
+        public void setValue(V value) {
+            values[slot] = value;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+
+}
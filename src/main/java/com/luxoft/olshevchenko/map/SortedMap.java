@@ -0,0 +1,74 @@
+package com.luxoft.olshevchenko.map;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Map which keeps its keys sorted. Iteration goes in key order, and the null key, where the ordering
+ * allows it, comes first.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public interface SortedMap<K, V> extends Map<K, V> {
+
+    Comparator<? super K> comparator();
+
+    // the entry with the smallest key, null if the map is empty
+    Entry<K, V> firstEntry();
+
+    // the entry with the largest key, null if the map is empty
+    Entry<K, V> lastEntry();
+
+    // the entry with the largest key <= key, null if there is none
+    Entry<K, V> floorEntry(K key);
+
+    // the entry with the smallest key >= key, null if there is none
+    Entry<K, V> ceilingEntry(K key);
+
+    // the entry with the largest key < key, null if there is none
+    Entry<K, V> lowerEntry(K key);
+
+    // entries with keys in [fromKey, toKey) in key order
+    Iterator<Entry<K, V>> iterator(K fromKey, K toKey);
+
+    // {A=1, B=2, C=3, D=4} subMap(B, D) => {B=2, C=3}
+    // view backed by this map, changes through the view are visible in this map and vice versa
+    // fromKey <= toKey, otherwise throw new IllegalArgumentException
+    SortedMap<K, V> subMap(K fromKey, K toKey);
+
+    // throw new IllegalStateException if the map is empty
+    default K firstKey() {
+        return getKey(firstEntry());
+    }
+
+    // throw new IllegalStateException if the map is empty
+    default K lastKey() {
+        return getKey(lastEntry());
+    }
+
+    // the largest key <= key, null if there is none
+    default K floorKey(K key) {
+        Entry<K, V> entry = floorEntry(key);
+        return entry == null ? null : entry.getKey();
+    }
+
+    // the smallest key >= key, null if there is none
+    default K ceilingKey(K key) {
+        Entry<K, V> entry = ceilingEntry(key);
+        return entry == null ? null : entry.getKey();
+    }
+
+    @Override
+    default Spliterator<Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT | Spliterator.ORDERED);
+    }
+
+    private static <K> K getKey(Entry<K, ?> entry) {
+        if (entry == null) {
+            throw new IllegalStateException("The map is empty");
+        }
+        return entry.getKey();
+    }
+}
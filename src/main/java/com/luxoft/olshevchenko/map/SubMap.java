@@ -0,0 +1,139 @@
+package com.luxoft.olshevchenko.map;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.StringJoiner;
+
+/**
+ * View of the keys in [fromKey, toKey) of a sorted map. It keeps no state of its own, every call goes to the
+ * backing map, so size is counted by iterating over the range.
+ *
+ * @author Oleksandr Shevchenko
+ */
+class SubMap<K, V> implements SortedMap<K, V> {
+    private final SortedMap<K, V> parent;
+    private final Comparator<? super K> comparator;
+    private final K fromKey;
+    private final K toKey;
+
+    SubMap(SortedMap<K, V> parent, K fromKey, K toKey) {
+        this.parent = parent;
+        this.comparator = parent.comparator();
+        if (comparator.compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey " + fromKey + " is greater than toKey " + toKey);
+        }
+        this.fromKey = fromKey;
+        this.toKey = toKey;
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        if (!inRange(key)) {
+            throw new IllegalArgumentException("The key " + key + " is out of the range [" + fromKey + ", " + toKey + ")");
+        }
+        return parent.put(key, value);
+    }
+
+    @Override
+    public V get(K key) {
+        return inRange(key) ? parent.get(key) : null;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return inRange(key) && parent.containsKey(key);
+    }
+
+    @Override
+    public V remove(K key) {
+        if (!inRange(key)) {
+            throw new IllegalStateException("There is no entry corresponding to the key " + key);
+        }
+        return parent.remove(key);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Iterator<Entry<K, V>> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return ceilingEntry(fromKey);
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        return lowerEntry(toKey);
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        Entry<K, V> entry = comparator.compare(key, toKey) < 0 ? parent.floorEntry(key) : parent.lowerEntry(toKey);
+        return entry != null && comparator.compare(entry.getKey(), fromKey) >= 0 ? entry : null;
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        Entry<K, V> entry = parent.ceilingEntry(max(key, fromKey));
+        return entry != null && comparator.compare(entry.getKey(), toKey) < 0 ? entry : null;
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        Entry<K, V> entry = parent.lowerEntry(min(key, toKey));
+        return entry != null && comparator.compare(entry.getKey(), fromKey) >= 0 ? entry : null;
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator(K fromKey, K toKey) {
+        K from = max(fromKey, this.fromKey);
+        return parent.iterator(from, max(from, min(toKey, this.toKey)));
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+        if (comparator.compare(fromKey, this.fromKey) < 0 || comparator.compare(toKey, this.toKey) > 0) {
+            throw new IllegalArgumentException("The range [" + fromKey + ", " + toKey + ") is out of the range ["
+                    + this.fromKey + ", " + this.toKey + ")");
+        }
+        return new SubMap<>(parent, fromKey, toKey);
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return parent.iterator(fromKey, toKey);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "{", "}");
+        for (Map.Entry<K, V> entry : this) {
+            stringJoiner.add(entry.toString());
+        }
+        return stringJoiner.toString();
+    }
+
+
+    private boolean inRange(K key) {
+        return comparator.compare(key, fromKey) >= 0 && comparator.compare(key, toKey) < 0;
+    }
+
+    private K max(K first, K second) {
+        return comparator.compare(first, second) >= 0 ? first : second;
+    }
+
+    private K min(K first, K second) {
+        return comparator.compare(first, second) <= 0 ? first : second;
+    }
+}
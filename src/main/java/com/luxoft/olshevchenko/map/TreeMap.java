@@ -0,0 +1,530 @@
+package com.luxoft.olshevchenko.map;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Sorted map on a red-black tree, so get, put and remove are O(log n) and range queries walk only the entries
+ * in the range. Without a comparator the keys are compared by their natural ordering, with the null key first.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class TreeMap<K, V> implements SortedMap<K, V> {
+    private static final boolean RED = false;
+    private static final boolean BLACK = true;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator NATURAL_ORDER = Comparator.nullsFirst((Comparator) Comparator.naturalOrder());
+
+    private final Comparator<? super K> comparator;
+    private Node<K, V> root;
+    private int size;
+    private int modCount;
+
+    public TreeMap() {
+        this(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TreeMap(Comparator<? super K> comparator) {
+        this.comparator = comparator == null ? NATURAL_ORDER : comparator;
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        Node<K, V> parent = null;
+        Node<K, V> node = root;
+        int compareResult = 0;
+        while (node != null) {
+            parent = node;
+            compareResult = comparator.compare(key, node.key);
+            if (compareResult < 0) {
+                node = node.left;
+            } else if (compareResult > 0) {
+                node = node.right;
+            } else {
+                V oldValue = node.value;
+                node.value = value;
+                return oldValue;
+            }
+        }
+        Node<K, V> newNode = new Node<>(key, value, parent);
+        if (parent == null) {
+            root = newNode;
+        } else if (compareResult < 0) {
+            parent.left = newNode;
+        } else {
+            parent.right = newNode;
+        }
+        fixAfterInsertion(newNode);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = getNode(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return getNode(key) != null;
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = getNode(key);
+        if (node == null) {
+            throw new IllegalStateException("There is no entry corresponding to the key " + key);
+        }
+        V value = node.value;
+        deleteNode(node);
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return firstNode();
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        Node<K, V> node = root;
+        if (node != null) {
+            while (node.right != null) {
+                node = node.right;
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        Node<K, V> result = null;
+        Node<K, V> node = root;
+        while (node != null) {
+            int compareResult = comparator.compare(key, node.key);
+            if (compareResult == 0) {
+                return node;
+            }
+            if (compareResult < 0) {
+                node = node.left;
+            } else {
+                result = node;
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return ceilingNode(key);
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        Node<K, V> result = null;
+        Node<K, V> node = root;
+        while (node != null) {
+            if (comparator.compare(key, node.key) <= 0) {
+                node = node.left;
+            } else {
+                result = node;
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator(K fromKey, K toKey) {
+        if (comparator.compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey " + fromKey + " is greater than toKey " + toKey);
+        }
+        return new TreeMapIterator(ceilingNode(fromKey), true, toKey);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+        return new SubMap<>(this, fromKey, toKey);
+    }
+
+    // walks the tree in order without an iterator
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = modCount;
+        for (Node<K, V> node = firstNode(); node != null && modCount == expectedModCount; node = successor(node)) {
+            action.accept(node.key, node.value);
+        }
+        checkForComodification(expectedModCount);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "{", "}");
+        for (Map.Entry<K, V> entry : this) {
+            stringJoiner.add(entry.toString());
+        }
+        return stringJoiner.toString();
+    }
+
+
+    private Node<K, V> getNode(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int compareResult = comparator.compare(key, node.key);
+            if (compareResult < 0) {
+                node = node.left;
+            } else if (compareResult > 0) {
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private Node<K, V> ceilingNode(K key) {
+        Node<K, V> result = null;
+        Node<K, V> node = root;
+        while (node != null) {
+            int compareResult = comparator.compare(key, node.key);
+            if (compareResult == 0) {
+                return node;
+            }
+            if (compareResult > 0) {
+                node = node.right;
+            } else {
+                result = node;
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    private Node<K, V> firstNode() {
+        Node<K, V> node = root;
+        if (node != null) {
+            while (node.left != null) {
+                node = node.left;
+            }
+        }
+        return node;
+    }
+
+    private static <K, V> Node<K, V> successor(Node<K, V> node) {
+        if (node.right != null) {
+            Node<K, V> result = node.right;
+            while (result.left != null) {
+                result = result.left;
+            }
+            return result;
+        }
+        Node<K, V> child = node;
+        Node<K, V> parent = node.parent;
+        while (parent != null && child == parent.right) {
+            child = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    // a node with two children takes the key and value of its successor, and the successor is unlinked instead
+    private void deleteNode(Node<K, V> node) {
+        modCount++;
+        size--;
+        if (node.left != null && node.right != null) {
+            Node<K, V> next = successor(node);
+            node.key = next.key;
+            node.value = next.value;
+            node = next;
+        }
+        Node<K, V> replacement = node.left != null ? node.left : node.right;
+        if (replacement != null) {
+            replacement.parent = node.parent;
+            replaceChild(node, replacement);
+            node.left = node.right = node.parent = null;
+            if (node.color == BLACK) {
+                fixAfterDeletion(replacement);
+            }
+        } else if (node.parent == null) {
+            root = null;
+        } else {
+            // the leaf serves as the phantom child during the fix-up and is unlinked afterwards
+            if (node.color == BLACK) {
+                fixAfterDeletion(node);
+            }
+            if (node.parent != null) {
+                replaceChild(node, null);
+                node.parent = null;
+            }
+        }
+    }
+
+    private void replaceChild(Node<K, V> node, Node<K, V> replacement) {
+        if (node.parent == null) {
+            root = replacement;
+        } else if (node == node.parent.left) {
+            node.parent.left = replacement;
+        } else {
+            node.parent.right = replacement;
+        }
+    }
+
+    private void fixAfterInsertion(Node<K, V> node) {
+        node.color = RED;
+        while (node != root && node.parent.color == RED) {
+            Node<K, V> parent = node.parent;
+            Node<K, V> grandParent = parent.parent;
+            if (parent == grandParent.left) {
+                Node<K, V> uncle = grandParent.right;
+                if (colorOf(uncle) == RED) {
+                    parent.color = BLACK;
+                    uncle.color = BLACK;
+                    grandParent.color = RED;
+                    node = grandParent;
+                } else {
+                    if (node == parent.right) {
+                        node = parent;
+                        rotateLeft(node);
+                        parent = node.parent;
+                    }
+                    parent.color = BLACK;
+                    grandParent.color = RED;
+                    rotateRight(grandParent);
+                }
+            } else {
+                Node<K, V> uncle = grandParent.left;
+                if (colorOf(uncle) == RED) {
+                    parent.color = BLACK;
+                    uncle.color = BLACK;
+                    grandParent.color = RED;
+                    node = grandParent;
+                } else {
+                    if (node == parent.left) {
+                        node = parent;
+                        rotateRight(node);
+                        parent = node.parent;
+                    }
+                    parent.color = BLACK;
+                    grandParent.color = RED;
+                    rotateLeft(grandParent);
+                }
+            }
+        }
+        root.color = BLACK;
+    }
+
+    private void fixAfterDeletion(Node<K, V> node) {
+        while (node != root && colorOf(node) == BLACK) {
+            if (node == leftOf(parentOf(node))) {
+                Node<K, V> sibling = rightOf(parentOf(node));
+                if (colorOf(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(parentOf(node), RED);
+                    rotateLeft(parentOf(node));
+                    sibling = rightOf(parentOf(node));
+                }
+                if (colorOf(leftOf(sibling)) == BLACK && colorOf(rightOf(sibling)) == BLACK) {
+                    setColor(sibling, RED);
+                    node = parentOf(node);
+                } else {
+                    if (colorOf(rightOf(sibling)) == BLACK) {
+                        setColor(leftOf(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateRight(sibling);
+                        sibling = rightOf(parentOf(node));
+                    }
+                    setColor(sibling, colorOf(parentOf(node)));
+                    setColor(parentOf(node), BLACK);
+                    setColor(rightOf(sibling), BLACK);
+                    rotateLeft(parentOf(node));
+                    node = root;
+                }
+            } else {
+                Node<K, V> sibling = leftOf(parentOf(node));
+                if (colorOf(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(parentOf(node), RED);
+                    rotateRight(parentOf(node));
+                    sibling = leftOf(parentOf(node));
+                }
+                if (colorOf(rightOf(sibling)) == BLACK && colorOf(leftOf(sibling)) == BLACK) {
+                    setColor(sibling, RED);
+                    node = parentOf(node);
+                } else {
+                    if (colorOf(leftOf(sibling)) == BLACK) {
+                        setColor(rightOf(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateLeft(sibling);
+                        sibling = leftOf(parentOf(node));
+                    }
+                    setColor(sibling, colorOf(parentOf(node)));
+                    setColor(parentOf(node), BLACK);
+                    setColor(leftOf(sibling), BLACK);
+                    rotateRight(parentOf(node));
+                    node = root;
+                }
+            }
+        }
+        setColor(node, BLACK);
+    }
+
+    private void rotateLeft(Node<K, V> node) {
+        if (node == null) {
+            return;
+        }
+        Node<K, V> right = node.right;
+        node.right = right.left;
+        if (right.left != null) {
+            right.left.parent = node;
+        }
+        right.parent = node.parent;
+        replaceChild(node, right);
+        right.left = node;
+        node.parent = right;
+    }
+
+    private void rotateRight(Node<K, V> node) {
+        if (node == null) {
+            return;
+        }
+        Node<K, V> left = node.left;
+        node.left = left.right;
+        if (left.right != null) {
+            left.right.parent = node;
+        }
+        left.parent = node.parent;
+        replaceChild(node, left);
+        left.right = node;
+        node.parent = left;
+    }
+
+    // missing nodes are black leaves, so the fix-ups can look at them without null checks
+    private static boolean colorOf(Node<?, ?> node) {
+        return node == null ? BLACK : node.color;
+    }
+
+    private static <K, V> Node<K, V> parentOf(Node<K, V> node) {
+        return node == null ? null : node.parent;
+    }
+
+    private static <K, V> Node<K, V> leftOf(Node<K, V> node) {
+        return node == null ? null : node.left;
+    }
+
+    private static <K, V> Node<K, V> rightOf(Node<K, V> node) {
+        return node == null ? null : node.right;
+    }
+
+    private static void setColor(Node<?, ?> node, boolean color) {
+        if (node != null) {
+            node.color = color;
+        }
+    }
+
+    private void checkForComodification(int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException("The map was modified outside of the iterator");
+        }
+    }
+
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new TreeMapIterator(firstNode(), false, null);
+    }
+
+    private class TreeMapIterator implements Iterator<Map.Entry<K, V>> {
+        private final boolean bounded;
+        private final K toKey;
+        private Node<K, V> nextNode;
+        private Node<K, V> lastReturned;
+        private int expectedModCount = modCount;
+
+        private TreeMapIterator(Node<K, V> first, boolean bounded, K toKey) {
+            this.nextNode = first;
+            this.bounded = bounded;
+            this.toKey = toKey;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null && (!bounded || comparator.compare(nextNode.key, toKey) < 0);
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            checkForComodification(expectedModCount);
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the map");
+            }
+            lastReturned = nextNode;
+            nextNode = successor(nextNode);
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Called remove method without next");
+            }
+            checkForComodification(expectedModCount);
+            // the successor moves into the removed node, so the iteration continues from there
+            if (lastReturned.left != null && lastReturned.right != null) {
+                nextNode = lastReturned;
+            }
+            deleteNode(lastReturned);
+            expectedModCount = modCount;
+            lastReturned = null;
+        }
+    }
+
+    private static class Node<K, V> implements Map.Entry<K, V> {
+        private K key;
+        private V value;
+        private Node<K, V> left;
+        private Node<K, V> right;
+        private Node<K, V> parent;
+        private boolean color = BLACK;
+
+        private Node(K key, V value, Node<K, V> parent) {
+            this.key = key;
+            this.value = value;
+            this.parent = parent;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(V value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
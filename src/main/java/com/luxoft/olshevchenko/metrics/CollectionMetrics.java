@@ -0,0 +1,48 @@
+package com.luxoft.olshevchenko.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class CollectionMetrics implements CollectionMetricsMXBean {
+    private final Instrumented source;
+
+    CollectionMetrics(Instrumented source) {
+        this.source = source;
+    }
+
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return collect(OperationStats::count);
+    }
+
+    @Override
+    public Map<String, Double> getAverageLatencyNanos() {
+        return collect(OperationStats::averageNanos);
+    }
+
+    @Override
+    public Map<String, Long> getP99LatencyNanos() {
+        return collect(stats -> stats.percentileNanos(99));
+    }
+
+    @Override
+    public Map<String, Long> getMaxLatencyNanos() {
+        return collect(OperationStats::maxNanos);
+    }
+
+    @Override
+    public Map<String, Double> getStructureStats() {
+        return source.snapshot().structureStats();
+    }
+
+    private <T> Map<String, T> collect(Function<OperationStats, T> getter) {
+        Map<String, T> result = new TreeMap<>();
+        source.snapshot().operations().forEach((name, stats) -> result.put(name, getter.apply(stats)));
+        return result;
+    }
+}
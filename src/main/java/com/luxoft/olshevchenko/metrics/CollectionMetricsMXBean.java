@@ -0,0 +1,21 @@
+package com.luxoft.olshevchenko.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of a {@link MetricsSnapshot}, every attribute is read from a fresh snapshot.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public interface CollectionMetricsMXBean {
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Double> getAverageLatencyNanos();
+
+    Map<String, Long> getP99LatencyNanos();
+
+    Map<String, Long> getMaxLatencyNanos();
+
+    Map<String, Double> getStructureStats();
+}
@@ -0,0 +1,11 @@
+package com.luxoft.olshevchenko.metrics;
+
+/**
+ * Source of a {@link MetricsSnapshot}, exposed in JMX by {@link Metrics#register(String, Instrumented)}.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public interface Instrumented {
+
+    MetricsSnapshot snapshot();
+}
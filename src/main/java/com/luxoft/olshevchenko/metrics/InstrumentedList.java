@@ -0,0 +1,193 @@
+package com.luxoft.olshevchenko.metrics;
+
+import com.luxoft.olshevchenko.list.List;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+
+/**
+ * List wrapper recording the count and latency of add, get, set, remove and indexOf.
+ * Internal figures are taken from the wrapped list if it is {@link Measurable}.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class InstrumentedList<E> implements List<E>, Instrumented {
+    private final List<E> list;
+    private final LatencyHistogram adds = new LatencyHistogram();
+    private final LatencyHistogram gets = new LatencyHistogram();
+    private final LatencyHistogram sets = new LatencyHistogram();
+    private final LatencyHistogram removes = new LatencyHistogram();
+    private final LatencyHistogram indexOfs = new LatencyHistogram();
+
+    public InstrumentedList(List<E> list) {
+        this.list = list;
+    }
+
+
+    @Override
+    public void add(E value) {
+        long start = System.nanoTime();
+        try {
+            list.add(value);
+        } finally {
+            adds.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void add(E value, int index) {
+        long start = System.nanoTime();
+        try {
+            list.add(value, index);
+        } finally {
+            adds.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        long start = System.nanoTime();
+        try {
+            return list.remove(index);
+        } finally {
+            removes.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        long start = System.nanoTime();
+        try {
+            return list.get(index);
+        } finally {
+            gets.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public E set(E value, int index) {
+        long start = System.nanoTime();
+        try {
+            return list.set(value, index);
+        } finally {
+            sets.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int indexOf(E value) {
+        long start = System.nanoTime();
+        try {
+            return list.indexOf(value);
+        } finally {
+            indexOfs.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    @Override
+    public boolean contains(E value) {
+        return indexOf(value) != -1;
+    }
+
+    @Override
+    public int lastIndexOf(E value) {
+        return list.lastIndexOf(value);
+    }
+
+    @Override
+    public void addAll(Iterable<E> values) {
+        list.addAll(values);
+    }
+
+    @Override
+    public void addAll(Iterable<E> values, int index) {
+        list.addAll(values, index);
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        list.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return list.removeIf(filter);
+    }
+
+    @Override
+    public boolean retainAll(List<E> values) {
+        return list.retainAll(values);
+    }
+
+    @Override
+    public void sort(Comparator<? super E> comparator) {
+        list.sort(comparator);
+    }
+
+    @Override
+    public int binarySearch(E value, Comparator<? super E> comparator) {
+        return list.binarySearch(value, comparator);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return list.iterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return list.listIterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return list.listIterator(index);
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        return list.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return list.spliterator();
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        java.util.Map<String, OperationStats> operations = new HashMap<>();
+        operations.put("add", adds.snapshot());
+        operations.put("get", gets.snapshot());
+        operations.put("set", sets.snapshot());
+        operations.put("remove", removes.snapshot());
+        operations.put("indexOf", indexOfs.snapshot());
+        return new MetricsSnapshot(operations,
+                list instanceof Measurable ? ((Measurable) list).structureStats() : Collections.emptyMap());
+    }
+
+    @Override
+    public String toString() {
+        return list.toString();
+    }
+}
@@ -0,0 +1,187 @@
+package com.luxoft.olshevchenko.metrics;
+
+import com.luxoft.olshevchenko.map.Map;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Map wrapper recording the count and latency of every map operation, each under its own name.
+ * All of them are delegated, so the wrapped map keeps its own single-lookup or atomic implementations.
+ * Internal figures are taken from the wrapped map if it is {@link Measurable}.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class InstrumentedMap<K, V> implements Map<K, V>, Instrumented {
+    private final Map<K, V> map;
+    private final LatencyHistogram puts = new LatencyHistogram();
+    private final LatencyHistogram gets = new LatencyHistogram();
+    private final LatencyHistogram containsKeys = new LatencyHistogram();
+    private final LatencyHistogram removes = new LatencyHistogram();
+    private final LatencyHistogram getOrDefaults = new LatencyHistogram();
+    private final LatencyHistogram putIfAbsents = new LatencyHistogram();
+    private final LatencyHistogram computeIfAbsents = new LatencyHistogram();
+    private final LatencyHistogram computeIfPresents = new LatencyHistogram();
+    private final LatencyHistogram computes = new LatencyHistogram();
+    private final LatencyHistogram merges = new LatencyHistogram();
+    private final LatencyHistogram forEaches = new LatencyHistogram();
+
+    public InstrumentedMap(Map<K, V> map) {
+        this.map = map;
+    }
+
+
+    @Override
+    public V put(K key, V value) {
+        long start = System.nanoTime();
+        try {
+            return map.put(key, value);
+        } finally {
+            puts.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        long start = System.nanoTime();
+        try {
+            return map.get(key);
+        } finally {
+            gets.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        long start = System.nanoTime();
+        try {
+            return map.containsKey(key);
+        } finally {
+            containsKeys.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        long start = System.nanoTime();
+        try {
+            return map.remove(key);
+        } finally {
+            removes.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        long start = System.nanoTime();
+        try {
+            return map.getOrDefault(key, defaultValue);
+        } finally {
+            getOrDefaults.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        long start = System.nanoTime();
+        try {
+            return map.putIfAbsent(key, value);
+        } finally {
+            putIfAbsents.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        long start = System.nanoTime();
+        try {
+            return map.computeIfAbsent(key, mappingFunction);
+        } finally {
+            computeIfAbsents.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        long start = System.nanoTime();
+        try {
+            return map.computeIfPresent(key, remappingFunction);
+        } finally {
+            computeIfPresents.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        long start = System.nanoTime();
+        try {
+            return map.compute(key, remappingFunction);
+        } finally {
+            computes.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        long start = System.nanoTime();
+        try {
+            return map.merge(key, value, remappingFunction);
+        } finally {
+            merges.record(System.nanoTime() - start);
+        }
+    }
+
+    // recorded as one operation covering the whole traversal
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        long start = System.nanoTime();
+        try {
+            map.forEach(action);
+        } finally {
+            forEaches.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return map.iterator();
+    }
+
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        return map.spliterator();
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        java.util.Map<String, OperationStats> operations = new HashMap<>();
+        operations.put("put", puts.snapshot());
+        operations.put("get", gets.snapshot());
+        operations.put("containsKey", containsKeys.snapshot());
+        operations.put("remove", removes.snapshot());
+        operations.put("getOrDefault", getOrDefaults.snapshot());
+        operations.put("putIfAbsent", putIfAbsents.snapshot());
+        operations.put("computeIfAbsent", computeIfAbsents.snapshot());
+        operations.put("computeIfPresent", computeIfPresents.snapshot());
+        operations.put("compute", computes.snapshot());
+        operations.put("merge", merges.snapshot());
+        operations.put("forEach", forEaches.snapshot());
+        return new MetricsSnapshot(operations,
+                map instanceof Measurable ? ((Measurable) map).structureStats() : Collections.emptyMap());
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
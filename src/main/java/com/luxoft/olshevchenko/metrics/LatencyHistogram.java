@@ -0,0 +1,29 @@
+package com.luxoft.olshevchenko.metrics;
+
+/**
+ * Counts operations and their latencies in power of two nanosecond buckets, so recording is a few additions
+ * and percentiles are accurate to a factor of two. Not thread-safe, like the structures it measures,
+ * readers on other threads may see slightly stale values.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class LatencyHistogram {
+    private final long[] buckets = new long[Long.SIZE];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(value)]++;
+        count++;
+        totalNanos += value;
+        if (value > maxNanos) {
+            maxNanos = value;
+        }
+    }
+
+    public OperationStats snapshot() {
+        return new OperationStats(count, totalNanos, maxNanos, buckets.clone());
+    }
+}
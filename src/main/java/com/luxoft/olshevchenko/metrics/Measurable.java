@@ -0,0 +1,13 @@
+package com.luxoft.olshevchenko.metrics;
+
+/**
+ * Structure reporting figures of its internal layout, such as chain lengths or capacity.
+ * The figures are calculated on each call, nothing is tracked on the hot paths for them.
+ * Counters of resizes and growth copies are only updated while {@link Metrics#ENABLED} is on.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public interface Measurable {
+
+    java.util.Map<String, Double> structureStats();
+}
@@ -0,0 +1,75 @@
+package com.luxoft.olshevchenko.metrics;
+
+import com.luxoft.olshevchenko.list.List;
+import com.luxoft.olshevchenko.map.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Switch and entry point of the collection metrics, turned on with -Dolshevchenko.metrics=true.
+ * The flag is a static final constant, so while metrics are off the JIT drops the code guarded by it and the
+ * structures pay nothing for their resize and growth counters.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public final class Metrics {
+    public static final String PROPERTY = "olshevchenko.metrics";
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+    private static final String DOMAIN = "com.luxoft.olshevchenko";
+
+    private Metrics() {
+    }
+
+
+    // the map itself while metrics are off, otherwise a wrapper registered in JMX under the given name
+    public static <K, V> Map<K, V> instrument(Map<K, V> map, String name) {
+        if (!ENABLED) {
+            return map;
+        }
+        InstrumentedMap<K, V> instrumentedMap = new InstrumentedMap<>(map);
+        register(name, instrumentedMap);
+        return instrumentedMap;
+    }
+
+    public static <E> List<E> instrument(List<E> list, String name) {
+        if (!ENABLED) {
+            return list;
+        }
+        InstrumentedList<E> instrumentedList = new InstrumentedList<>(list);
+        register(name, instrumentedList);
+        return instrumentedList;
+    }
+
+    // an MBean already registered under the name is replaced
+    public static void register(String name, Instrumented source) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = getObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(new CollectionMetrics(source), objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics of " + name + " in JMX", e);
+        }
+    }
+
+    public static void unregister(String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = getObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister metrics of " + name + " from JMX", e);
+        }
+    }
+
+    public static ObjectName getObjectName(String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=CollectionMetrics,name=" + ObjectName.quote(name));
+    }
+}
@@ -0,0 +1,36 @@
+package com.luxoft.olshevchenko.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Operation statistics and internal figures of a structure at one point in time.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class MetricsSnapshot {
+    private final Map<String, OperationStats> operations;
+    private final Map<String, Double> structureStats;
+
+    public MetricsSnapshot(Map<String, OperationStats> operations, Map<String, Double> structureStats) {
+        this.operations = Collections.unmodifiableMap(new TreeMap<>(operations));
+        this.structureStats = Collections.unmodifiableMap(new TreeMap<>(structureStats));
+    }
+
+
+    // by operation name, such as put or get
+    public Map<String, OperationStats> operations() {
+        return operations;
+    }
+
+    // empty if the structure is not Measurable
+    public Map<String, Double> structureStats() {
+        return structureStats;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{operations=" + operations + ", structureStats=" + structureStats + "}";
+    }
+}
@@ -0,0 +1,60 @@
+package com.luxoft.olshevchenko.metrics;
+
+/**
+ * Snapshot of a {@link LatencyHistogram}.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class OperationStats {
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    // bucket i counts latencies in [2^(i-1), 2^i) nanoseconds, bucket 0 counts zeros
+    private final long[] buckets;
+
+    OperationStats(long count, long totalNanos, long maxNanos, long[] buckets) {
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.buckets = buckets;
+    }
+
+
+    public long count() {
+        return count;
+    }
+
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    public double averageNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    // upper bound of the bucket holding the given percentile, percentile in [0, 100]
+    public long percentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile should be in [0, 100], but was " + percentile);
+        }
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(i == 0 ? 0 : (1L << i) - 1, maxNanos);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "OperationStats{count=" + count + ", averageNanos=" + averageNanos() + ", p99Nanos=" + percentileNanos(99)
+                + ", maxNanos=" + maxNanos + "}";
+    }
+}
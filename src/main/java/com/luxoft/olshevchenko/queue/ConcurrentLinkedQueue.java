@@ -0,0 +1,155 @@
+package com.luxoft.olshevchenko.queue;
+
+import com.luxoft.olshevchenko.list.List;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Unbounded lock-free queue by Michael and Scott. The head always points to a dummy node whose successor holds
+ * the first value. Producers link a node after the tail with a CAS and then swing the tail, and any thread that
+ * finds the tail behind helps to swing it, so a stalled producer never blocks the others.
+ * drainTo takes a whole run of nodes with a single CAS on the head.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class ConcurrentLinkedQueue<E> implements Queue<E> {
+    private final AtomicReference<Node<E>> head;
+    private final AtomicReference<Node<E>> tail;
+
+    public ConcurrentLinkedQueue() {
+        Node<E> dummy = new Node<>(null);
+        head = new AtomicReference<>(dummy);
+        tail = new AtomicReference<>(dummy);
+    }
+
+
+    @Override
+    public boolean offer(E value) {
+        if (value == null) {
+            return false;
+        }
+        Node<E> newNode = new Node<>(value);
+        while (true) {
+            Node<E> last = tail.get();
+            Node<E> next = last.next;
+            if (last != tail.get()) {
+                continue;
+            }
+            if (next == null) {
+                if (last.casNext(null, newNode)) {
+                    tail.compareAndSet(last, newNode);
+                    return true;
+                }
+            } else {
+                tail.compareAndSet(last, next);
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        while (true) {
+            Node<E> first = head.get();
+            Node<E> last = tail.get();
+            Node<E> next = first.next;
+            if (first != head.get()) {
+                continue;
+            }
+            if (next == null) {
+                return null;
+            }
+            if (first == last) {
+                tail.compareAndSet(last, next);
+                continue;
+            }
+            // the value is read before the CAS, the winner is the only one who may clear it
+            E value = next.value;
+            if (head.compareAndSet(first, next)) {
+                next.value = null;
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        while (true) {
+            Node<E> first = head.get();
+            Node<E> next = first.next;
+            if (next == null) {
+                return null;
+            }
+            E value = next.value;
+            if (first == head.get()) {
+                return value;
+            }
+        }
+    }
+
+    // walks the nodes, so it is O(n) and only a moment's estimate while other threads work on the queue
+    @Override
+    public int size() {
+        int count = 0;
+        for (Node<E> node = head.get().next; node != null && count < Integer.MAX_VALUE; node = node.next) {
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.get().next == null;
+    }
+
+    @Override
+    public int drainTo(List<? super E> list, int maxElements) {
+        if (maxElements <= 0) {
+            return 0;
+        }
+        java.util.ArrayList<E> values = new java.util.ArrayList<>();
+        while (true) {
+            Node<E> first = head.get();
+            Node<E> last = tail.get();
+            if (first == last && first.next != null) {
+                tail.compareAndSet(last, first.next);
+                continue;
+            }
+            Node<E> newHead = first;
+            for (Node<E> next = first.next; next != null && values.size() < maxElements; next = next.next) {
+                values.add(next.value);
+                newHead = next;
+            }
+            if (newHead == first) {
+                return 0;
+            }
+            // the head may move past a lagging tail, producers swing the tail forward through the taken nodes
+            if (head.compareAndSet(first, newHead)) {
+                newHead.value = null;
+                for (E value : values) {
+                    list.add(value);
+                }
+                return values.size();
+            }
+            values.clear();
+        }
+    }
+
+
+    private static class Node<E> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+        private volatile E value;
+        private volatile Node<E> next;
+
+        private Node(E value) {
+            this.value = value;
+        }
+
+        private boolean casNext(Node<E> expected, Node<E> newNext) {
+            return NEXT.compareAndSet(this, expected, newNext);
+        }
+    }
+}
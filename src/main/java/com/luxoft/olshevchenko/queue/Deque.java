@@ -0,0 +1,53 @@
+package com.luxoft.olshevchenko.queue;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public interface Deque<E> extends Queue<E> {
+    // null values are ignored
+    void addFirst(E value);
+
+    void addLast(E value);
+
+    boolean offerFirst(E value);
+
+    boolean offerLast(E value);
+
+    // throw new IllegalStateException if the deque is empty
+    E removeFirst();
+
+    E removeLast();
+
+    // null if the deque is empty
+    E pollFirst();
+
+    E pollLast();
+
+    E peekFirst();
+
+    E peekLast();
+
+    // stack operations on the head of the deque
+    default void push(E value) {
+        addFirst(value);
+    }
+
+    default E pop() {
+        return removeFirst();
+    }
+
+    @Override
+    default boolean offer(E value) {
+        return offerLast(value);
+    }
+
+    @Override
+    default E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    default E peek() {
+        return peekFirst();
+    }
+}
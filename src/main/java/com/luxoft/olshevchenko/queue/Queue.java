@@ -0,0 +1,30 @@
+package com.luxoft.olshevchenko.queue;
+
+import com.luxoft.olshevchenko.list.List;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public interface Queue<E> {
+    // adds value to the tail of the queue
+    // false if the queue is full or the value is null, nulls are never stored
+    boolean offer(E value);
+
+    // removes and returns the head of the queue, null if the queue is empty
+    E poll();
+
+    // returns the head of the queue without removing it, null if the queue is empty
+    E peek();
+
+    int size();
+
+    boolean isEmpty();
+
+    // moves up to maxElements values from the head of the queue to the end of the list
+    // returns how many values were moved
+    int drainTo(List<? super E> list, int maxElements);
+
+    default int drainTo(List<? super E> list) {
+        return drainTo(list, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,158 @@
+package com.luxoft.olshevchenko.queue;
+
+import com.luxoft.olshevchenko.list.List;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and many consumers over a ring buffer.
+ * Every slot has a sequence number telling whose turn it is: a producer may fill the slot when the sequence
+ * equals its position, a consumer may empty it when the sequence is one more. Producers and consumers claim
+ * positions with a CAS on the tail and on the head and then work on their slots without further contention.
+ * drainTo claims a whole run of filled slots with a single CAS.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class RingBufferQueue<E> implements Queue<E> {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // the capacity is rounded up to a power of two
+    public RingBufferQueue(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity should be between 1 and " + MAX_CAPACITY + ", but was " + capacity);
+        }
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = length - 1;
+        buffer = new AtomicReferenceArray<>(length);
+        sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+
+    @Override
+    public boolean offer(E value) {
+        if (value == null) {
+            return false;
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // the slot still holds the value from the previous lap
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        int index = (int) position & mask;
+        buffer.lazySet(index, value);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    return take(position);
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        while (true) {
+            long position = head.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference < 0) {
+                return null;
+            }
+            E value = buffer.get(index);
+            // the value is only valid if no consumer took the slot in the meantime
+            if (difference == 0 && head.get() == position) {
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        while (true) {
+            long consumed = head.get();
+            long produced = tail.get();
+            if (consumed == head.get()) {
+                return (int) Math.max(0, Math.min(produced - consumed, capacity()));
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public int drainTo(List<? super E> list, int maxElements) {
+        if (maxElements <= 0) {
+            return 0;
+        }
+        while (true) {
+            long position = head.get();
+            int count = 0;
+            while (count < maxElements && count <= mask
+                    && sequences.get((int) (position + count) & mask) == position + count + 1) {
+                count++;
+            }
+            if (count == 0) {
+                return 0;
+            }
+            if (head.compareAndSet(position, position + count)) {
+                for (int i = 0; i < count; i++) {
+                    list.add(take(position + i));
+                }
+                return count;
+            }
+        }
+    }
+
+
+    // empties the claimed slot and hands it over to the producer of the next lap
+    private E take(long position) {
+        int index = (int) position & mask;
+        E value = buffer.get(index);
+        buffer.lazySet(index, null);
+        sequences.set(index, position + mask + 1);
+        return value;
+    }
+}
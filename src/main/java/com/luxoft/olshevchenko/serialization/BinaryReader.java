@@ -0,0 +1,143 @@
+package com.luxoft.olshevchenko.serialization;
+
+import com.luxoft.olshevchenko.list.ArrayList;
+import com.luxoft.olshevchenko.list.LinkedList;
+import com.luxoft.olshevchenko.list.List;
+import com.luxoft.olshevchenko.map.HashMap;
+import com.luxoft.olshevchenko.map.Map;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static com.luxoft.olshevchenko.serialization.BinaryWriter.*;
+
+/**
+ * Reads lists and maps written by {@link BinaryWriter} block by block, so only one block is held in memory
+ * besides the structure being filled. The element count from the header is used to presize the new structures.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class BinaryReader {
+    private final ReadableByteChannel channel;
+    private ByteBuffer block = ByteBuffer.allocate(HEADER_SIZE);
+
+    public BinaryReader(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+
+    public <E> ArrayList<E> readArrayList(Serializer<E> serializer) throws IOException {
+        int size = readHeader(LIST);
+        ArrayList<E> list = new ArrayList<>(Math.max(size, 1));
+        readListElements(list, serializer, size);
+        return list;
+    }
+
+    public <E> LinkedList<E> readLinkedList(Serializer<E> serializer) throws IOException {
+        int size = readHeader(LIST);
+        LinkedList<E> list = new LinkedList<>();
+        readListElements(list, serializer, size);
+        return list;
+    }
+
+    // appends the elements to the end of the given list
+    public <E> void readList(List<E> target, Serializer<E> serializer) throws IOException {
+        readListElements(target, serializer, readHeader(LIST));
+    }
+
+    public <K, V> HashMap<K, V> readHashMap(Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        int size = readHeader(MAP);
+        HashMap<K, V> map = HashMap.withExpectedSize(size);
+        readMapEntries(map, keySerializer, valueSerializer, size);
+        return map;
+    }
+
+    public <K, V> void readMap(Map<K, V> target, Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        readMapEntries(target, keySerializer, valueSerializer, readHeader(MAP));
+    }
+
+
+    private <E> void readListElements(List<E> target, Serializer<E> serializer, int size) throws IOException {
+        int read = 0;
+        while (read < size) {
+            int count = readBlock();
+            for (int i = 0; i < count; i++) {
+                target.add(readElement(serializer));
+            }
+            read += count;
+        }
+    }
+
+    private <K, V> void readMapEntries(Map<K, V> target, Serializer<K> keySerializer, Serializer<V> valueSerializer,
+                                       int size) throws IOException {
+        int read = 0;
+        while (read < size) {
+            int count = readBlock();
+            for (int i = 0; i < count; i++) {
+                K key = readElement(keySerializer);
+                target.put(key, readElement(valueSerializer));
+            }
+            read += count;
+        }
+    }
+
+    private int readHeader(byte expectedKind) throws IOException {
+        block.clear().limit(HEADER_SIZE);
+        readFully(block);
+        block.flip();
+        if (block.getInt() != MAGIC || block.get() != VERSION) {
+            throw new IllegalStateException("The stream was not written by BinaryWriter of version " + VERSION);
+        }
+        byte kind = block.get();
+        if (kind != expectedKind) {
+            throw new IllegalStateException("Expected a " + kindName(expectedKind) + ", but the stream holds a " + kindName(kind));
+        }
+        long count = block.getLong();
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Invalid element count " + count);
+        }
+        return (int) count;
+    }
+
+    // reads the next block into the buffer and returns the number of elements in it
+    private int readBlock() throws IOException {
+        block.clear().limit(BLOCK_HEADER_SIZE);
+        readFully(block);
+        int length = block.getInt(0);
+        int count = block.getInt(Integer.BYTES);
+        if (length < 0 || count <= 0) {
+            throw new IllegalStateException("Invalid block of " + length + " bytes and " + count + " elements");
+        }
+        if (block.capacity() < length) {
+            block = ByteBuffer.allocate(length);
+        }
+        block.clear().limit(length);
+        readFully(block);
+        block.flip();
+        return count;
+    }
+
+    private <T> T readElement(Serializer<T> serializer) {
+        int length = block.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        block.get(bytes);
+        return serializer.deserialize(bytes);
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("The stream ended in the middle of a block");
+            }
+        }
+    }
+
+    private static String kindName(byte kind) {
+        return kind == LIST ? "list" : kind == MAP ? "map" : "kind " + kind;
+    }
+}
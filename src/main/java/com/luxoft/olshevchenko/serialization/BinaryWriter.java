@@ -0,0 +1,150 @@
+package com.luxoft.olshevchenko.serialization;
+
+import com.luxoft.olshevchenko.list.List;
+import com.luxoft.olshevchenko.map.Map;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Streams lists and maps to a channel in a compact binary format, read back by {@link BinaryReader}.
+ * <p>
+ * A header (magic, version, kind, element count) is followed by blocks, each of them starting with its length in
+ * bytes and the number of elements it holds. Every element is its serialized bytes after an int length,
+ * -1 standing for null, map entries being a key followed by a value. Only one block is kept in memory,
+ * in a direct buffer, so the channel reads it without an intermediate copy.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class BinaryWriter {
+    static final int MAGIC = 0x44534246;
+    static final byte VERSION = 1;
+    static final byte LIST = 1;
+    static final byte MAP = 2;
+    static final int HEADER_SIZE = 14;
+    static final int BLOCK_HEADER_SIZE = 8;
+    static final int NULL_LENGTH = -1;
+    private static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer block;
+    private int blockCount;
+
+    public BinaryWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BLOCK_SIZE);
+    }
+
+    public BinaryWriter(WritableByteChannel channel, int blockSize) {
+        if (blockSize <= BLOCK_HEADER_SIZE) {
+            throw new IllegalArgumentException("Block size should be greater than " + BLOCK_HEADER_SIZE + ", but was " + blockSize);
+        }
+        this.channel = channel;
+        this.block = ByteBuffer.allocateDirect(blockSize);
+    }
+
+
+    public <E> void writeList(List<E> list, Serializer<E> serializer) throws IOException {
+        int size = list.size();
+        writeHeader(LIST, size);
+        int written = 0;
+        for (E value : list) {
+            writeElement(value == null ? null : serializer.serialize(value), null, false);
+            written++;
+        }
+        finish(size, written);
+    }
+
+    public <K, V> void writeMap(Map<K, V> map, Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+        int size = map.size();
+        writeHeader(MAP, size);
+        int written = 0;
+        for (Map.Entry<K, V> entry : map) {
+            K key = entry.getKey();
+            V value = entry.getValue();
+            writeElement(key == null ? null : keySerializer.serialize(key),
+                    value == null ? null : valueSerializer.serialize(value), true);
+            written++;
+        }
+        finish(size, written);
+    }
+
+
+    private void writeHeader(byte kind, long count) throws IOException {
+        block.clear();
+        block.putInt(MAGIC).put(VERSION).put(kind).putLong(count);
+        block.flip();
+        writeFully(block);
+        startBlock();
+    }
+
+    // a map entry is written as a whole, so it is never split between two blocks
+    private void writeElement(byte[] first, byte[] second, boolean pair) throws IOException {
+        int length = encodedLength(first) + (pair ? encodedLength(second) : 0);
+        if (block.remaining() < length) {
+            flushBlock();
+        }
+        if (block.remaining() < length) {
+            writeOversizedElement(first, second, pair, length);
+            return;
+        }
+        putBytes(block, first);
+        if (pair) {
+            putBytes(block, second);
+        }
+        blockCount++;
+    }
+
+    // an element larger than a block goes into a block of its own
+    private void writeOversizedElement(byte[] first, byte[] second, boolean pair, int length) throws IOException {
+        ByteBuffer oversized = ByteBuffer.allocate(BLOCK_HEADER_SIZE + length);
+        oversized.putInt(length).putInt(1);
+        putBytes(oversized, first);
+        if (pair) {
+            putBytes(oversized, second);
+        }
+        oversized.flip();
+        writeFully(oversized);
+    }
+
+    private void finish(long expected, long written) throws IOException {
+        flushBlock();
+        if (expected != written) {
+            throw new IllegalStateException("Expected to write " + expected + " elements, but " + written + " were written");
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockCount > 0) {
+            block.putInt(0, block.position() - BLOCK_HEADER_SIZE);
+            block.putInt(Integer.BYTES, blockCount);
+            block.flip();
+            writeFully(block);
+        }
+        startBlock();
+    }
+
+    private void startBlock() {
+        block.clear();
+        block.position(BLOCK_HEADER_SIZE);
+        blockCount = 0;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(NULL_LENGTH);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static int encodedLength(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+}
@@ -0,0 +1,141 @@
+package com.luxoft.olshevchenko.set;
+
+import com.luxoft.olshevchenko.metrics.Measurable;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.StringJoiner;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Multiset on a linear probing table with an int count per distinct value. Counting a value
+ * increments an int in place, no Integer is boxed and no entry node is created per value.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class HashMultiset<E> implements Multiset<E>, Measurable {
+    private final OpenAddressingTable table;
+
+    public HashMultiset() {
+        this(OpenAddressingTable.INITIAL_CAPACITY);
+    }
+
+    public HashMultiset(int length) {
+        table = new OpenAddressingTable(length, true, "multiset");
+    }
+
+
+    @Override
+    public int add(E value, int occurrences) {
+        checkOccurrences(occurrences);
+        int hash = OpenAddressingTable.hash(value);
+        int slot = table.findSlot(value, hash);
+        if (slot >= 0) {
+            int oldCount = table.countAt(slot);
+            table.setCountAt(slot, Math.addExact(oldCount, occurrences));
+            return oldCount;
+        }
+        if (occurrences > 0) {
+            table.add(value, hash, occurrences);
+        }
+        return 0;
+    }
+
+    @Override
+    public int remove(E value, int occurrences) {
+        checkOccurrences(occurrences);
+        int slot = table.findSlot(value, OpenAddressingTable.hash(value));
+        if (slot < 0) {
+            return 0;
+        }
+        int oldCount = table.countAt(slot);
+        if (occurrences >= oldCount) {
+            table.removeAt(slot);
+        } else {
+            table.setCountAt(slot, oldCount - occurrences);
+        }
+        return oldCount;
+    }
+
+    @Override
+    public int count(E value) {
+        int slot = table.findSlot(value, OpenAddressingTable.hash(value));
+        return slot >= 0 ? table.countAt(slot) : 0;
+    }
+
+    @Override
+    public int setCount(E value, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count should not be negative, but was " + count);
+        }
+        int hash = OpenAddressingTable.hash(value);
+        int slot = table.findSlot(value, hash);
+        if (slot < 0) {
+            if (count > 0) {
+                table.add(value, hash, count);
+            }
+            return 0;
+        }
+        int oldCount = table.countAt(slot);
+        if (count == 0) {
+            table.removeAt(slot);
+        } else {
+            table.setCountAt(slot, count);
+        }
+        return oldCount;
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+    }
+
+    @Override
+    public long size() {
+        return table.totalCount();
+    }
+
+    @Override
+    public int distinctSize() {
+        return table.size();
+    }
+
+    // walks the slots directly, no count lookups
+    @Override
+    public void forEachEntry(ObjIntConsumer<? super E> action) {
+        int expectedModCount = table.modCount();
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.isOccupied(slot)) {
+                action.accept(table.elementAt(slot), table.countAt(slot));
+                if (table.modCount() != expectedModCount) {
+                    throw new ConcurrentModificationException("The multiset was modified during forEachEntry");
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "{", "}");
+        forEachEntry((value, count) -> stringJoiner.add(value + "=" + count));
+        return stringJoiner.toString();
+    }
+
+    @Override
+    public java.util.Map<String, Double> structureStats() {
+        return table.structureStats();
+    }
+
+    // visits every distinct value once, remove drops all of its occurrences
+    @Override
+    public Iterator<E> iterator() {
+        return table.iterator();
+    }
+
+
+    private static void checkOccurrences(int occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Occurrences should not be negative, but was " + occurrences);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.luxoft.olshevchenko.set;
+
+import com.luxoft.olshevchenko.metrics.Measurable;
+
+import java.util.Iterator;
+import java.util.StringJoiner;
+
+/**
+ * Hash set on a linear probing table of elements and their hashes. Unlike a HashMap with dummy values,
+ * it keeps no value slot and no entry node per element.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public class HashSet<E> implements Set<E>, Measurable {
+    private final OpenAddressingTable table;
+
+    public HashSet() {
+        this(OpenAddressingTable.INITIAL_CAPACITY);
+    }
+
+    public HashSet(int length) {
+        this(new OpenAddressingTable(length, false, "set"));
+    }
+
+    public HashSet(Iterable<? extends E> values) {
+        this();
+        addAll(values);
+    }
+
+    private HashSet(OpenAddressingTable table) {
+        this.table = table;
+    }
+
+    // sized so that expectedSize elements fit without a rehash
+    public static <E> HashSet<E> withExpectedSize(int expectedSize) {
+        return new HashSet<>(OpenAddressingTable.lengthFor(expectedSize));
+    }
+
+
+    @Override
+    public boolean add(E value) {
+        int hash = OpenAddressingTable.hash(value);
+        if (table.findSlot(value, hash) >= 0) {
+            return false;
+        }
+        table.add(value, hash, 0);
+        return true;
+    }
+
+    @Override
+    public boolean remove(E value) {
+        int slot = table.findSlot(value, OpenAddressingTable.hash(value));
+        if (slot < 0) {
+            return false;
+        }
+        table.removeAt(slot);
+        return true;
+    }
+
+    @Override
+    public boolean contains(E value) {
+        return table.findSlot(value, OpenAddressingTable.hash(value)) >= 0;
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return table.size() == 0;
+    }
+
+    // a larger HashSet is copied array by array, with the stored hashes, and the smaller side is added to it;
+    // a larger set of another kind has to be added value by value anyway, which the default does
+    @Override
+    public Set<E> union(Set<E> other) {
+        if (other.size() > size()) {
+            return other instanceof HashSet ? other.union(this) : Set.super.union(other);
+        }
+        HashSet<E> result = new HashSet<>(table.copy(size() + other.size()));
+        result.addAll(other);
+        return result;
+    }
+
+    @Override
+    public Set<E> difference(Set<E> other) {
+        if (size() <= other.size()) {
+            return Set.super.difference(other);
+        }
+        HashSet<E> result = new HashSet<>(table.copy(size()));
+        for (E value : other) {
+            result.remove(value);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner stringJoiner = new StringJoiner(", ", "[", "]");
+        for (E value : this) {
+            stringJoiner.add(String.valueOf(value));
+        }
+        return stringJoiner.toString();
+    }
+
+    @Override
+    public java.util.Map<String, Double> structureStats() {
+        return table.structureStats();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return table.iterator();
+    }
+}
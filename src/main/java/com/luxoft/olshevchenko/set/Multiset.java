@@ -0,0 +1,68 @@
+package com.luxoft.olshevchenko.set;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Bag of values, each kept once with the number of its occurrences.
+ * Iteration visits every distinct value once, size counts all occurrences.
+ *
+ * @author Oleksandr Shevchenko
+ */
+public interface Multiset<E> extends Iterable<E> {
+
+    // adds one occurrence, returns the count before the call
+    default int add(E value) {
+        return add(value, 1);
+    }
+
+    // occurrences should not be negative, otherwise throw new IllegalArgumentException
+    int add(E value, int occurrences);
+
+    // removes one occurrence if there is any, returns the count before the call
+    default int remove(E value) {
+        return remove(value, 1);
+    }
+
+    // removes at most the given number of occurrences, the value is dropped when its count reaches 0
+    int remove(E value, int occurrences);
+
+    // 0 if the value is absent
+    int count(E value);
+
+    // returns the count before the call, count 0 drops the value
+    int setCount(E value, int count);
+
+    default boolean contains(E value) {
+        return count(value) > 0;
+    }
+
+    void clear();
+
+    // total number of occurrences
+    long size();
+
+    int distinctSize();
+
+    default boolean isEmpty() {
+        return distinctSize() == 0;
+    }
+
+    // true if anything was added
+    default boolean addAll(Iterable<? extends E> values) {
+        boolean added = false;
+        for (E value : values) {
+            add(value);
+            added = true;
+        }
+        return added;
+    }
+
+    // visits every distinct value with its count, without boxing the count
+    default void forEachEntry(ObjIntConsumer<? super E> action) {
+        for (E value : this) {
+            action.accept(value, count(value));
+        }
+    }
+
+    String toString();
+}
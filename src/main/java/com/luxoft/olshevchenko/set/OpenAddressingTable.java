@@ -0,0 +1,306 @@
+package com.luxoft.olshevchenko.set;
+
+import com.luxoft.olshevchenko.metrics.Metrics;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+
+/**
+ * Linear probing table of distinct elements over parallel element and hash arrays, shared by HashSet and
+ * HashMultiset. A counting table also keeps an int count per element in a third array, moved along on rehash.
+ * Null is stored as a sentinel, so that null marks a free slot, and removed elements leave a DELETED marker,
+ * so that probe sequences running through their slot stay intact.
+ *
+ * @author Oleksandr Shevchenko
+ */
+class OpenAddressingTable {
+    static final int INITIAL_CAPACITY = 8;
+    private static final int GROW_CONST = 2;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final Object NULL_ELEMENT = new Object();
+    private static final Object DELETED = new Object();
+
+    private final String name;
+    private final boolean counting;
+    private Object[] elements;
+    private int[] hashes;
+    // null unless the table is counting
+    private int[] counts;
+    private int size;
+    // sum of the counts of a counting table
+    private long totalCount;
+    private int deleted;
+    // counts added and removed elements, iterators fail fast when it changes behind their back
+    private int modCount;
+    // only counted while Metrics.ENABLED is on
+    private long rehashCount;
+    private long rehashNanos;
+
+    // name is used in the exception messages, like "set" or "multiset"
+    OpenAddressingTable(int length, boolean counting, String name) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length should be positive, but was " + length);
+        }
+        this.name = name;
+        this.counting = counting;
+        allocate(tableSizeFor(length));
+    }
+
+    // length of a table holding expectedSize elements without a rehash
+    static int lengthFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size should not be negative, but was " + expectedSize);
+        }
+        return Math.max((int) (expectedSize / LOAD_FACTOR) + 1, INITIAL_CAPACITY);
+    }
+
+    static int hash(Object element) {
+        return element == null ? NULL_ELEMENT.hashCode() : element.hashCode();
+    }
+
+
+    // returns the slot holding the element, or -1 if there is none
+    int findSlot(Object element, int hash) {
+        Object maskedElement = maskNull(element);
+        int mask = elements.length - 1;
+        int slot = getIndex(hash, mask);
+        while (true) {
+            Object current = elements[slot];
+            if (current == null) {
+                return -1;
+            }
+            if (hashes[slot] == hash && current != DELETED && current.equals(maskedElement)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // the element is known to be absent, returns the slot it was put in
+    int add(Object element, int hash, int count) {
+        if (size + deleted + 1 > elements.length * LOAD_FACTOR) {
+            rehash(size + 1 > elements.length * LOAD_FACTOR / GROW_CONST ? elements.length * GROW_CONST : elements.length);
+        }
+        int slot = insert(maskNull(element), hash);
+        if (counting) {
+            counts[slot] = count;
+            totalCount += count;
+        }
+        size++;
+        modCount++;
+        return slot;
+    }
+
+    void removeAt(int slot) {
+        if (counting) {
+            totalCount -= counts[slot];
+            counts[slot] = 0;
+        }
+        elements[slot] = DELETED;
+        size--;
+        deleted++;
+        modCount++;
+    }
+
+    int countAt(int slot) {
+        return counts[slot];
+    }
+
+    // the count stays positive, a count of 0 is a removeAt
+    void setCountAt(int slot, int count) {
+        totalCount += count - counts[slot];
+        counts[slot] = count;
+    }
+
+    @SuppressWarnings("unchecked")
+    <E> E elementAt(int slot) {
+        Object element = elements[slot];
+        return element == NULL_ELEMENT ? null : (E) element;
+    }
+
+    boolean isOccupied(int slot) {
+        return elements[slot] != null && elements[slot] != DELETED;
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long totalCount() {
+        return totalCount;
+    }
+
+    int modCount() {
+        return modCount;
+    }
+
+    void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+        totalCount = 0;
+        modCount++;
+    }
+
+    // keeps the arrays as they are if they already fit expectedSize, deleted slots included
+    OpenAddressingTable copy(int expectedSize) {
+        OpenAddressingTable result = new OpenAddressingTable(1, counting, name);
+        if (expectedSize + deleted > elements.length * LOAD_FACTOR) {
+            result.allocate(tableSizeFor(lengthFor(expectedSize)));
+            for (int slot = 0; slot < elements.length; slot++) {
+                if (isOccupied(slot)) {
+                    int newSlot = result.insert(elements[slot], hashes[slot]);
+                    if (counting) {
+                        result.counts[newSlot] = counts[slot];
+                    }
+                }
+            }
+        } else {
+            result.elements = elements.clone();
+            result.hashes = hashes.clone();
+            result.counts = counts == null ? null : counts.clone();
+            result.deleted = deleted;
+        }
+        result.size = size;
+        result.totalCount = totalCount;
+        return result;
+    }
+
+    void checkForComodification(int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException("The " + name + " was modified outside of the iterator");
+        }
+    }
+
+    // probe distance is how far an element sits from the slot its hash points to
+    java.util.Map<String, Double> structureStats() {
+        int mask = elements.length - 1;
+        long totalProbeDistance = 0;
+        int maxProbeDistance = 0;
+        for (int slot = 0; slot < elements.length; slot++) {
+            if (isOccupied(slot)) {
+                int probeDistance = (slot - getIndex(hashes[slot], mask)) & mask;
+                totalProbeDistance += probeDistance;
+                maxProbeDistance = Math.max(maxProbeDistance, probeDistance);
+            }
+        }
+        java.util.Map<String, Double> stats = new LinkedHashMap<>();
+        stats.put("size", (double) (counting ? totalCount : size));
+        if (counting) {
+            stats.put("distinctSize", (double) size);
+        }
+        stats.put("capacity", (double) elements.length);
+        stats.put("deletedSlots", (double) deleted);
+        stats.put("maxProbeDistance", (double) maxProbeDistance);
+        stats.put("averageProbeDistance", size == 0 ? 0 : (double) totalProbeDistance / size);
+        stats.put("rehashCount", (double) rehashCount);
+        stats.put("rehashNanos", (double) rehashNanos);
+        return stats;
+    }
+
+
+    // the first free or deleted slot is taken, the element is known to be absent
+    private int insert(Object maskedElement, int hash) {
+        int mask = elements.length - 1;
+        int slot = getIndex(hash, mask);
+        while (isOccupied(slot)) {
+            slot = (slot + 1) & mask;
+        }
+        if (elements[slot] == DELETED) {
+            deleted--;
+        }
+        elements[slot] = maskedElement;
+        hashes[slot] = hash;
+        return slot;
+    }
+
+    // reuses the stored hashes, deleted slots are dropped along the way
+    private void rehash(int newLength) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        Object[] oldElements = elements;
+        int[] oldHashes = hashes;
+        int[] oldCounts = counts;
+        allocate(newLength);
+        for (int slot = 0; slot < oldElements.length; slot++) {
+            Object element = oldElements[slot];
+            if (element != null && element != DELETED) {
+                int newSlot = insert(element, oldHashes[slot]);
+                if (counting) {
+                    counts[newSlot] = oldCounts[slot];
+                }
+            }
+        }
+        if (Metrics.ENABLED) {
+            rehashCount++;
+            rehashNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void allocate(int length) {
+        elements = new Object[length];
+        hashes = new int[length];
+        counts = counting ? new int[length] : null;
+        deleted = 0;
+    }
+
+    // linear probing is sensitive to clustered hash codes, so the bits are mixed before masking
+    private static int getIndex(int hash, int mask) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static Object maskNull(Object element) {
+        return element == null ? NULL_ELEMENT : element;
+    }
+
+    private static int tableSizeFor(int length) {
+        int highestBit = Integer.highestOneBit(Math.max(length, 2));
+        return highestBit == length ? length : highestBit << 1;
+    }
+
+
+    <E> Iterator<E> iterator() {
+        return new SlotIterator<>();
+    }
+
+    // visits every element once, remove drops the element with its count
+    private class SlotIterator<E> implements Iterator<E> {
+        private int index;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            while (index < elements.length && !isOccupied(index)) {
+                index++;
+            }
+            return index < elements.length;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification(expectedModCount);
+            if (!hasNext()) {
+                throw new NoSuchElementException("There is no next element in the " + name);
+            }
+            lastReturned = index++;
+            return elementAt(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("Called remove method without next");
+            }
+            checkForComodification(expectedModCount);
+            removeAt(lastReturned);
+            expectedModCount = modCount;
+            lastReturned = -1;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.luxoft.olshevchenko.set;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public interface Set<E> extends Iterable<E> {
+
+    // true if the value was not in the set yet
+    boolean add(E value);
+
+    // true if the value was in the set
+    boolean remove(E value);
+
+    boolean contains(E value);
+
+    void clear();
+
+    int size();
+
+    boolean isEmpty();
+
+    String toString();
+
+    // true if anything was added
+    default boolean addAll(Iterable<? extends E> values) {
+        boolean added = false;
+        for (E value : values) {
+            added |= add(value);
+        }
+        return added;
+    }
+
+    // The set algebra returns a new HashSet and leaves both sets intact.
+    // Each operation iterates the smaller side and looks the values up in the larger one.
+
+    // [A, B] union [B, C] => [A, B, C]
+    default Set<E> union(Set<E> other) {
+        Set<E> larger = size() >= other.size() ? this : other;
+        Set<E> smaller = larger == this ? other : this;
+        HashSet<E> result = HashSet.withExpectedSize(larger.size() + smaller.size());
+        result.addAll(larger);
+        result.addAll(smaller);
+        return result;
+    }
+
+    // [A, B] intersect [B, C] => [B]
+    default Set<E> intersect(Set<E> other) {
+        Set<E> larger = size() >= other.size() ? this : other;
+        Set<E> smaller = larger == this ? other : this;
+        HashSet<E> result = HashSet.withExpectedSize(smaller.size());
+        for (E value : smaller) {
+            if (larger.contains(value)) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    // [A, B] difference [B, C] => [A]
+    // when this set is the larger one, it is copied and the values of the other one are removed from the copy
+    default Set<E> difference(Set<E> other) {
+        HashSet<E> result;
+        if (size() <= other.size()) {
+            result = HashSet.withExpectedSize(size());
+            for (E value : this) {
+                if (!other.contains(value)) {
+                    result.add(value);
+                }
+            }
+        } else {
+            result = HashSet.withExpectedSize(size());
+            result.addAll(this);
+            for (E value : other) {
+                result.remove(value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT);
+    }
+
+    default Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+}
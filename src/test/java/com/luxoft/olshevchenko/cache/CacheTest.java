@@ -0,0 +1,102 @@
+package com.luxoft.olshevchenko.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public abstract class CacheTest {
+
+    protected abstract Cache<String, String> getCache(long maximumWeight, Weigher<String, String> weigher,
+                                                      EvictionListener<String, String> evictionListener);
+
+    private Cache<String, String> getCache(long maximumSize) {
+        return getCache(maximumSize, (key, value) -> 1, (key, value) -> {
+        });
+    }
+
+
+    @Test
+    @DisplayName("Test Put, Get and hit and miss counters")
+    void testPutGetAndStats() {
+        Cache<String, String> cache = getCache(10);
+        assertNull(cache.put("A", "1"));
+        assertNull(cache.put(null, "2"));
+        assertEquals("1", cache.get("A"));
+        assertEquals("2", cache.get(null));
+        assertNull(cache.get("B"));
+        assertEquals("1", cache.put("A", "3"));
+        assertEquals("3", cache.get("A"));
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.weightedSize());
+        CacheStats stats = cache.stats();
+        assertEquals(3, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(0, stats.evictionCount());
+        assertEquals(0.75, stats.hitRate());
+    }
+
+    @Test
+    @DisplayName("Test Invalidate does not notify the listener and ContainsKey does not count")
+    void testInvalidateAndContainsKey() {
+        List<String> evicted = new ArrayList<>();
+        Cache<String, String> cache = getCache(10, (key, value) -> 1, (key, value) -> evicted.add(key));
+        cache.put("A", "1");
+        assertTrue(cache.containsKey("A"));
+        assertEquals("1", cache.invalidate("A"));
+        assertNull(cache.invalidate("A"));
+        assertFalse(cache.containsKey("A"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+        assertTrue(evicted.isEmpty());
+        assertEquals(0, cache.stats().hitCount() + cache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Test Put with null value throws NullPointerException")
+    void testPutNullValue() {
+        Cache<String, String> cache = getCache(10);
+        assertThrows(NullPointerException.class, () -> cache.put("A", null));
+    }
+
+    @Test
+    @DisplayName("Test the size bound holds and every eviction is reported")
+    void testSizeBound() {
+        List<String> evicted = new ArrayList<>();
+        Cache<String, String> cache = getCache(100, (key, value) -> 1, (key, value) -> evicted.add(key));
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + i, "value" + i);
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(1000, cache.size() + evicted.size());
+        assertEquals(evicted.size(), cache.stats().evictionCount());
+        for (String key : evicted) {
+            assertFalse(cache.containsKey(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Test the weight bound holds, also when a value is replaced by a heavier one")
+    void testWeightBound() {
+        List<String> evicted = new ArrayList<>();
+        Cache<String, String> cache = getCache(200, (key, value) -> value.length(), (key, value) -> evicted.add(key));
+        for (int i = 0; i < 100; i++) {
+            cache.put("key" + i, "0123456789");
+            assertTrue(cache.weightedSize() <= 200);
+        }
+        cache.put("key99", "x".repeat(150));
+        assertTrue(cache.weightedSize() <= 200);
+
+        cache.put("huge", "x".repeat(201));
+        assertFalse(cache.containsKey("huge"));
+        assertTrue(evicted.contains("huge"));
+        assertThrows(IllegalArgumentException.class, () -> getCache(0));
+    }
+}
@@ -0,0 +1,35 @@
+package com.luxoft.olshevchenko.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class LruCacheTest extends CacheTest {
+    @Override
+    protected Cache<String, String> getCache(long maximumWeight, Weigher<String, String> weigher,
+                                             EvictionListener<String, String> evictionListener) {
+        return new LruCache<>(maximumWeight, weigher, evictionListener);
+    }
+
+    @Test
+    @DisplayName("Test the least recently used entry is evicted")
+    void testLeastRecentlyUsedIsEvicted() {
+        LruCache<String, Integer> cache = new LruCache<>(3);
+        cache.put("A", 1);
+        cache.put("B", 2);
+        cache.put("C", 3);
+        cache.get("A");
+        cache.put("D", 4);
+        assertFalse(cache.containsKey("B"));
+        cache.put("C", 5);
+        cache.put("E", 6);
+        assertFalse(cache.containsKey("A"));
+        assertTrue(cache.containsKey("C"));
+        assertTrue(cache.containsKey("D"));
+        assertTrue(cache.containsKey("E"));
+    }
+}
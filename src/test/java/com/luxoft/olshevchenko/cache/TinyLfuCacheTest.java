@@ -0,0 +1,65 @@
+package com.luxoft.olshevchenko.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class TinyLfuCacheTest extends CacheTest {
+    @Override
+    protected Cache<String, String> getCache(long maximumWeight, Weigher<String, String> weigher,
+                                             EvictionListener<String, String> evictionListener) {
+        return new TinyLfuCache<>(maximumWeight, weigher, evictionListener);
+    }
+
+    @Test
+    @DisplayName("Test a scan of one-time keys does not flush frequently used entries")
+    void testScanResistance() {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(100);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                if (cache.get(i) == null) {
+                    cache.put(i, i);
+                }
+            }
+        }
+        for (int i = 1000; i < 1400; i++) {
+            cache.put(i, i);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertTrue(cache.containsKey(i), "Hot key " + i + " was evicted by the scan");
+        }
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    @DisplayName("Test the frequency sketch of a weighted cache is sized by the entries, not by the maximum weight")
+    void testSketchSizedByEntries() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(1L << 30, (key, value) -> value.length(), (key, value) -> {
+        });
+        assertTrue(cache.sketchLength() <= 16);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "x".repeat(1024));
+        }
+        assertEquals(1000, cache.size());
+        assertEquals(1024, cache.sketchLength());
+    }
+
+    @Test
+    @DisplayName("Test an LRU cache of the same size loses the frequently used entries to the scan")
+    void testLruLosesToScan() {
+        LruCache<Integer, Integer> cache = new LruCache<>(100);
+        for (int i = 0; i < 50; i++) {
+            cache.put(i, i);
+        }
+        for (int i = 1000; i < 1100; i++) {
+            cache.put(i, i);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertFalse(cache.containsKey(i));
+        }
+    }
+}
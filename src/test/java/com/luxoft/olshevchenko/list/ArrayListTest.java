@@ -1,5 +1,14 @@
 package com.luxoft.olshevchenko.list;
 
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * @author Oleksandr Shevchenko
  */
@@ -8,4 +17,80 @@ class ArrayListTest extends ListTest {
     protected List<String> getList() {
         return new ArrayList<>();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test ParallelSort of a large list matches a sequential sort")
+    void testParallelSort() {
+        ArrayList<Integer> list = new ArrayList<>();
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt();
+            list.add(value);
+            expected.add(value);
+        }
+        list.parallelSort(Comparator.reverseOrder());
+        expected.sort(Comparator.reverseOrder());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+        list.parallelSort(null);
+        assertEquals(expected.get(expected.size() - 1), list.get(0));
+    }
+
+    @Test
+    @DisplayName("Test EnsureCapacity, TrimToSize and a custom GrowthPolicy")
+    void testCapacityManagement() {
+        ArrayList<Integer> list = new ArrayList<>(0, GrowthPolicy.fixedStep(4));
+        list.add(1);
+        assertEquals(4.0, list.structureStats().get("capacity"));
+        list.ensureCapacity(100);
+        assertEquals(100.0, list.structureStats().get("capacity"));
+        for (int i = 2; i <= 100; i++) {
+            list.add(i);
+        }
+        assertEquals(100.0, list.structureStats().get("capacity"));
+        list.add(101);
+        assertEquals(104.0, list.structureStats().get("capacity"));
+
+        list.removeRange(10, 101);
+        list.trimToSize();
+        assertEquals(10.0, list.structureStats().get("capacity"));
+        assertEquals(10, list.get(9));
+        list.clear();
+        list.trimToSize();
+        assertEquals(0.0, list.structureStats().get("capacity"));
+        list.add(5);
+        assertEquals(5, list.get(0));
+    }
+
+    @Test
+    @DisplayName("Test Spliterator does not report NONNULL, since Set can store a null")
+    void testSpliteratorWithNull() {
+        ArrayList<String> list = new ArrayList<>();
+        list.add("A");
+        list.add("B");
+        list.set(null, 0);
+        Spliterator<String> spliterator = list.spliterator();
+        assertFalse(spliterator.hasCharacteristics(Spliterator.NONNULL));
+        assertEquals(2, list.stream().count());
+        assertEquals(1, list.indexOf("B"));
+    }
+
+    @Test
+    @DisplayName("Test RemoveIf leaves the list unchanged when the filter throws")
+    void testRemoveIfWithThrowingFilter() {
+        ArrayList<String> list = new ArrayList<>();
+        for (String value : new String[]{"A", "BB", "C", "DD", "E"}) {
+            list.add(value);
+        }
+        assertThrows(IllegalStateException.class, () -> list.removeIf(value -> {
+            if (value.equals("DD")) {
+                throw new IllegalStateException();
+            }
+            return value.length() == 1;
+        }));
+        assertEquals("[A, BB, C, DD, E]", list.toString());
+        assertEquals(5, list.size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.luxoft.olshevchenko.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class CircularArrayListTest extends ListTest {
+    @Override
+    protected List<String> getList() {
+        return new CircularArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Test sliding window adds at the tail and removes at the head across wrap arounds")
+    void testSlidingWindow() {
+        CircularArrayList<Integer> window = new CircularArrayList<>(4);
+        for (int i = 0; i < 1000; i++) {
+            window.addLast(i);
+            if (window.size() > 3) {
+                assertEquals(i - 3, window.removeFirst());
+            }
+            assertEquals(i, window.peekLast());
+            assertEquals(Math.max(0, i - 2), window.get(0));
+        }
+        assertEquals("[997, 998, 999]", window.toString());
+        window.addFirst(996);
+        assertEquals(996, window.pollFirst());
+        assertEquals(999, window.pollLast());
+        assertEquals(2, window.drainTo(new ArrayList<>()));
+        assertNull(window.pollFirst());
+        assertThrows(IllegalStateException.class, window::removeLast);
+    }
+
+    @Test
+    @DisplayName("Test random inserts and removes at any index match java.util.ArrayList")
+    void testRandomOperationsMatchArrayList() {
+        CircularArrayList<Integer> list = new CircularArrayList<>(1);
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(23);
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(3);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(i, index);
+                expected.add(index, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+        assertEquals(expected.toString(), list.toString());
+    }
+}
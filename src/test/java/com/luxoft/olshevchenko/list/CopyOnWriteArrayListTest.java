@@ -0,0 +1,101 @@
+package com.luxoft.olshevchenko.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class CopyOnWriteArrayListTest extends ListTest {
+    @Override
+    protected List<String> getList() {
+        return new CopyOnWriteArrayList<>();
+    }
+
+    // iteration works on a snapshot, only changes through a stale iterator fail
+    @Override
+    @Test
+    @DisplayName("Test Iterator walks a snapshot and changes through a stale iterator fail")
+    void testFailFast() {
+        List<String> list = getList();
+        list.add("A");
+        list.add("B");
+        Iterator<String> iterator = list.iterator();
+        list.add("C");
+        assertEquals("A", iterator.next());
+        assertEquals("B", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(ConcurrentModificationException.class, iterator::remove);
+
+        ListIterator<String> listIterator = list.listIterator();
+        listIterator.next();
+        listIterator.remove();
+        listIterator.add("D");
+        assertEquals("[D, B, C]", list.toString());
+
+        list.forEach(value -> list.add(value + "!"));
+        assertEquals("[D, B, C, D!, B!, C!]", list.toString());
+    }
+
+    @Test
+    @DisplayName("Test readers see complete snapshots while a writer changes the list")
+    void testConcurrentReadsAndWrites() throws Exception {
+        CopyOnWriteArrayList<Integer> list = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2000; i++) {
+                    list.add(i);
+                }
+                return null;
+            });
+            java.util.List<Future<?>> readers = new java.util.ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    while (list.size() < 2000) {
+                        int expected = 0;
+                        for (Integer value : list) {
+                            assertEquals(expected++, value);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2000, list.size());
+        assertEquals(1999, list.get(1999));
+    }
+
+    @Test
+    @DisplayName("Test a null stored by Set is printed as null and streamed")
+    void testSetNull() {
+        CopyOnWriteArrayList<String> list = new CopyOnWriteArrayList<>();
+        list.add("A");
+        list.add("B");
+        list.add("A");
+        list.set(null, 0);
+        assertEquals("[null, B, A]", list.toString());
+        assertEquals(3, list.stream().count());
+    }
+}
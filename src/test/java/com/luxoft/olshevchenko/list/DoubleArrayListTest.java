@@ -0,0 +1,26 @@
+package com.luxoft.olshevchenko.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class DoubleArrayListTest {
+
+    @Test
+    @DisplayName("Test Add, Get, Remove and ToArray methods")
+    void testAddGetRemoveAndToArray() {
+        DoubleArrayList list = new DoubleArrayList(1);
+        list.add(1.5);
+        list.add(Double.NaN);
+        list.add(2.5, 1);
+        assertEquals(1.5, list.get(0));
+        assertEquals(2, list.indexOf(Double.NaN));
+        assertEquals(2.5, list.remove(1));
+        assertArrayEquals(new double[]{1.5, Double.NaN}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(2));
+    }
+}
@@ -0,0 +1,50 @@
+package com.luxoft.olshevchenko.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class GapBufferListTest extends ListTest {
+    @Override
+    protected List<String> getList() {
+        return new GapBufferList<>();
+    }
+
+    @Test
+    @DisplayName("Test edits around a moving cursor match java.util.ArrayList")
+    void testEditsAroundCursor() {
+        GapBufferList<Integer> list = new GapBufferList<>(0);
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(29);
+        int cursor = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 6 || expected.isEmpty()) {
+                list.add(i, cursor);
+                expected.add(cursor, i);
+                cursor++;
+            } else if (operation < 8) {
+                if (cursor > 0) {
+                    cursor--;
+                    assertEquals(expected.remove(cursor), list.remove(cursor));
+                }
+            } else {
+                cursor = random.nextInt(expected.size() + 1);
+            }
+            if (!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), list.get(index));
+            }
+        }
+        assertEquals(expected.toString(), list.toString());
+        list.removeRange(10, 100);
+        expected.subList(10, 100).clear();
+        assertEquals(expected.toString(), list.toString());
+    }
+}
@@ -0,0 +1,41 @@
+package com.luxoft.olshevchenko.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class GrowthPolicyTest {
+
+    @Test
+    @DisplayName("Test geometric growth multiplies the capacity and covers the required one")
+    void testGeometric() {
+        GrowthPolicy policy = GrowthPolicy.geometric(1.5);
+        assertEquals(2, policy.newCapacity(0, 1));
+        assertEquals(15, policy.newCapacity(10, 11));
+        assertEquals(100, policy.newCapacity(10, 100));
+        assertEquals(GrowthPolicy.MAX_ARRAY_LENGTH, policy.newCapacity(2_000_000_000, 2_000_000_001));
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.geometric(1));
+    }
+
+    @Test
+    @DisplayName("Test fixed step growth adds the same number of slots")
+    void testFixedStep() {
+        GrowthPolicy policy = GrowthPolicy.fixedStep(100);
+        assertEquals(110, policy.newCapacity(10, 11));
+        assertEquals(500, policy.newCapacity(10, 500));
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.fixedStep(0));
+    }
+
+    @Test
+    @DisplayName("Test bounded overshoot growth is geometric for small arrays and capped for huge ones")
+    void testBoundedOvershoot() {
+        GrowthPolicy policy = GrowthPolicy.boundedOvershoot(2, 1000);
+        assertEquals(200, policy.newCapacity(100, 101));
+        assertEquals(1_001_001, policy.newCapacity(1_000_000, 1_000_001));
+        assertThrows(OutOfMemoryError.class, () -> policy.newCapacity(10, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,87 @@
+package com.luxoft.olshevchenko.list;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class IntArrayListTest {
+    private IntArrayList list;
+
+    @BeforeEach
+    public void before() {
+        list = new IntArrayList();
+    }
+
+    @Test
+    @DisplayName("Test Add method and capacity increase")
+    void testAddAndCapacityIncrease() {
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+        }
+        assertEquals(20, list.size());
+        assertEquals(19, list.get(19));
+    }
+
+    @Test
+    @DisplayName("Test Add and Remove method if index does not exceed bounds")
+    void testAddAndRemoveIfIndexInBounds() {
+        list.add(1, 0);
+        list.add(2, 1);
+        list.add(3, 2);
+        list.add(4, 2);
+        assertEquals("[1, 2, 4, 3]", list.toString());
+        assertEquals(4, list.remove(2));
+        assertEquals(1, list.remove(0));
+        assertEquals(2, list.size());
+    }
+
+    @Test
+    @DisplayName("Test methods throw IndexOutOfBoundsException if index exceeds bounds")
+    void testIndexOutOfBounds() {
+        list.add(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(2, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(2, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(3, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+    }
+
+    @Test
+    @DisplayName("Test Set method returns previous value")
+    void testSet() {
+        list.add(1);
+        list.add(2);
+        assertEquals(1, list.set(5, 0));
+        assertEquals(5, list.get(0));
+    }
+
+    @Test
+    @DisplayName("Test IndexOf, LastIndexOf and Contains methods")
+    void testIndexOfAndLastIndexOfAndContains() {
+        list.add(1);
+        list.add(2);
+        list.add(1);
+        assertEquals(0, list.indexOf(1));
+        assertEquals(2, list.lastIndexOf(1));
+        assertEquals(-1, list.indexOf(3));
+        assertTrue(list.contains(2));
+        assertFalse(list.contains(3));
+    }
+
+    @Test
+    @DisplayName("Test ToArray returns only the elements and Clear empties the list")
+    void testToArrayAndClear() {
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        assertArrayEquals(new int[]{1, 2, 3}, list.toArray());
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertArrayEquals(new int[0], list.toArray());
+    }
+}
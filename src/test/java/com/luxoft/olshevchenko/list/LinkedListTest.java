@@ -1,5 +1,10 @@
 package com.luxoft.olshevchenko.list;
 
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * @author Oleksandr Shevchenko
  */
@@ -8,4 +13,55 @@ class LinkedListTest extends ListTest {
     protected List<String> getList() {
         return new LinkedList<>();
     }
-}
\ No newline at end of file
+
+    // indexOf and lastIndexOf call equals on the stored value, null slots included
+    @Override
+    protected boolean scansSkipNullSlots() {
+        return false;
+    }
+
+    @Test
+    @DisplayName("Test Deque operations at both ends")
+    void testDequeOperations() {
+        LinkedList<String> deque = new LinkedList<>();
+        assertNull(deque.pollFirst());
+        assertNull(deque.peekLast());
+        assertThrows(IllegalStateException.class, deque::removeLast);
+        deque.addFirst("B");
+        deque.addFirst("A");
+        deque.addLast("C");
+        assertTrue(deque.offerLast("D"));
+        assertFalse(deque.offerFirst(null));
+        deque.push("Z");
+        assertEquals("[Z, A, B, C, D]", deque.toString());
+        assertEquals("Z", deque.pop());
+        assertEquals("A", deque.peekFirst());
+        assertEquals("D", deque.peekLast());
+        assertEquals("D", deque.pollLast());
+        assertEquals("A", deque.removeFirst());
+        assertEquals("[B, C]", deque.toString());
+        assertEquals("C", deque.removeLast());
+        assertEquals("B", deque.poll());
+        assertTrue(deque.isEmpty());
+        assertThrows(IllegalStateException.class, deque::removeFirst);
+    }
+
+    @Test
+    @DisplayName("Test Queue offer, poll and drainTo")
+    void testQueueOperations() {
+        LinkedList<String> queue = new LinkedList<>();
+        queue.offer("A");
+        queue.offer("B");
+        queue.offer("C");
+        assertEquals("A", queue.peek());
+        List<String> list = new ArrayList<>();
+        assertEquals(2, queue.drainTo(list, 2));
+        assertEquals("[A, B]", list.toString());
+        assertEquals("[C]", queue.toString());
+        assertEquals(1, queue.drainTo(list));
+        assertTrue(queue.isEmpty());
+        queue.offer("D");
+        assertEquals("D", queue.poll());
+        assertThrows(IllegalArgumentException.class, () -> queue.drainTo(queue));
+    }
+}
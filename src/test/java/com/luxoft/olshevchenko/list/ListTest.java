@@ -1,14 +1,21 @@
 package com.luxoft.olshevchenko.list;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -27,6 +34,11 @@ public abstract class ListTest {
     private final java.util.List<String> originalArrayList = new ArrayList<>();
     private final java.util.List<String> originalLinkedList = new LinkedList<>();
 
+    // set and ListIterator.set store null, while add ignores it; lists whose scans cannot pass over such slots opt out
+    protected boolean scansSkipNullSlots() {
+        return true;
+    }
+
     @Test
     @DisplayName("Test Add method and capacity increase")
     void testAddAndCapacityIncrease() {
@@ -189,6 +201,169 @@ public abstract class ListTest {
     }
 
 
+    @Test
+    @DisplayName("Test AddAll to the end and by index")
+    void testAddAll() {
+        list.add("A");
+        list.add("B");
+        list.addAll(java.util.List.of("C", "D"));
+        assertEquals("[A, B, C, D]", list.toString());
+        list.addAll(java.util.List.of("E", "F"), 1);
+        assertEquals("[A, E, F, B, C, D]", list.toString());
+        list.addAll(java.util.List.of("G"), 0);
+        list.addAll(new ArrayList<>(), 3);
+        assertEquals("[G, A, E, F, B, C, D]", list.toString());
+        assertEquals(7, list.size());
+        assertEquals("D", list.get(6));
+    }
+
+    @Test
+    @DisplayName("Test AddAll skips nulls and supports adding the list to itself")
+    void testAddAllWithNullsAndItself() {
+        list.addAll(java.util.Arrays.asList("A", null, "B"));
+        assertEquals(2, list.size());
+        list.addAll(list, 1);
+        assertEquals("[A, A, B, B]", list.toString());
+        list.addAll(list);
+        assertEquals(8, list.size());
+        assertEquals("B", list.get(7));
+    }
+
+    @Test
+    @DisplayName("Test AddAll method if index exceeds bounds")
+    void testAddAllIfIndexOutOfBounds() {
+        list.add("A");
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(java.util.List.of("B"), 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(java.util.List.of("B"), -1));
+    }
+
+    @Test
+    @DisplayName("Test RemoveRange method")
+    void testRemoveRange() {
+        list.addAll(java.util.List.of("A", "B", "C", "D", "E"));
+        list.removeRange(1, 3);
+        assertEquals("[A, D, E]", list.toString());
+        list.removeRange(2, 2);
+        assertEquals(3, list.size());
+        list.removeRange(0, 1);
+        assertEquals("[D, E]", list.toString());
+        list.removeRange(1, 2);
+        assertEquals("[D]", list.toString());
+        list.add("F");
+        assertEquals("F", list.get(1));
+        list.removeRange(0, 2);
+        Assertions.assertTrue(list.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test RemoveRange method if range exceeds bounds")
+    void testRemoveRangeIfOutOfBounds() {
+        list.addAll(java.util.List.of("A", "B"));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(-1, 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(0, 3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(2, 1));
+    }
+
+    @Test
+    @DisplayName("Test RemoveIf and RetainAll methods")
+    void testRemoveIfAndRetainAll() {
+        list.addAll(java.util.List.of("A", "BB", "C", "DD", "E"));
+        Assertions.assertTrue(list.removeIf(value -> value.length() == 2));
+        assertEquals("[A, C, E]", list.toString());
+        Assertions.assertFalse(list.removeIf(value -> value.length() == 2));
+        List<String> valuesToKeep = getList();
+        valuesToKeep.addAll(java.util.List.of("E", "A", "X"));
+        Assertions.assertTrue(list.retainAll(valuesToKeep));
+        assertEquals("[A, E]", list.toString());
+        list.add("F");
+        assertEquals("F", list.get(2));
+    }
+
+    @Test
+    @DisplayName("Test Set method returns the previous value")
+    void testSetReturnsPreviousValue() {
+        list.add("A");
+        assertEquals("A", list.set("B", 0));
+        assertEquals("B", list.get(0));
+    }
+
+    @Test
+    @DisplayName("Test Get method on every index of a long list")
+    void testGetOnEveryIndex() {
+        for (int i = 0; i < 101; i++) {
+            list.add(String.valueOf(i));
+        }
+        for (int i = 0; i < 101; i++) {
+            assertEquals(String.valueOf(i), list.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test ListIterator traversal in both directions")
+    void testListIteratorTraversal() {
+        list.addAll(java.util.List.of("A", "B", "C"));
+        ListIterator<String> iterator = list.listIterator(1);
+        assertEquals(1, iterator.nextIndex());
+        assertEquals("B", iterator.next());
+        assertEquals("C", iterator.next());
+        Assertions.assertFalse(iterator.hasNext());
+        assertEquals("C", iterator.previous());
+        assertEquals("B", iterator.previous());
+        assertEquals("A", iterator.previous());
+        Assertions.assertFalse(iterator.hasPrevious());
+        assertEquals(-1, iterator.previousIndex());
+        Assertions.assertThrows(NoSuchElementException.class, iterator::previous);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(4));
+    }
+
+    @Test
+    @DisplayName("Test ListIterator Set, Add and Remove rewrite the list in one pass")
+    void testListIteratorSetAddAndRemove() {
+        list.addAll(java.util.List.of("A", "B", "C", "D"));
+        ListIterator<String> iterator = list.listIterator();
+        Assertions.assertThrows(IllegalStateException.class, () -> iterator.set("X"));
+        while (iterator.hasNext()) {
+            String value = iterator.next();
+            if (value.equals("A")) {
+                iterator.set("a");
+            } else if (value.equals("B")) {
+                iterator.remove();
+            } else if (value.equals("C")) {
+                iterator.add("C2");
+            }
+        }
+        assertEquals("[a, C, C2, D]", list.toString());
+        iterator.add("E");
+        assertEquals("[a, C, C2, D, E]", list.toString());
+        assertEquals("E", iterator.previous());
+        iterator.remove();
+        assertEquals("D", iterator.previous());
+        assertEquals(3, iterator.nextIndex());
+        assertEquals("[a, C, C2, D]", list.toString());
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    @DisplayName("Test SubList view reads and writes through to the list")
+    void testSubList() {
+        list.addAll(java.util.List.of("A", "B", "C", "D", "E"));
+        List<String> subList = list.subList(1, 4);
+        assertEquals("[B, C, D]", subList.toString());
+        assertEquals(3, subList.size());
+        assertEquals("C", subList.get(1));
+        assertEquals(2, subList.indexOf("D"));
+        subList.set("c", 1);
+        subList.add("X", 3);
+        subList.remove(0);
+        assertEquals("[c, D, X]", subList.toString());
+        assertEquals("[A, c, D, X, E]", list.toString());
+        subList.subList(0, 2).clear();
+        assertEquals("[X]", subList.toString());
+        assertEquals("[A, X, E]", list.toString());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> subList.get(1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.subList(2, 4));
+    }
+
     @Test
     @DisplayName("Test Iterator Next and Remove methods")
     void testIteratorNextAndRemove() {
@@ -224,4 +399,135 @@ public abstract class ListTest {
         Iterator<String> iterator = list.iterator();
         Assertions.assertThrows(IllegalStateException.class, iterator::remove);
     }
+
+    @Test
+    @DisplayName("Test Stream and ParallelStream see every value, in order")
+    void testStreamAndParallelStream() {
+        for (int i = 0; i < 10_000; i++) {
+            list.add("v" + i);
+            originalArrayList.add("v" + i);
+        }
+        assertEquals(originalArrayList, list.stream().collect(Collectors.toList()));
+        assertEquals(originalArrayList, list.parallelStream().collect(Collectors.toList()));
+        assertEquals(10_000, list.parallelStream().filter(value -> value.startsWith("v")).count());
+    }
+
+    @Test
+    @DisplayName("Test Spliterator is sized and its parts cover the list")
+    void testSpliteratorSplit() {
+        for (int i = 0; i < 100; i++) {
+            list.add("v" + i);
+        }
+        Spliterator<String> suffix = list.spliterator();
+        Assertions.assertTrue(suffix.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(100, suffix.getExactSizeIfKnown());
+        Spliterator<String> prefix = suffix.trySplit();
+        StringBuilder values = new StringBuilder();
+        if (prefix != null) {
+            prefix.forEachRemaining(values::append);
+        }
+        suffix.forEachRemaining(values::append);
+        assertEquals(list.stream().collect(Collectors.joining()), values.toString());
+    }
+
+    @Test
+    @DisplayName("Test ForEach sees every value in order")
+    void testForEach() {
+        list.add("A");
+        list.add("B");
+        list.add("C");
+        StringBuilder values = new StringBuilder();
+        list.forEach(values::append);
+        assertEquals("ABC", values.toString());
+    }
+
+    @Test
+    @DisplayName("Test Iterator and ForEach fail fast when the list is modified behind them")
+    void testFailFast() {
+        list.add("A");
+        list.add("B");
+        list.add("C");
+        Iterator<String> iterator = list.iterator();
+        iterator.next();
+        list.add("D");
+        Assertions.assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        ListIterator<String> listIterator = list.listIterator();
+        listIterator.next();
+        listIterator.remove();
+        listIterator.add("E");
+        listIterator.next();
+        list.remove(0);
+        Assertions.assertThrows(ConcurrentModificationException.class, listIterator::remove);
+
+        Assertions.assertThrows(ConcurrentModificationException.class, () -> list.forEach(value -> list.add("F")));
+    }
+
+    @Test
+    @DisplayName("Test Sort by natural ordering and by comparator, equal values keep their order")
+    void testSort() {
+        list.add("b1");
+        list.add("a1");
+        list.add("c1");
+        list.add("b2");
+        list.add("a2");
+        list.sort(Comparator.comparing(value -> value.charAt(0)));
+        assertEquals("[a1, a2, b1, b2, c1]", list.toString());
+        list.sort(Comparator.reverseOrder());
+        assertEquals("[c1, b2, b1, a2, a1]", list.toString());
+        list.subList(1, 4).sort(null);
+        assertEquals("[c1, a2, b1, b2, a1]", list.toString());
+        list.sort(null);
+        assertEquals("[a1, a2, b1, b2, c1]", list.toString());
+        list.add("a0");
+        assertEquals("a0", list.get(5));
+
+        Random random = new Random(3);
+        List<String> randomList = getList();
+        java.util.List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String value = String.valueOf(random.nextInt(1000));
+            randomList.add(value);
+            expected.add(value);
+        }
+        randomList.sort(null);
+        expected.sort(null);
+        assertEquals(expected.toString(), randomList.toString());
+    }
+
+    @Test
+    @DisplayName("Test BinarySearch finds values and insertion points in a sorted list")
+    void testBinarySearch() {
+        Assertions.assertEquals(-1, list.binarySearch("A", null));
+        for (int i = 10; i < 60; i += 2) {
+            list.add(String.valueOf(i));
+        }
+        assertEquals(0, list.binarySearch("10", null));
+        assertEquals(24, list.binarySearch("58", null));
+        assertEquals(5, list.binarySearch("20", null));
+        assertEquals(-6, list.binarySearch("19", null));
+        assertEquals(-1, list.binarySearch("0", null));
+        assertEquals(-26, list.binarySearch("9", null));
+        list.sort(Comparator.reverseOrder());
+        assertEquals(19, list.binarySearch("20", Comparator.reverseOrder()));
+    }
+
+    @Test
+    @DisplayName("Test IndexOf, LastIndexOf and Contains skip null slots stored by Set")
+    void testScansSkipNulls() {
+        Assumptions.assumeTrue(scansSkipNullSlots());
+        list.add("A");
+        list.add("B");
+        list.add("A");
+        list.add("C");
+        list.set(null, 0);
+        ListIterator<String> iterator = list.listIterator(3);
+        iterator.next();
+        iterator.set(null);
+        assertEquals(2, list.indexOf("A"));
+        assertEquals(2, list.lastIndexOf("A"));
+        assertEquals(-1, list.indexOf("C"));
+        Assertions.assertFalse(list.contains("C"));
+        assertEquals(4, list.size());
+    }
 }
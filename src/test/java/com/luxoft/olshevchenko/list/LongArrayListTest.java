@@ -0,0 +1,26 @@
+package com.luxoft.olshevchenko.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class LongArrayListTest {
+
+    @Test
+    @DisplayName("Test Add, Get, Remove and ToArray methods")
+    void testAddGetRemoveAndToArray() {
+        LongArrayList list = new LongArrayList(1);
+        list.add(Long.MAX_VALUE);
+        list.add(1L);
+        list.add(2L, 1);
+        assertEquals(Long.MAX_VALUE, list.get(0));
+        assertEquals(1, list.indexOf(2L));
+        assertEquals(2L, list.remove(1));
+        assertArrayEquals(new long[]{Long.MAX_VALUE, 1L}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(2));
+    }
+}
@@ -0,0 +1,80 @@
+package com.luxoft.olshevchenko.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class OffHeapArrayListTest extends ListTest {
+    @Override
+    protected List<String> getList() {
+        return new OffHeapArrayList<>(RecordCodec.string(16), 4);
+    }
+
+    // the records have no encoding for null, so set cannot store it
+    @Override
+    protected boolean scansSkipNullSlots() {
+        return false;
+    }
+
+    @Test
+    @DisplayName("Test values spanning several segments and reading fields in place")
+    void testSeveralSegmentsAndFieldReads() {
+        try (OffHeapArrayList<Long> list = new OffHeapArrayList<>(RecordCodec.LONG, 3)) {
+            for (long i = 0; i < 10; i++) {
+                list.add(i * 10);
+            }
+            list.add(-1L, 4);
+            assertEquals(11, list.size());
+            assertEquals(-1L, list.get(4));
+            assertEquals(90L, list.getLong(10, 0));
+            assertEquals(40L, list.remove(5));
+            assertEquals(50L, list.getLong(5, 0));
+            assertEquals(9, list.indexOf(90L));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Add and Remove shift overlapping records across segments like java.util.ArrayList")
+    void testShiftAcrossSegments() {
+        try (OffHeapArrayList<Long> list = new OffHeapArrayList<>(RecordCodec.LONG, 7)) {
+            java.util.List<Long> expected = new java.util.ArrayList<>();
+            java.util.Random random = new java.util.Random(42);
+            for (long i = 0; i < 2000; i++) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(i, index);
+                expected.add(index, i);
+                if (i % 3 == 0) {
+                    int removeIndex = random.nextInt(expected.size());
+                    assertEquals(expected.remove(removeIndex), list.remove(removeIndex));
+                }
+            }
+            assertEquals(expected.size(), list.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), list.get(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test the list cannot be used after Close")
+    void testClose() {
+        OffHeapArrayList<Integer> list = new OffHeapArrayList<>(RecordCodec.INT);
+        list.add(1);
+        list.close();
+        list.close();
+        assertThrows(IllegalStateException.class, () -> list.get(0));
+        assertThrows(IllegalStateException.class, () -> list.add(2));
+    }
+
+    @Test
+    @DisplayName("Test String codec rejects values longer than the record")
+    void testStringCodecRejectsLongValues() {
+        OffHeapArrayList<String> list = new OffHeapArrayList<>(RecordCodec.string(2));
+        assertThrows(IllegalArgumentException.class, () -> list.add("ABC"));
+        list.close();
+    }
+}
@@ -0,0 +1,99 @@
+package com.luxoft.olshevchenko.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class PersistentVectorTest {
+
+    @Test
+    @DisplayName("Test Add and Get across several trie levels, old versions stay intact")
+    void testAddAndGet() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        PersistentVector<Integer> version100 = null;
+        for (int i = 0; i < 40_000; i++) {
+            vector = vector.add(i);
+            if (i == 99) {
+                version100 = vector;
+            }
+        }
+        assertEquals(40_000, vector.size());
+        for (int i = 0; i < 40_000; i++) {
+            assertEquals(i, vector.get(i));
+        }
+        assertEquals(100, version100.size());
+        assertEquals(99, version100.get(99));
+        PersistentVector<Integer> full = vector;
+        assertThrows(IndexOutOfBoundsException.class, () -> full.get(40_000));
+        assertSame(full, full.add(null));
+    }
+
+    @Test
+    @DisplayName("Test Set returns a new version and leaves the old one unchanged")
+    void testSet() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            vector = vector.add(i);
+            expected.add(i);
+        }
+        PersistentVector<Integer> original = vector;
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            int index = random.nextInt(5000);
+            vector = vector.set(-i, index);
+            expected.set(index, -i);
+        }
+        assertEquals(expected, StreamSupport.stream(vector.spliterator(), false).collect(Collectors.toList()));
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i, original.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test RemoveLast down to empty vector, shrinking the trie")
+    void testRemoveLast() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 33 * 32 + 5; i++) {
+            vector = vector.add(i);
+        }
+        PersistentVector<Integer> full = vector;
+        for (int size = full.size() - 1; size >= 0; size--) {
+            vector = vector.removeLast();
+            assertEquals(size, vector.size());
+            if (size > 0) {
+                assertEquals(size - 1, vector.get(size - 1));
+            }
+        }
+        assertTrue(vector.isEmpty());
+        assertThrows(IllegalStateException.class, vector::removeLast);
+        assertEquals(full.size() - 1, full.get(full.size() - 1));
+
+        PersistentVector<Integer> regrown = full.removeLast().removeLast().add(-1);
+        assertEquals(-1, regrown.get(regrown.size() - 1));
+        assertEquals(full.size() - 3, regrown.get(regrown.size() - 2));
+    }
+
+    @Test
+    @DisplayName("Test Of, Iterator and toString")
+    void testOfAndIterator() {
+        java.util.List<String> values = java.util.List.of("A", "B", "C");
+        PersistentVector<String> vector = PersistentVector.of(values);
+        assertEquals("[A, B, C]", vector.toString());
+        Iterator<String> iterator = vector.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.next();
+        assertFalse(iterator.hasNext());
+        assertEquals("[]", PersistentVector.empty().toString());
+    }
+}
@@ -0,0 +1,99 @@
+package com.luxoft.olshevchenko.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ListIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class UnrolledLinkedListTest extends ListTest {
+    @Override
+    protected List<String> getList() {
+        return new UnrolledLinkedList<>();
+    }
+
+    @Test
+    @DisplayName("Test random inserts and removes across node splits and merges match java.util.ArrayList")
+    void testRandomOperationsMatchArrayList() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 30_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(i, index);
+                expected.add(index, i);
+            } else if (operation < 8) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), list.get(index));
+                assertEquals(expected.set(index, -i), list.set(-i, index));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        int index = 0;
+        for (Integer value : list) {
+            assertEquals(expected.get(index++), value);
+        }
+        ListIterator<Integer> iterator = list.listIterator(list.size());
+        while (iterator.hasPrevious()) {
+            assertEquals(expected.get(--index), iterator.previous());
+        }
+    }
+
+    @Test
+    @DisplayName("Test ListIterator changes while walking over several nodes")
+    void testListIteratorAcrossNodes() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        for (int i = 0; i < 300; i++) {
+            list.add(i);
+        }
+        ListIterator<Integer> iterator = list.listIterator();
+        while (iterator.hasNext()) {
+            int value = iterator.next();
+            if (value % 3 == 0) {
+                iterator.remove();
+            } else if (value % 3 == 1) {
+                iterator.set(-value);
+            } else {
+                iterator.add(1000 + value);
+            }
+        }
+        int index = 0;
+        for (int i = 0; i < 300; i++) {
+            if (i % 3 == 1) {
+                assertEquals(-i, list.get(index++));
+            } else if (i % 3 == 2) {
+                assertEquals(i, list.get(index++));
+                assertEquals(1000 + i, list.get(index++));
+            }
+        }
+        assertEquals(index, list.size());
+    }
+
+    @Test
+    @DisplayName("Test appended values fill whole nodes and emptied nodes are dropped")
+    void testNodeFill() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        for (int i = 0; i < 6400; i++) {
+            list.add(i);
+        }
+        assertEquals(100.0, list.structureStats().get("nodes"));
+        assertEquals(1.0, list.structureStats().get("fillRatio"));
+        list.removeRange(0, 6400);
+        assertEquals(0.0, list.structureStats().get("nodes"));
+        for (int i = 0; i < 1000; i++) {
+            list.add(i, 0);
+        }
+        assertEquals(999, list.get(0));
+        assertEquals(0, list.get(999));
+    }
+}
@@ -0,0 +1,141 @@
+package com.luxoft.olshevchenko.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public class ConcurrentHashMapTest extends MapTest {
+    private static final int THREADS = 8;
+
+    @Override
+    protected Map<String, Integer> getMap() {
+        return new ConcurrentHashMap<>();
+    }
+
+    @Test
+    @DisplayName("Test PutIfAbsent keeps the existing value")
+    void testPutIfAbsent() {
+        ConcurrentHashMap<String, Integer> map = new ConcurrentHashMap<>();
+        assertNull(map.putIfAbsent("A", 1));
+        assertEquals(1, map.putIfAbsent("A", 2));
+        assertEquals(1, map.get("A"));
+    }
+
+    @Test
+    @DisplayName("Test concurrent Put of disjoint keys loses no entries across resizes")
+    void testConcurrentPutLosesNoEntries() throws Exception {
+        ConcurrentHashMap<String, Integer> map = new ConcurrentHashMap<>();
+        int keysPerThread = 20_000;
+        runConcurrently(thread -> {
+            for (int i = 0; i < keysPerThread; i++) {
+                map.put(thread + ":" + i, i);
+            }
+        });
+        assertEquals(THREADS * keysPerThread, map.size());
+        for (int thread = 0; thread < THREADS; thread++) {
+            for (int i = 0; i < keysPerThread; i++) {
+                assertEquals(i, map.get(thread + ":" + i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test concurrent ComputeIfAbsent creates each value once and loses no updates")
+    void testConcurrentComputeIfAbsentLosesNoUpdates() throws Exception {
+        ConcurrentHashMap<Integer, AtomicInteger> map = new ConcurrentHashMap<>();
+        AtomicInteger created = new AtomicInteger();
+        int keys = 1000;
+        int rounds = 50;
+        runConcurrently(thread -> {
+            for (int round = 0; round < rounds; round++) {
+                for (int key = 0; key < keys; key++) {
+                    map.computeIfAbsent(key, k -> {
+                        created.incrementAndGet();
+                        return new AtomicInteger();
+                    }).incrementAndGet();
+                }
+            }
+        });
+        assertEquals(keys, created.get());
+        assertEquals(keys, map.size());
+        for (int key = 0; key < keys; key++) {
+            assertEquals(THREADS * rounds, map.get(key).get());
+        }
+    }
+
+    @Test
+    @DisplayName("Test concurrent Merge and Compute on shared keys lose no updates")
+    void testConcurrentMergeLosesNoUpdates() throws Exception {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        int keys = 100;
+        int rounds = 200;
+        runConcurrently(thread -> {
+            for (int round = 0; round < rounds; round++) {
+                for (int key = 0; key < keys; key++) {
+                    map.merge(key, 1, Integer::sum);
+                    map.compute(key, (k, value) -> value + 1);
+                    map.computeIfPresent(key, (k, value) -> value - 1);
+                }
+            }
+        });
+        assertEquals(keys, map.size());
+        for (int key = 0; key < keys; key++) {
+            assertEquals(THREADS * rounds, map.get(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Iterator does not throw while writers are active")
+    void testIteratorWhileWritersAreActive() throws Exception {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        runConcurrently(thread -> {
+            if (thread % 2 == 0) {
+                for (int i = 0; i < 50_000; i++) {
+                    map.put(thread * 50_000 + i, i);
+                    if (i % 3 == 0) {
+                        map.remove(thread * 50_000 + i);
+                    }
+                }
+            } else {
+                for (int round = 0; round < 20; round++) {
+                    for (Map.Entry<Integer, Integer> entry : map) {
+                        assertNotNull(entry.getKey());
+                    }
+                }
+            }
+        });
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            java.util.List<Future<?>> futures = new java.util.ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadNumber = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(threadNumber);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
@@ -0,0 +1,120 @@
+package com.luxoft.olshevchenko.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class ConcurrentSkipListMapTest extends SortedMapTest {
+    @Override
+    protected <K extends Comparable<K>, V> SortedMap<K, V> getSortedMap() {
+        return new ConcurrentSkipListMap<>();
+    }
+
+    @Test
+    @DisplayName("Test range scans stay sorted while writers put and remove keys")
+    void testConcurrentRangeScans() throws Exception {
+        ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>();
+        for (int i = 0; i < 10_000; i += 2) {
+            map.put(i, i);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            java.util.List<Future<?>> futures = new java.util.ArrayList<>();
+            for (int w = 0; w < 2; w++) {
+                int offset = w;
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < 5; round++) {
+                        for (int i = 1 + 2 * offset; i < 10_000; i += 4) {
+                            map.put(i, i);
+                        }
+                        for (int i = 1 + 2 * offset; i < 10_000; i += 4) {
+                            map.remove(i);
+                        }
+                    }
+                }));
+            }
+            for (int r = 0; r < 2; r++) {
+                futures.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        int previous = -1;
+                        int evenKeys = 0;
+                        for (Map.Entry<Integer, Integer> entry : map.subMap(1000, 3000)) {
+                            assertTrue(entry.getKey() > previous);
+                            assertEquals(entry.getKey(), entry.getValue());
+                            previous = entry.getKey();
+                            if (previous % 2 == 0) {
+                                evenKeys++;
+                            }
+                        }
+                        // the even keys are never touched, so every scan must see all of them
+                        assertEquals(1000, evenKeys);
+                    }
+                }));
+            }
+            futures.get(0).get(60, TimeUnit.SECONDS);
+            futures.get(1).get(60, TimeUnit.SECONDS);
+            done.set(true);
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(5000, map.size());
+        assertEquals(0, map.firstKey());
+        assertEquals(9998, map.lastKey());
+    }
+
+    @Test
+    @DisplayName("Test PutIfAbsent keeps the existing value")
+    void testPutIfAbsent() {
+        ConcurrentSkipListMap<String, Integer> map = new ConcurrentSkipListMap<>();
+        assertNull(map.putIfAbsent("A", 1));
+        assertEquals(1, map.putIfAbsent("A", 2));
+        assertEquals(1, map.get("A"));
+    }
+
+    @Test
+    @DisplayName("Test concurrent Merge and Compute on shared keys lose no updates")
+    void testConcurrentMergeLosesNoUpdates() throws Exception {
+        ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<>();
+        int threads = 4;
+        int keys = 100;
+        int rounds = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            java.util.List<Future<?>> futures = new java.util.ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < rounds; round++) {
+                        for (int key = 0; key < keys; key++) {
+                            map.merge(key, 1, Integer::sum);
+                            map.compute(key, (k, value) -> value + 1);
+                            map.computeIfPresent(key, (k, value) -> value - 1);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(keys, map.size());
+        for (int key = 0; key < keys; key++) {
+            assertEquals(threads * rounds, map.get(key));
+        }
+    }
+}
@@ -1,5 +1,15 @@
 package com.luxoft.olshevchenko.map;
 
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * @author Oleksandr Shevchenko
  */
@@ -8,4 +18,243 @@ public class HashMapTest extends MapTest{
     protected Map<String, Integer> getMap() {
         return new HashMap<>();
     }
+
+    @Test
+    @DisplayName("Test random operations on colliding comparable and non comparable keys match java.util.HashMap")
+    void testRandomOperationsOnCollidingKeys() {
+        Random random = new Random(42);
+        for (boolean incrementalResize : new boolean[]{false, true}) {
+            HashMap<Object, Integer> map = new HashMap<>(5, incrementalResize);
+            java.util.Map<Object, Integer> expected = new java.util.HashMap<>();
+            for (int i = 0; i < 50_000; i++) {
+                int id = random.nextInt(3000);
+                Object key = id % 2 == 0 ? new CollidingKey(id) : new ComparableCollidingKey(id);
+                int operation = random.nextInt(3);
+                if (operation == 0) {
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                } else if (operation == 1 && expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    assertEquals(expected.get(key), map.get(key));
+                }
+                assertEquals(expected.size(), map.size());
+            }
+            int counter = 0;
+            for (Map.Entry<Object, Integer> entry : map) {
+                assertEquals(expected.get(entry.getKey()), entry.getValue());
+                counter++;
+            }
+            assertEquals(expected.size(), counter);
+        }
+    }
+
+    // only a few distinct hash codes, so that buckets grow into trees
+    private static class CollidingKey {
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o != null && o.getClass() == getClass() && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id % 4;
+        }
+    }
+
+    private static class ComparableCollidingKey extends CollidingKey implements Comparable<ComparableCollidingKey> {
+        ComparableCollidingKey(int id) {
+            super(id);
+        }
+
+        @Override
+        public int compareTo(ComparableCollidingKey other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Spliterator splits by bucket range and the parts cover every entry once")
+    void testSpliteratorSplitsByBucketRange() {
+        HashMap<Integer, Integer> map = new HashMap<>(5, true);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        Spliterator<Map.Entry<Integer, Integer>> spliterator = map.spliterator();
+        assertEquals(1000, spliterator.getExactSizeIfKnown());
+        java.util.List<Spliterator<Map.Entry<Integer, Integer>>> parts = new java.util.ArrayList<>();
+        parts.add(spliterator);
+        for (int i = 0; i < 4; i++) {
+            java.util.List<Spliterator<Map.Entry<Integer, Integer>>> split = new java.util.ArrayList<>();
+            for (Spliterator<Map.Entry<Integer, Integer>> part : parts) {
+                Spliterator<Map.Entry<Integer, Integer>> prefix = part.trySplit();
+                if (prefix != null) {
+                    split.add(prefix);
+                }
+                split.add(part);
+            }
+            parts = split;
+        }
+        assertEquals(16, parts.size());
+        java.util.Set<Integer> keys = new java.util.HashSet<>();
+        for (Spliterator<Map.Entry<Integer, Integer>> part : parts) {
+            part.forEachRemaining(entry -> assertTrue(keys.add(entry.getKey())));
+        }
+        assertEquals(1000, keys.size());
+    }
+
+    @Test
+    @DisplayName("Test Iterator, Spliterator and ForEach fail fast when the map is modified behind them")
+    void testFailFast() {
+        HashMap<String, Integer> map = new HashMap<>();
+        map.put("A", 1);
+        map.put("B", 2);
+        Iterator<Map.Entry<String, Integer>> iterator = map.iterator();
+        iterator.next();
+        map.put("C", 3);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        Iterator<Map.Entry<String, Integer>> removingIterator = map.iterator();
+        removingIterator.next();
+        removingIterator.remove();
+        removingIterator.next();
+        map.remove("C");
+        assertThrows(ConcurrentModificationException.class, removingIterator::remove);
+
+        map.put("D", 4);
+        map.put("A", 10);
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((key, value) -> map.remove(key)));
+        map.put("E", 5);
+        assertThrows(ConcurrentModificationException.class,
+                () -> map.spliterator().forEachRemaining(entry -> map.put(entry.getKey() + "!", 0)));
+    }
+
+    @Test
+    @DisplayName("Test Iterator walks both tables during an incremental resize without completing it")
+    void testIteratorDuringIncrementalResize() {
+        for (boolean interleaveGets : new boolean[]{false, true}) {
+            HashMap<Integer, Integer> map = new HashMap<>(5, true);
+            int count = 0;
+            while (count < 100 || map.structureStats().get("pendingRehashBuckets") == 0) {
+                map.put(count, count);
+                count++;
+            }
+            double pendingBuckets = map.structureStats().get("pendingRehashBuckets");
+
+            java.util.Set<Integer> keys = new java.util.HashSet<>();
+            Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator();
+            assertTrue(iterator.hasNext());
+            assertEquals(pendingBuckets, map.structureStats().get("pendingRehashBuckets"));
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, Integer> entry = iterator.next();
+                assertTrue(keys.add(entry.getKey()));
+                if (interleaveGets) {
+                    assertEquals(entry.getValue(), map.get(entry.getKey()));
+                }
+                if (entry.getKey() % 3 == 0) {
+                    iterator.remove();
+                }
+            }
+            assertEquals(count, keys.size());
+            if (!interleaveGets) {
+                assertEquals(pendingBuckets, map.structureStats().get("pendingRehashBuckets"));
+            }
+            for (int i = 0; i < count; i++) {
+                assertEquals(i % 3 == 0 ? null : i, map.get(i));
+            }
+            assertEquals(count - (count + 2) / 3, map.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Test WithExpectedSize holds the expected entries without a resize")
+    void testWithExpectedSize() {
+        HashMap<Integer, Integer> map = HashMap.withExpectedSize(1000);
+        double buckets = map.structureStats().get("buckets");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        assertEquals(buckets, map.structureStats().get("buckets"));
+        assertEquals(5.0, HashMap.withExpectedSize(0).structureStats().get("buckets"));
+        assertThrows(IllegalArgumentException.class, () -> HashMap.withExpectedSize(-1));
+    }
+
+    @Test
+    @DisplayName("Test ShrinkOnRemove gives back the table after a burst, with or without incremental resize")
+    void testShrinkOnRemove() {
+        for (boolean incrementalResize : new boolean[]{false, true}) {
+            HashMap<Object, Integer> map = new HashMap<>(5, incrementalResize, true);
+            for (int i = 0; i < 10_000; i++) {
+                map.put(i % 3 == 0 ? new CollidingKey(i) : i, i);
+            }
+            double peakBuckets = map.structureStats().get("buckets");
+            for (int i = 10; i < 10_000; i++) {
+                map.remove(i % 3 == 0 ? new CollidingKey(i) : i);
+            }
+            assertEquals(10, map.size());
+            assertTrue(map.structureStats().get("buckets") < peakBuckets / 100);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, map.get(i % 3 == 0 ? new CollidingKey(i) : i));
+            }
+            Iterator<Map.Entry<Object, Integer>> iterator = map.iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+            assertEquals(0, map.size());
+            assertEquals(5.0, new HashMap<>(5, incrementalResize, true).structureStats().get("buckets"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Merge, Compute and ComputeIfAbsent hash the key once per call")
+    void testSingleLookupOverrides() {
+        HashMap<HashCountingKey, Integer> map = new HashMap<>();
+        HashCountingKey[] keys = new HashCountingKey[100];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new HashCountingKey(i);
+        }
+        for (int round = 0; round < 3; round++) {
+            for (HashCountingKey key : keys) {
+                map.merge(key, 1, Integer::sum);
+                map.compute(key, (k, value) -> value + 1);
+                map.computeIfAbsent(key, k -> 0);
+            }
+        }
+        for (HashCountingKey key : keys) {
+            assertEquals(6, map.get(key));
+            assertEquals(10, key.hashCalls);
+        }
+    }
+
+    private static class HashCountingKey {
+        final int id;
+        int hashCalls;
+
+        HashCountingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            hashCalls++;
+            return id;
+        }
+    }
+
+    @Test
+    @DisplayName("Test Compute and Merge fail fast when the function modifies the map")
+    void testComputeFailsFastOnModification() {
+        HashMap<String, Integer> map = new HashMap<>();
+        map.put("A", 1);
+        assertThrows(ConcurrentModificationException.class,
+                () -> map.computeIfAbsent("B", key -> map.put("C", 3)));
+        assertThrows(ConcurrentModificationException.class,
+                () -> map.merge("A", 1, (oldValue, value) -> map.remove("C")));
+    }
 }
@@ -0,0 +1,11 @@
+package com.luxoft.olshevchenko.map;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public class IncrementalResizeHashMapTest extends MapTest {
+    @Override
+    protected Map<String, Integer> getMap() {
+        return new HashMap<>(5, true);
+    }
+}
@@ -0,0 +1,77 @@
+package com.luxoft.olshevchenko.map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public class IntObjectHashMapTest {
+    private IntObjectHashMap<String> map;
+
+    @BeforeEach
+    public void before() {
+        map = new IntObjectHashMap<>();
+    }
+
+    @Test
+    @DisplayName("Test Put, Get and old value including zero and negative keys")
+    void testPutAndGet() {
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-1, "minus one"));
+        assertNull(map.put(Integer.MIN_VALUE, "min"));
+        assertEquals("zero", map.put(0, "ZERO"));
+        assertEquals("ZERO", map.get(0));
+        assertEquals("minus one", map.get(-1));
+        assertEquals("min", map.get(Integer.MIN_VALUE));
+        assertNull(map.get(1));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    @DisplayName("Test Put many entries with several resizes and Remove")
+    void testPutManyAndRemove() {
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 16, String.valueOf(i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(String.valueOf(i), map.remove(i * 16));
+        }
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : String.valueOf(i), map.get(i * 16));
+            assertEquals(i % 2 != 0, map.containsKey(i * 16));
+        }
+        assertThrows(IllegalStateException.class, () -> map.remove(0));
+    }
+
+    @Test
+    @DisplayName("Test Map adapter writes through and iterates all entries")
+    void testAsMap() {
+        Map<Integer, String> view = map.asMap();
+        view.put(1, "A");
+        view.put(2, "B");
+        map.put(3, "C");
+        assertEquals("A", map.get(1));
+        assertEquals("C", view.get(3));
+        assertNull(view.get(null));
+        assertThrows(NullPointerException.class, () -> view.put(null, "D"));
+        Iterator<Map.Entry<Integer, String>> iterator = view.iterator();
+        int sum = 0;
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, String> entry = iterator.next();
+            sum += entry.getKey();
+            if (entry.getKey() == 2) {
+                iterator.remove();
+            }
+        }
+        assertEquals(6, sum);
+        assertEquals(2, view.size());
+        assertFalse(map.containsKey(2));
+    }
+}
@@ -0,0 +1,41 @@
+package com.luxoft.olshevchenko.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public class LongLongHashMapTest {
+
+    @Test
+    @DisplayName("Test Put, Get, GetOrDefault and Remove")
+    void testPutGetAndRemove() {
+        LongLongHashMap map = new LongLongHashMap();
+        for (long i = 0; i < 100; i++) {
+            assertEquals(0, map.put(i, i * i));
+        }
+        assertEquals(81, map.put(9, 0));
+        assertEquals(0, map.get(9));
+        assertTrue(map.containsKey(9));
+        assertEquals(0, map.get(1000));
+        assertEquals(-1, map.getOrDefault(1000, -1));
+        assertEquals(16, map.remove(4));
+        assertThrows(IllegalStateException.class, () -> map.remove(4));
+        assertEquals(99, map.size());
+    }
+
+    @Test
+    @DisplayName("Test Map adapter returns null for absent keys")
+    void testAsMap() {
+        LongLongHashMap map = new LongLongHashMap();
+        Map<Long, Long> view = map.asMap();
+        assertNull(view.put(1L, 10L));
+        assertEquals(10L, view.put(1L, 20L));
+        assertNull(view.get(2L));
+        assertEquals(20L, map.get(1));
+        assertThrows(NullPointerException.class, () -> view.put(3L, null));
+    }
+}
@@ -0,0 +1,27 @@
+package com.luxoft.olshevchenko.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public class LongObjectHashMapTest {
+
+    @Test
+    @DisplayName("Test Put, Get and Remove with keys differing only in the high bits")
+    void testPutGetAndRemove() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        for (long i = 0; i < 100; i++) {
+            map.put(i << 32, String.valueOf(i));
+        }
+        assertEquals(100, map.size());
+        assertEquals("42", map.get(42L << 32));
+        assertEquals("42", map.remove(42L << 32));
+        assertNull(map.get(42L << 32));
+        assertEquals(99, map.asMap().size());
+        assertEquals("7", map.asMap().get(7L << 32));
+    }
+}
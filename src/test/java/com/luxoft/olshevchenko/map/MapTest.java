@@ -108,6 +108,57 @@ public abstract class MapTest {
         assertEquals(10, map.size());
     }
 
+    @Test
+    @DisplayName("Test Put many entries with several resizes and check Get and Remove")
+    void testPutManyEntriesWithSeveralResizes() {
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get("key" + i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, map.remove("key" + i));
+        }
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get("key" + i));
+        }
+        int counter = 0;
+        for (Map.Entry<String, Integer> entry : map) {
+            assertEquals(1, entry.getValue() % 2);
+            counter++;
+        }
+        assertEquals(500, counter);
+    }
+
+    @Test
+    @DisplayName("Test Put, Get and Remove many keys with the same hash code")
+    void testManyKeysWithTheSameHashCode() {
+        java.util.List<String> keys = new ArrayList<>();
+        keys.add("");
+        for (int i = 0; i < 10; i++) {
+            java.util.List<String> longerKeys = new ArrayList<>();
+            for (String key : keys) {
+                longerKeys.add(key + "Aa");
+                longerKeys.add(key + "BB");
+            }
+            keys = longerKeys;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+        }
+        assertEquals(1024, map.size());
+        for (int i = 0; i < keys.size(); i += 3) {
+            assertEquals(i, map.remove(keys.get(i)));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i % 3 == 0 ? null : i, map.get(keys.get(i)));
+        }
+        assertFalse(map.containsKey("AaAa"));
+    }
+
     @Test
     @DisplayName("Test Put method in the same bucket and check Get if this element correct")
     void testPutInTheSameBucketAndCheckGetIfThisElementCorrect() {
@@ -227,10 +278,10 @@ public abstract class MapTest {
     @Test
     @DisplayName("Test Iterator Next method and check size")
     void testIteratorNextAndCheckSize() {
-        Iterator<Map.Entry<String, Integer>> iterator = map.iterator();
         map.put("A", 1);
         map.put("B", 2);
         map.put("C", 3);
+        Iterator<Map.Entry<String, Integer>> iterator = map.iterator();
         int counter = 0;
         while (iterator.hasNext()) {
             counter++;
@@ -242,10 +293,10 @@ public abstract class MapTest {
     @Test
     @DisplayName("Test Iterator call Remove method without Next")
     void testIteratorCallRemoveWithoutNext() {
-        Iterator<Map.Entry<String, Integer>> iterator = map.iterator();
         map.put("A", 1);
         map.put("B", 2);
         map.put("C", 3);
+        Iterator<Map.Entry<String, Integer>> iterator = map.iterator();
         assertThrows(IllegalStateException.class, () -> {
             while (iterator.hasNext()) {
                 iterator.remove();
@@ -256,7 +307,6 @@ public abstract class MapTest {
     @Test
     @DisplayName("Test Iterator Next method and Get after Remove")
     void testIteratorNextAndGetAfterRemove() {
-        Iterator<Map.Entry<String, Integer>> iterator = map.iterator();
         map.put("A", 1);
         map.put("A", 2);
         map.put("A", 3);
@@ -265,16 +315,22 @@ public abstract class MapTest {
         map.put("AaBB", 6);
         map.put("BBAa", 7);
         assertEquals(5, map.size());
+        Iterator<Map.Entry<String, Integer>> iterator = map.iterator();
         iterator.next();
         iterator.next();
-        iterator.next();
+        String removedKey = iterator.next().getKey();
         iterator.remove();
-        assertNull(map.get("BBBB"));
-        assertEquals(3, map.get("A"));
-        assertEquals(4, map.get("AaAa"));
-        assertEquals(6, map.get("AaBB"));
-        assertEquals(7, map.get("BBAa"));
-        assertNull(map.get("BBBB"));
+        assertNull(map.get(removedKey));
+        assertFalse(map.containsKey(removedKey));
+        originalMap.put("A", 3);
+        originalMap.put("AaAa", 4);
+        originalMap.put("BBBB", 5);
+        originalMap.put("AaBB", 6);
+        originalMap.put("BBAa", 7);
+        originalMap.remove(removedKey);
+        for (java.util.Map.Entry<String, Integer> entry : originalMap.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
         assertEquals(4, map.size());
         assertNull(map.get("C"));
     }
@@ -282,10 +338,10 @@ public abstract class MapTest {
     @Test
     @DisplayName("Test Iterator Next method when no next element")
     void testIteratorNextWhenNoNextElement() {
-        Iterator<Map.Entry<String, Integer>> iterator = map.iterator();
         map.put("A", 3);
         map.put("AaAa", 4);
         map.put("BBBB", 5);
+        Iterator<Map.Entry<String, Integer>> iterator = map.iterator();
         assertThrows(NoSuchElementException.class, () -> {
             iterator.next();
             iterator.next();
@@ -294,5 +350,92 @@ public abstract class MapTest {
         });
     }
 
+    @Test
+    @DisplayName("Test Stream and ParallelStream see every entry once")
+    void testStreamAndParallelStream() {
+        for (int i = 0; i < 10_000; i++) {
+            map.put("key" + i, i);
+        }
+        assertEquals(10_000, map.stream().count());
+        assertEquals(49_995_000L, map.parallelStream().mapToLong(Map.Entry::getValue).sum());
+        assertEquals(10_000, map.parallelStream().map(Map.Entry::getKey).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Test ForEach with BiConsumer sees every key and value")
+    void testForEach() {
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+            originalMap.put("key" + i, i);
+        }
+        map.put(null, -1);
+        originalMap.put(null, -1);
+        java.util.Map<String, Integer> result = new HashMap<>();
+        map.forEach((key, value) -> assertNull(result.put(key, value)));
+        assertEquals(originalMap, result);
+    }
+
+    @Test
+    @DisplayName("Test GetOrDefault and PutIfAbsent treat a key mapped to null as absent")
+    void testGetOrDefaultAndPutIfAbsent() {
+        map.put("A", 1);
+        map.put(null, 2);
+        assertEquals(1, map.getOrDefault("A", 0));
+        assertEquals(2, map.getOrDefault(null, 0));
+        assertEquals(0, map.getOrDefault("B", 0));
+        assertEquals(1, map.putIfAbsent("A", 10));
+        assertNull(map.putIfAbsent("B", 3));
+        assertEquals(1, map.get("A"));
+        assertEquals(3, map.get("B"));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    @DisplayName("Test ComputeIfAbsent and ComputeIfPresent call the function only when needed")
+    void testComputeIfAbsentAndComputeIfPresent() {
+        map.put("A", 1);
+        assertEquals(1, map.computeIfAbsent("A", key -> fail("The key is present")));
+        assertEquals(2, map.computeIfAbsent("BB", String::length));
+        assertNull(map.computeIfAbsent("C", key -> null));
+        assertFalse(map.containsKey("C"));
+
+        assertEquals(11, map.computeIfPresent("A", (key, value) -> value + 10));
+        assertNull(map.computeIfPresent("D", (key, value) -> fail("The key is absent")));
+        assertNull(map.computeIfPresent("BB", (key, value) -> null));
+        assertFalse(map.containsKey("BB"));
+        assertEquals(11, map.get("A"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @DisplayName("Test Compute adds, changes and removes the mapping")
+    void testCompute() {
+        assertEquals(1, map.compute("A", (key, value) -> value == null ? 1 : value + 1));
+        assertEquals(2, map.compute("A", (key, value) -> value == null ? 1 : value + 1));
+        assertNull(map.compute("B", (key, value) -> null));
+        assertFalse(map.containsKey("B"));
+        assertNull(map.compute("A", (key, value) -> null));
+        assertFalse(map.containsKey("A"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    @DisplayName("Test Merge counts words and removes the key when the function returns null")
+    void testMerge() {
+        String text = "to be or not to be that is the question to ask";
+        java.util.Map<String, Integer> expected = new HashMap<>();
+        for (String word : text.split(" ")) {
+            map.merge(word, 1, Integer::sum);
+            expected.merge(word, 1, Integer::sum);
+        }
+        assertEquals(expected.size(), map.size());
+        for (java.util.Map.Entry<String, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertNull(map.merge("to", 3, (oldValue, value) -> null));
+        assertFalse(map.containsKey("to"));
+        assertThrows(IllegalArgumentException.class, () -> map.merge("be", null, Integer::sum));
+    }
+
 
-}
\ No newline at end of file
+}
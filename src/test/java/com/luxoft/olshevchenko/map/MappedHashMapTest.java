@@ -0,0 +1,123 @@
+package com.luxoft.olshevchenko.map;
+
+import com.luxoft.olshevchenko.serialization.Serializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class MappedHashMapTest extends MapTest {
+    @TempDir
+    Path directory;
+    private MappedHashMap<String, Integer> mappedHashMap;
+
+    @Override
+    protected Map<String, Integer> getMap() {
+        return mappedHashMap = new MappedHashMap<>(directory.resolve("map.bin"), Serializer.STRING, Serializer.INTEGER);
+    }
+
+    @AfterEach
+    void after() {
+        mappedHashMap.close();
+    }
+
+    @Test
+    @DisplayName("Test entries survive Close and reopen")
+    void testReopen() {
+        Path file = directory.resolve("reopen.bin");
+        try (MappedHashMap<String, Integer> map = new MappedHashMap<>(file, Serializer.STRING, Serializer.INTEGER)) {
+            for (int i = 0; i < 1000; i++) {
+                map.put("key" + i, i);
+            }
+            map.put(null, -1);
+            map.put("key1", 100_000);
+            map.remove("key2");
+        }
+        try (MappedHashMap<String, Integer> map = new MappedHashMap<>(file, Serializer.STRING, Serializer.INTEGER)) {
+            assertEquals(1000, map.size());
+            assertEquals(-1, map.get(null));
+            assertEquals(100_000, map.get("key1"));
+            assertFalse(map.containsKey("key2"));
+            assertEquals(999, map.get("key999"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test a file that was not checkpointed is refused and the snapshot can be opened")
+    void testDirtyFileAndSnapshot() {
+        Path file = directory.resolve("dirty.bin");
+        Path snapshot = directory.resolve("snapshot.bin");
+        MappedHashMap<String, Integer> map = new MappedHashMap<>(file, Serializer.STRING, Serializer.INTEGER);
+        map.put("A", 1);
+        map.put("B", 2);
+        map.snapshot(snapshot);
+        map.put("C", 3);
+
+        assertThrows(IllegalStateException.class, () -> new MappedHashMap<>(file, Serializer.STRING, Serializer.INTEGER));
+        try (MappedHashMap<String, Integer> restored = new MappedHashMap<>(snapshot, Serializer.STRING, Serializer.INTEGER)) {
+            assertEquals(2, restored.size());
+            assertEquals(2, restored.get("B"));
+            assertFalse(restored.containsKey("C"));
+        }
+
+        map.checkpoint();
+        try (MappedHashMap<String, Integer> reopened = new MappedHashMap<>(file, Serializer.STRING, Serializer.INTEGER)) {
+            assertEquals(3, reopened.get("C"));
+        }
+        map.close();
+    }
+
+    @Test
+    @DisplayName("Test the file of a map with steady size stays bounded under overwrites and removals")
+    void testChurnKeepsFileBounded() throws IOException {
+        Path file = directory.resolve("churn.bin");
+        try (MappedHashMap<String, String> map = new MappedHashMap<>(file, Serializer.STRING, Serializer.STRING)) {
+            for (int i = 0; i < 200_000; i++) {
+                String key = "key" + i % 10;
+                if (i % 7 == 0 && map.containsKey(key)) {
+                    map.remove(key);
+                } else {
+                    map.put(key, "x".repeat(i % 50));
+                }
+            }
+            assertEquals("x".repeat(199_999 % 50), map.get("key9"));
+            assertTrue(Files.size(file) < 1024 * 1024, "The map file grew to " + Files.size(file) + " bytes");
+        }
+    }
+
+    @Test
+    @DisplayName("Test Iterator fails fast when the map file is rebuilt behind it")
+    void testIteratorFailsFastOnRebuild() {
+        try (MappedHashMap<String, String> map = new MappedHashMap<>(directory.resolve("rebuild.bin"), Serializer.STRING, Serializer.STRING)) {
+            map.put("A", "1");
+            map.put("B", "2");
+            Iterator<Map.Entry<String, String>> iterator = map.iterator();
+            iterator.next();
+            for (int i = 0; i < 100; i++) {
+                map.put("key" + i, "value");
+            }
+            assertThrows(ConcurrentModificationException.class, iterator::next);
+        }
+    }
+
+    @Test
+    @DisplayName("Test the map cannot be used after Close")
+    void testClose() {
+        MappedHashMap<String, Integer> map = new MappedHashMap<>(directory.resolve("closed.bin"), Serializer.STRING, Serializer.INTEGER);
+        map.close();
+        map.close();
+        assertThrows(IllegalStateException.class, () -> map.get("A"));
+        assertThrows(IllegalStateException.class, () -> map.put("A", 1));
+    }
+}
@@ -0,0 +1,11 @@
+package com.luxoft.olshevchenko.map;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public class OpenAddressingHashMapTest extends MapTest {
+    @Override
+    protected Map<String, Integer> getMap() {
+        return new OpenAddressingHashMap<>();
+    }
+}
@@ -0,0 +1,136 @@
+package com.luxoft.olshevchenko.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public abstract class SortedMapTest extends MapTest {
+
+    protected abstract <K extends Comparable<K>, V> SortedMap<K, V> getSortedMap();
+
+    @Override
+    protected Map<String, Integer> getMap() {
+        return getSortedMap();
+    }
+
+
+    @Test
+    @DisplayName("Test Iterator goes in key order with the null key first")
+    void testIterationOrder() {
+        SortedMap<String, Integer> map = getSortedMap();
+        map.put("C", 3);
+        map.put("A", 1);
+        map.put(null, 0);
+        map.put("B", 2);
+        assertEquals("{null=0, A=1, B=2, C=3}", map.toString());
+        assertNull(map.firstKey());
+        assertEquals("C", map.lastKey());
+    }
+
+    @Test
+    @DisplayName("Test FirstKey, LastKey, FloorKey and CeilingKey")
+    void testNavigation() {
+        SortedMap<Integer, String> map = getSortedMap();
+        assertThrows(IllegalStateException.class, map::firstKey);
+        assertThrows(IllegalStateException.class, map::lastKey);
+        assertNull(map.floorKey(5));
+        for (int i = 10; i <= 50; i += 10) {
+            map.put(i, "v" + i);
+        }
+        assertEquals(10, map.firstKey());
+        assertEquals(50, map.lastKey());
+        assertEquals(20, map.floorKey(25));
+        assertEquals(20, map.floorKey(20));
+        assertNull(map.floorKey(5));
+        assertEquals(30, map.ceilingKey(25));
+        assertEquals(30, map.ceilingKey(30));
+        assertNull(map.ceilingKey(55));
+        assertEquals(20, map.lowerEntry(30).getKey());
+        assertNull(map.lowerEntry(10));
+        assertEquals("v40", map.floorEntry(45).getValue());
+    }
+
+    @Test
+    @DisplayName("Test SubMap is a view of the range")
+    void testSubMap() {
+        SortedMap<Integer, String> map = getSortedMap();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, "v" + i);
+        }
+        SortedMap<Integer, String> subMap = map.subMap(3, 7);
+        assertEquals("{3=v3, 4=v4, 5=v5, 6=v6}", subMap.toString());
+        assertEquals(4, subMap.size());
+        assertEquals(3, subMap.firstKey());
+        assertEquals(6, subMap.lastKey());
+        assertEquals(6, subMap.floorKey(100));
+        assertNull(subMap.ceilingKey(7));
+        assertNull(subMap.get(8));
+        assertFalse(subMap.containsKey(2));
+        assertThrows(IllegalArgumentException.class, () -> subMap.put(7, "v7"));
+        assertThrows(IllegalStateException.class, () -> subMap.remove(1));
+
+        subMap.put(4, "new");
+        assertEquals("new", map.get(4));
+        assertEquals("v5", subMap.remove(5));
+        assertFalse(map.containsKey(5));
+        map.remove(3);
+        assertEquals("{4=new, 6=v6}", subMap.toString());
+        assertEquals("{6=v6}", subMap.subMap(5, 7).toString());
+        assertThrows(IllegalArgumentException.class, () -> subMap.subMap(2, 7));
+        assertThrows(IllegalArgumentException.class, () -> map.subMap(7, 3));
+
+        Iterator<Map.Entry<Integer, String>> iterator = subMap.iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals("{6=v6}", subMap.toString());
+        assertEquals(7, map.size());
+        assertEquals(0, map.subMap(20, 30).size());
+    }
+
+    @Test
+    @DisplayName("Test random operations match java.util.TreeMap")
+    void testRandomOperationsMatchTreeMap() {
+        SortedMap<Integer, Integer> map = getSortedMap();
+        java.util.TreeMap<Integer, Integer> expected = new java.util.TreeMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2000);
+            int operation = random.nextInt(4);
+            if (operation == 0) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else if (operation == 1 && expected.containsKey(key)) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else if (operation == 2) {
+                assertEquals(expected.floorKey(key), map.floorKey(key));
+                assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        Iterator<java.util.Map.Entry<Integer, Integer>> expectedIterator = expected.entrySet().iterator();
+        for (Map.Entry<Integer, Integer> entry : map) {
+            java.util.Map.Entry<Integer, Integer> expectedEntry = expectedIterator.next();
+            assertEquals(expectedEntry.getKey(), entry.getKey());
+            assertEquals(expectedEntry.getValue(), entry.getValue());
+        }
+        assertFalse(expectedIterator.hasNext());
+
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() % 3 == 0) {
+                iterator.remove();
+            }
+        }
+        expected.keySet().removeIf(key -> key % 3 == 0);
+        assertEquals(expected.toString(), map.toString());
+        assertEquals(expected.subMap(500, 700).toString(), map.subMap(500, 700).toString());
+    }
+}
@@ -0,0 +1,44 @@
+package com.luxoft.olshevchenko.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class TreeMapTest extends SortedMapTest {
+    @Override
+    protected <K extends Comparable<K>, V> SortedMap<K, V> getSortedMap() {
+        return new TreeMap<>();
+    }
+
+    @Test
+    @DisplayName("Test Comparator defines the order")
+    void testComparator() {
+        TreeMap<String, Integer> map = new TreeMap<>(Comparator.reverseOrder());
+        map.put("A", 1);
+        map.put("C", 3);
+        map.put("B", 2);
+        assertEquals("{C=3, B=2, A=1}", map.toString());
+        assertEquals("B", map.ceilingKey("BB"));
+    }
+
+    @Test
+    @DisplayName("Test Iterator and ForEach fail fast when the map is modified behind them")
+    void testFailFast() {
+        TreeMap<String, Integer> map = new TreeMap<>();
+        map.put("A", 1);
+        map.put("B", 2);
+        Iterator<Map.Entry<String, Integer>> iterator = map.iterator();
+        iterator.next();
+        map.put("C", 3);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((key, value) -> map.remove(key)));
+    }
+}
@@ -0,0 +1,42 @@
+package com.luxoft.olshevchenko.metrics;
+
+import com.luxoft.olshevchenko.list.ArrayList;
+import com.luxoft.olshevchenko.list.List;
+import com.luxoft.olshevchenko.list.ListTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class InstrumentedListTest extends ListTest {
+    @Override
+    protected List<String> getList() {
+        return new InstrumentedList<>(new ArrayList<>());
+    }
+
+    @Test
+    @DisplayName("Test operations and growth copies are counted")
+    void testSnapshot() {
+        InstrumentedList<Integer> list = new InstrumentedList<>(new ArrayList<>(1));
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        list.get(5);
+        list.set(7, 0);
+        list.contains(50);
+
+        MetricsSnapshot snapshot = list.snapshot();
+        assertEquals(100, snapshot.operations().get("add").count());
+        assertEquals(1, snapshot.operations().get("get").count());
+        assertEquals(1, snapshot.operations().get("set").count());
+        assertEquals(1, snapshot.operations().get("indexOf").count());
+
+        java.util.Map<String, Double> structureStats = snapshot.structureStats();
+        assertTrue(structureStats.get("growthCount") > 0);
+        assertTrue(structureStats.get("copiedValues") >= structureStats.get("growthCount"));
+        assertTrue(structureStats.get("capacity") >= 100);
+    }
+}
@@ -0,0 +1,112 @@
+package com.luxoft.olshevchenko.metrics;
+
+import com.luxoft.olshevchenko.map.HashMap;
+import com.luxoft.olshevchenko.map.Map;
+import com.luxoft.olshevchenko.map.MapTest;
+import com.luxoft.olshevchenko.map.OpenAddressingHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class InstrumentedMapTest extends MapTest {
+    @Override
+    protected Map<String, Integer> getMap() {
+        return new InstrumentedMap<>(new HashMap<>());
+    }
+
+    @Test
+    @DisplayName("Test operations and resizes are counted and chain lengths are reported")
+    void testSnapshot() {
+        InstrumentedMap<Integer, Integer> map = new InstrumentedMap<>(new HashMap<>());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 500; i++) {
+            map.get(i);
+        }
+        map.remove(0);
+
+        MetricsSnapshot snapshot = map.snapshot();
+        assertEquals(1000, snapshot.operations().get("put").count());
+        assertEquals(500, snapshot.operations().get("get").count());
+        assertEquals(1, snapshot.operations().get("remove").count());
+        assertEquals(0, snapshot.operations().get("containsKey").count());
+        OperationStats puts = snapshot.operations().get("put");
+        assertTrue(puts.percentileNanos(50) <= puts.percentileNanos(99));
+        assertTrue(puts.percentileNanos(99) <= puts.maxNanos());
+
+        java.util.Map<String, Double> structureStats = snapshot.structureStats();
+        assertEquals(999.0, structureStats.get("size"));
+        assertTrue(structureStats.get("resizeCount") > 0);
+        assertTrue(structureStats.get("maxChainLength") >= 1);
+        assertTrue(structureStats.get("averageChainLength") >= 1);
+    }
+
+    @Test
+    @DisplayName("Test compute and merge methods are delegated and counted as their own operations")
+    void testComputeAndMergeAreDelegated() {
+        InstrumentedMap<String, Integer> map = new InstrumentedMap<>(new HashMap<>());
+        for (String word : "a b a c a b".split(" ")) {
+            map.merge(word, 1, Integer::sum);
+        }
+        map.putIfAbsent("d", 1);
+        map.computeIfAbsent("e", key -> 1);
+        map.computeIfPresent("e", (key, value) -> value + 1);
+        map.compute("e", (key, value) -> value + 1);
+        assertEquals(3, map.getOrDefault("a", 0));
+        map.forEach((key, value) -> assertNotNull(value));
+
+        MetricsSnapshot snapshot = map.snapshot();
+        assertEquals(6, snapshot.operations().get("merge").count());
+        assertEquals(1, snapshot.operations().get("putIfAbsent").count());
+        assertEquals(1, snapshot.operations().get("computeIfAbsent").count());
+        assertEquals(1, snapshot.operations().get("computeIfPresent").count());
+        assertEquals(1, snapshot.operations().get("compute").count());
+        assertEquals(1, snapshot.operations().get("getOrDefault").count());
+        assertEquals(1, snapshot.operations().get("forEach").count());
+        assertEquals(0, snapshot.operations().get("put").count());
+        assertEquals(0, snapshot.operations().get("get").count());
+        assertEquals(3, map.get("e"));
+    }
+
+    @Test
+    @DisplayName("Test probe distances of the open addressing map are reported")
+    void testProbeDistances() {
+        InstrumentedMap<Integer, Integer> map = new InstrumentedMap<>(new OpenAddressingHashMap<>());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 64, i);
+        }
+        java.util.Map<String, Double> structureStats = map.snapshot().structureStats();
+        assertTrue(structureStats.get("maxProbeDistance") >= structureStats.get("averageProbeDistance"));
+        assertTrue(structureStats.get("rehashCount") > 0);
+    }
+
+    @Test
+    @DisplayName("Test the metrics are exposed in JMX")
+    void testJmx() throws Exception {
+        Map<String, Integer> map = Metrics.instrument(new HashMap<>(), "jmxTest");
+        assertTrue(map instanceof InstrumentedMap);
+        map.put("A", 1);
+        map.get("A");
+        map.get("B");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = Metrics.getObjectName("jmxTest");
+        TabularData operationCounts = (TabularData) server.getAttribute(objectName, "OperationCounts");
+        assertEquals(2L, operationCounts.get(new Object[]{"get"}).get("value"));
+        TabularData structureStats = (TabularData) server.getAttribute(objectName, "StructureStats");
+        assertEquals(1.0, structureStats.get(new Object[]{"size"}).get("value"));
+
+        Metrics.unregister("jmxTest");
+        assertFalse(server.isRegistered(objectName));
+    }
+}
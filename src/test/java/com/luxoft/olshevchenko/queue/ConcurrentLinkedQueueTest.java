@@ -0,0 +1,11 @@
+package com.luxoft.olshevchenko.queue;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class ConcurrentLinkedQueueTest extends QueueTest {
+    @Override
+    protected Queue<Integer> getQueue() {
+        return new ConcurrentLinkedQueue<>();
+    }
+}
@@ -0,0 +1,136 @@
+package com.luxoft.olshevchenko.queue;
+
+import com.luxoft.olshevchenko.list.ArrayList;
+import com.luxoft.olshevchenko.list.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public abstract class QueueTest {
+
+    // the queue should hold at least 16 values
+    protected abstract Queue<Integer> getQueue();
+
+
+    @Test
+    @DisplayName("Test Offer, Peek and Poll keep FIFO order")
+    void testOfferPeekAndPoll() {
+        Queue<Integer> queue = getQueue();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(null));
+        assertEquals(10, queue.size());
+        assertEquals(0, queue.peek());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    @DisplayName("Test Offer and Poll wrap around many times")
+    void testWrapAround() {
+        Queue<Integer> queue = getQueue();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(queue.offer(i));
+            assertTrue(queue.offer(-i));
+            assertEquals(i, queue.poll());
+            assertEquals(-i, queue.poll());
+        }
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("Test DrainTo moves at most max values in order")
+    void testDrainTo() {
+        Queue<Integer> queue = getQueue();
+        List<Integer> list = new ArrayList<>();
+        assertEquals(0, queue.drainTo(list, 5));
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        assertEquals(0, queue.drainTo(list, 0));
+        assertEquals(4, queue.drainTo(list, 4));
+        assertEquals("[0, 1, 2, 3]", list.toString());
+        assertEquals(4, queue.peek());
+        assertEquals(6, queue.drainTo(list));
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", list.toString());
+        assertTrue(queue.isEmpty());
+        queue.offer(10);
+        assertEquals(10, queue.poll());
+    }
+
+    @Test
+    @DisplayName("Test concurrent producers and consumers pass every value exactly once")
+    void testConcurrentProducersAndConsumers() throws Exception {
+        Queue<Integer> queue = getQueue();
+        int producers = 3;
+        int valuesPerProducer = 5_000;
+        int total = producers * valuesPerProducer;
+        AtomicInteger consumed = new AtomicInteger();
+        boolean[] seen = new boolean[total];
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+        try {
+            java.util.List<Future<?>> futures = new java.util.ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int from = p * valuesPerProducer;
+                futures.add(executor.submit(() -> {
+                    for (int i = from; i < from + valuesPerProducer; i++) {
+                        // yields rather than spins, so that a full queue does not starve the consumers on few CPUs
+                        while (!queue.offer(i)) {
+                            Thread.yield();
+                        }
+                    }
+                }));
+            }
+            for (int c = 0; c < 2; c++) {
+                boolean batches = c == 0;
+                futures.add(executor.submit(() -> {
+                    List<Integer> batch = new ArrayList<>();
+                    while (consumed.get() < total) {
+                        if (batches) {
+                            batch.clear();
+                            queue.drainTo(batch, 7);
+                        } else {
+                            Integer value = queue.poll();
+                            batch.clear();
+                            batch.add(value);
+                        }
+                        if (batch.isEmpty()) {
+                            Thread.yield();
+                        }
+                        for (Integer value : batch) {
+                            synchronized (seen) {
+                                assertFalse(seen[value]);
+                                seen[value] = true;
+                            }
+                            consumed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(total, consumed.get());
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,35 @@
+package com.luxoft.olshevchenko.queue;
+
+import com.luxoft.olshevchenko.list.ArrayList;
+import com.luxoft.olshevchenko.list.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class RingBufferQueueTest extends QueueTest {
+    @Override
+    protected Queue<Integer> getQueue() {
+        return new RingBufferQueue<>(1024);
+    }
+
+    @Test
+    @DisplayName("Test Offer fails when the queue is full and capacity is rounded up")
+    void testBounded() {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(5);
+        assertEquals(8, queue.capacity());
+        for (int i = 0; i < 8; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(8));
+        assertEquals(8, queue.size());
+        List<Integer> list = new ArrayList<>();
+        assertEquals(8, queue.drainTo(list, 100));
+        assertTrue(queue.offer(8));
+        assertEquals(1, new RingBufferQueue<>(1).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferQueue<>(0));
+    }
+}
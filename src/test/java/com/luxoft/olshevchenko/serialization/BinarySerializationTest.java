@@ -0,0 +1,105 @@
+package com.luxoft.olshevchenko.serialization;
+
+import com.luxoft.olshevchenko.list.ArrayList;
+import com.luxoft.olshevchenko.list.LinkedList;
+import com.luxoft.olshevchenko.list.List;
+import com.luxoft.olshevchenko.map.HashMap;
+import com.luxoft.olshevchenko.map.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+class BinarySerializationTest {
+
+    @Test
+    @DisplayName("Test list written in many blocks is read back in order")
+    void testListRoundTrip() throws IOException {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BinaryWriter(Channels.newChannel(output), 100).writeList(list, Serializer.INTEGER);
+
+        ArrayList<Integer> arrayList = reader(output).readArrayList(Serializer.INTEGER);
+        LinkedList<Integer> linkedList = reader(output).readLinkedList(Serializer.INTEGER);
+        assertEquals(10_000, arrayList.size());
+        assertEquals(10_000, linkedList.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, arrayList.get(i));
+            assertEquals(i, linkedList.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test empty list and elements larger than a block")
+    void testEmptyListAndOversizedElements() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BinaryWriter(Channels.newChannel(output)).writeList(new LinkedList<>(), Serializer.STRING);
+        assertTrue(reader(output).readArrayList(Serializer.STRING).isEmpty());
+
+        char[] chars = new char[1000];
+        Arrays.fill(chars, 'A');
+        List<String> list = new ArrayList<>();
+        list.add("B");
+        list.add(new String(chars));
+        list.add("C");
+        output.reset();
+        new BinaryWriter(Channels.newChannel(output), 64).writeList(list, Serializer.STRING);
+
+        List<String> target = new LinkedList<>();
+        target.add("first");
+        reader(output).readList(target, Serializer.STRING);
+        assertEquals("[first, B, " + new String(chars) + ", C]", target.toString());
+    }
+
+    @Test
+    @DisplayName("Test map with null key and value is read back")
+    void testMapRoundTrip() throws IOException {
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+        }
+        map.put(null, 1);
+        map.put("nullValue", null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BinaryWriter(Channels.newChannel(output), 128).writeMap(map, Serializer.STRING, Serializer.INTEGER);
+
+        HashMap<String, Integer> result = reader(output).readHashMap(Serializer.STRING, Serializer.INTEGER);
+        assertEquals(1002, result.size());
+        assertEquals(1, result.get(null));
+        assertTrue(result.containsKey("nullValue"));
+        assertNull(result.get("nullValue"));
+        assertEquals(999, result.get("key999"));
+    }
+
+    @Test
+    @DisplayName("Test reading the wrong kind or a truncated stream fails")
+    void testWrongKindAndTruncatedStream() throws IOException {
+        List<Integer> list = new ArrayList<>();
+        list.add(1);
+        list.add(2);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BinaryWriter(Channels.newChannel(output)).writeList(list, Serializer.INTEGER);
+
+        assertThrows(IllegalStateException.class, () -> reader(output).readHashMap(Serializer.INTEGER, Serializer.INTEGER));
+        byte[] truncated = Arrays.copyOf(output.toByteArray(), output.size() - 1);
+        BinaryReader reader = new BinaryReader(Channels.newChannel(new ByteArrayInputStream(truncated)));
+        assertThrows(EOFException.class, () -> reader.readArrayList(Serializer.INTEGER));
+    }
+
+    private static BinaryReader reader(ByteArrayOutputStream output) {
+        return new BinaryReader(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())));
+    }
+}
@@ -0,0 +1,121 @@
+package com.luxoft.olshevchenko.set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public class HashMultisetTest {
+
+    @Test
+    @DisplayName("Test Add counts occurrences and returns the previous count")
+    void testAdd() {
+        Multiset<String> multiset = new HashMultiset<>();
+        assertTrue(multiset.isEmpty());
+        assertEquals(0, multiset.add("A"));
+        assertEquals(1, multiset.add("A"));
+        assertEquals(2, multiset.add("A", 3));
+        assertEquals(0, multiset.add("B", 0));
+        assertEquals(0, multiset.add(null));
+        assertEquals(5, multiset.count("A"));
+        assertEquals(0, multiset.count("B"));
+        assertEquals(1, multiset.count(null));
+        assertFalse(multiset.contains("B"));
+        assertEquals(6, multiset.size());
+        assertEquals(2, multiset.distinctSize());
+        assertThrows(IllegalArgumentException.class, () -> multiset.add("A", -1));
+    }
+
+    @Test
+    @DisplayName("Test Remove drops the value when its count reaches zero")
+    void testRemove() {
+        Multiset<String> multiset = new HashMultiset<>();
+        multiset.add("A", 3);
+        multiset.add("B");
+        assertEquals(3, multiset.remove("A"));
+        assertEquals(2, multiset.remove("A", 10));
+        assertEquals(0, multiset.remove("A"));
+        assertEquals(0, multiset.remove("C"));
+        assertFalse(multiset.contains("A"));
+        assertEquals(1, multiset.size());
+        assertEquals(1, multiset.distinctSize());
+        assertThrows(IllegalArgumentException.class, () -> multiset.remove("B", -1));
+    }
+
+    @Test
+    @DisplayName("Test SetCount adds, changes and drops the value")
+    void testSetCount() {
+        Multiset<String> multiset = new HashMultiset<>();
+        assertEquals(0, multiset.setCount("A", 4));
+        assertEquals(4, multiset.setCount("A", 2));
+        assertEquals(2, multiset.size());
+        assertEquals(2, multiset.setCount("A", 0));
+        assertEquals(0, multiset.setCount("B", 0));
+        assertTrue(multiset.isEmpty());
+        assertEquals(0, multiset.size());
+        assertThrows(IllegalArgumentException.class, () -> multiset.setCount("A", -1));
+    }
+
+    @Test
+    @DisplayName("Test word counts match java.util.HashMap merge")
+    void testWordCount() {
+        Random random = new Random(42);
+        HashMultiset<String> multiset = new HashMultiset<>();
+        java.util.Map<String, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            String word = "word" + random.nextInt(2000);
+            multiset.add(word);
+            expected.merge(word, 1, Integer::sum);
+        }
+        for (int i = 0; i < 2000; i += 3) {
+            String word = "word" + i;
+            multiset.remove(word, Integer.MAX_VALUE);
+            expected.remove(word);
+        }
+        assertEquals(expected.size(), multiset.distinctSize());
+        assertEquals(expected.values().stream().mapToLong(Integer::longValue).sum(), multiset.size());
+        java.util.Map<String, Integer> actual = new java.util.HashMap<>();
+        multiset.forEachEntry((word, count) -> assertNull(actual.put(word, count)));
+        assertEquals(expected, actual);
+        for (String word : multiset) {
+            assertEquals(expected.get(word), multiset.count(word));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Iterator removes all occurrences and fails fast")
+    void testIterator() {
+        Multiset<String> multiset = new HashMultiset<>();
+        multiset.add("A", 2);
+        multiset.add("B", 3);
+        Iterator<String> iterator = multiset.iterator();
+        String first = iterator.next();
+        iterator.remove();
+        assertEquals(0, multiset.count(first));
+        assertEquals(1, multiset.distinctSize());
+        assertThrows(IllegalStateException.class, iterator::remove);
+        multiset.add("C");
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class,
+                () -> multiset.forEachEntry((value, count) -> multiset.add(value + "!")));
+    }
+
+    @Test
+    @DisplayName("Test Clear and ToString")
+    void testClearAndToString() {
+        Multiset<String> multiset = new HashMultiset<>();
+        multiset.add("A", 2);
+        assertEquals("{A=2}", multiset.toString());
+        multiset.clear();
+        assertTrue(multiset.isEmpty());
+        assertEquals(0, multiset.size());
+        assertEquals("{}", multiset.toString());
+    }
+}
@@ -0,0 +1,151 @@
+package com.luxoft.olshevchenko.set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public class HashSetTest extends SetTest {
+    @Override
+    protected Set<String> getSet() {
+        return new HashSet<>();
+    }
+
+    @Test
+    @DisplayName("Test random operations match java.util.HashSet")
+    void testRandomOperations() {
+        Random random = new Random(42);
+        HashSet<Integer> set = new HashSet<>();
+        java.util.Set<Integer> expected = new java.util.HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(3000);
+            int operation = random.nextInt(3);
+            if (operation == 0) {
+                assertEquals(expected.add(value), set.add(value));
+            } else if (operation == 1) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.contains(value), set.contains(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        java.util.Set<Integer> actual = new java.util.HashSet<>();
+        set.forEach(actual::add);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Test WithExpectedSize holds the expected values without a rehash")
+    void testWithExpectedSize() {
+        HashSet<Integer> set = HashSet.withExpectedSize(1000);
+        double capacity = set.structureStats().get("capacity");
+        for (int i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+        assertEquals(capacity, set.structureStats().get("capacity"));
+        assertThrows(IllegalArgumentException.class, () -> HashSet.withExpectedSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> new HashSet<>(0));
+    }
+
+    @Test
+    @DisplayName("Test Union and Difference of large sets with deleted slots match java.util.HashSet")
+    void testSetAlgebraOnLargeSets() {
+        HashSet<Integer> first = new HashSet<>();
+        HashSet<Integer> second = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            first.add(i);
+            if (i % 3 == 0) {
+                second.add(i + 5_000);
+            }
+        }
+        for (int i = 0; i < 10_000; i += 7) {
+            first.remove(i);
+        }
+        java.util.Set<Integer> expectedFirst = new java.util.HashSet<>();
+        first.forEach(expectedFirst::add);
+        java.util.Set<Integer> expectedSecond = new java.util.HashSet<>();
+        second.forEach(expectedSecond::add);
+
+        java.util.Set<Integer> expectedUnion = new java.util.HashSet<>(expectedFirst);
+        expectedUnion.addAll(expectedSecond);
+        java.util.Set<Integer> expectedDifference = new java.util.HashSet<>(expectedFirst);
+        expectedDifference.removeAll(expectedSecond);
+        java.util.Set<Integer> expectedIntersection = new java.util.HashSet<>(expectedFirst);
+        expectedIntersection.retainAll(expectedSecond);
+
+        assertEquals(expectedUnion, toJdkSet(first.union(second)));
+        assertEquals(expectedUnion, toJdkSet(second.union(first)));
+        assertEquals(expectedDifference, toJdkSet(first.difference(second)));
+        assertEquals(expectedIntersection, toJdkSet(second.intersect(first)));
+    }
+
+    @Test
+    @DisplayName("Test Union and Difference with a larger set of another kind")
+    void testSetAlgebraWithOtherSetKind() {
+        HashSet<Integer> small = new HashSet<>();
+        small.add(1);
+        small.add(2);
+        Set<Integer> large = new JdkSetAdapter<>(java.util.Set.of(2, 3, 4, 5));
+        assertEquals(java.util.Set.of(1, 2, 3, 4, 5), toJdkSet(small.union(large)));
+        assertEquals(java.util.Set.of(1), toJdkSet(small.difference(large)));
+        assertEquals(java.util.Set.of(2), toJdkSet(small.intersect(large)));
+    }
+
+    // read-only Set over a java.util.Set, only to have a Set that is not a HashSet
+    private static class JdkSetAdapter<E> implements Set<E> {
+        private final java.util.Set<E> set;
+
+        JdkSetAdapter(java.util.Set<E> set) {
+            this.set = set;
+        }
+
+        @Override
+        public boolean add(E value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean remove(E value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean contains(E value) {
+            return set.contains(value);
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return set.isEmpty();
+        }
+
+        @Override
+        public java.util.Iterator<E> iterator() {
+            return set.iterator();
+        }
+    }
+
+    private static java.util.Set<Integer> toJdkSet(Set<Integer> set) {
+        java.util.Set<Integer> result = new java.util.HashSet<>();
+        for (Integer value : set) {
+            assertTrue(result.add(value));
+        }
+        assertEquals(set.size(), result.size());
+        return result;
+    }
+}
@@ -0,0 +1,187 @@
+package com.luxoft.olshevchenko.set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Oleksandr Shevchenko
+ */
+public abstract class SetTest {
+    private Set<String> set;
+
+    @BeforeEach
+    public void before() {
+        set = getSet();
+    }
+
+    protected abstract Set<String> getSet();
+
+    private Set<String> setOf(String... values) {
+        Set<String> result = getSet();
+        for (String value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    private static java.util.Set<String> toJdkSet(Set<String> set) {
+        java.util.Set<String> result = new java.util.HashSet<>();
+        for (String value : set) {
+            assertTrue(result.add(value));
+        }
+        return result;
+    }
+
+
+    @Test
+    @DisplayName("Test Add keeps one copy of each value")
+    void testAdd() {
+        assertTrue(set.isEmpty());
+        assertTrue(set.add("A"));
+        assertTrue(set.add("B"));
+        assertFalse(set.add("A"));
+        assertEquals(2, set.size());
+        assertTrue(set.contains("A"));
+        assertTrue(set.contains("B"));
+        assertFalse(set.contains("C"));
+    }
+
+    @Test
+    @DisplayName("Test Add in the same bucket and with null")
+    void testAddInTheSameBucketAndNull() {
+        assertTrue(set.add("AaAa"));
+        assertTrue(set.add("AaBB"));
+        assertTrue(set.add("BBAa"));
+        assertTrue(set.add("BBBB"));
+        assertTrue(set.add(null));
+        assertFalse(set.add(null));
+        assertEquals(5, set.size());
+        assertTrue(set.contains(null));
+        assertTrue(set.remove(null));
+        assertFalse(set.contains(null));
+        assertTrue(set.contains("BBBB"));
+    }
+
+    @Test
+    @DisplayName("Test Remove returns false for an absent value")
+    void testRemove() {
+        set.add("A");
+        set.add("B");
+        assertTrue(set.remove("A"));
+        assertFalse(set.remove("A"));
+        assertFalse(set.remove("C"));
+        assertEquals(1, set.size());
+        assertFalse(set.contains("A"));
+    }
+
+    @Test
+    @DisplayName("Test many Adds and Removes keep every value reachable")
+    void testAddAndRemoveMany() {
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.add("value" + i));
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            assertTrue(set.remove("value" + i));
+        }
+        assertEquals(5_000, set.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 == 1, set.contains("value" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Clear")
+    void testClear() {
+        set.add("A");
+        set.add("B");
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains("A"));
+        assertTrue(set.add("A"));
+    }
+
+    @Test
+    @DisplayName("Test Iterator visits every value once and removes through the iterator")
+    void testIterator() {
+        for (int i = 0; i < 100; i++) {
+            set.add("value" + i);
+        }
+        assertEquals(100, toJdkSet(set).size());
+        Iterator<String> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().endsWith("0")) {
+                iterator.remove();
+            }
+        }
+        assertEquals(90, set.size());
+        assertFalse(set.contains("value10"));
+        assertThrows(IllegalStateException.class, set.iterator()::remove);
+        assertThrows(NoSuchElementException.class, () -> getSet().iterator().next());
+    }
+
+    @Test
+    @DisplayName("Test Iterator fails fast when the set is modified behind it")
+    void testFailFast() {
+        set.add("A");
+        set.add("B");
+        Iterator<String> iterator = set.iterator();
+        iterator.next();
+        set.add("C");
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    @DisplayName("Test Union, Intersect and Difference leave both sets intact")
+    void testSetAlgebra() {
+        Set<String> small = setOf("A", "B", "C");
+        Set<String> large = setOf("B", "C", "D", "E", "F");
+        assertEquals(java.util.Set.of("A", "B", "C", "D", "E", "F"), toJdkSet(small.union(large)));
+        assertEquals(java.util.Set.of("A", "B", "C", "D", "E", "F"), toJdkSet(large.union(small)));
+        assertEquals(java.util.Set.of("B", "C"), toJdkSet(small.intersect(large)));
+        assertEquals(java.util.Set.of("B", "C"), toJdkSet(large.intersect(small)));
+        assertEquals(java.util.Set.of("A"), toJdkSet(small.difference(large)));
+        assertEquals(java.util.Set.of("D", "E", "F"), toJdkSet(large.difference(small)));
+        assertEquals(java.util.Set.of("A", "B", "C"), toJdkSet(small));
+        assertEquals(java.util.Set.of("B", "C", "D", "E", "F"), toJdkSet(large));
+    }
+
+    @Test
+    @DisplayName("Test results of Union and Difference can be changed without touching the source sets")
+    void testSetAlgebraResultsAreIndependent() {
+        Set<String> small = setOf("A");
+        Set<String> large = setOf("A", "B", "C");
+        large.remove("C");
+        Set<String> union = large.union(small);
+        Set<String> difference = large.difference(small);
+        union.add("X");
+        difference.add("Y");
+        difference.remove("B");
+        assertEquals(java.util.Set.of("A", "B", "X"), toJdkSet(union));
+        assertEquals(java.util.Set.of("Y"), toJdkSet(difference));
+        assertEquals(java.util.Set.of("A", "B"), toJdkSet(large));
+    }
+
+    @Test
+    @DisplayName("Test Stream sees every value once")
+    void testStream() {
+        for (int i = 0; i < 1000; i++) {
+            set.add("value" + i);
+        }
+        assertEquals(1000, set.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Test ToString")
+    void testToString() {
+        assertEquals("[]", set.toString());
+        set.add("A");
+        assertEquals("[A]", set.toString());
+    }
+}